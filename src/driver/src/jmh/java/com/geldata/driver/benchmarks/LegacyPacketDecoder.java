@@ -0,0 +1,139 @@
+package com.geldata.driver.benchmarks;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToMessageDecoder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.geldata.driver.binary.PacketDecoder;
+import com.geldata.driver.binary.PacketSerializer;
+import com.geldata.driver.binary.protocol.Receivable;
+import com.geldata.driver.binary.protocol.ServerMessageType;
+import com.geldata.driver.exceptions.GelException;
+
+import javax.naming.OperationNotSupportedException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The decoder {@linkplain PacketDecoder} replaced, kept as the baseline of {@linkplain PacketDecoderBenchmark}. A
+ * partial message is held in a contract that re-wraps the accumulated bytes in a new composite on every read.
+ */
+final class LegacyPacketDecoder extends MessageToMessageDecoder<ByteBuf> {
+    private final Map<Channel, PacketContract> contracts = new HashMap<>();
+    private final @NotNull PacketDecoder.MessageReader reader;
+
+    LegacyPacketDecoder(@NotNull PacketDecoder.MessageReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    protected void decode(@NotNull ChannelHandlerContext ctx, @NotNull ByteBuf msg, @NotNull List<Object> out) throws Exception {
+        var fromContract = false;
+
+        if(contracts.containsKey(ctx.channel())){
+            var contract = contracts.get(ctx.channel());
+
+            if (contract.tryComplete(msg)) {
+                out.add(contract.getPacket());
+                contracts.remove(ctx.channel());
+                fromContract = true;
+                msg = contract.data;
+            } else {
+                return;
+            }
+        }
+
+        while (msg.readableBytes() > 5) {
+            var type = PacketSerializer.getEnumValue(ServerMessageType.class, msg.readByte());
+            var length = msg.readUnsignedInt() - 4; // remove length of self.
+
+            // can we read this packet?
+            if (msg.readableBytes() >= length) {
+                var packet = reader.read(type, (int) length, msg.readSlice((int) length));
+
+                if(packet == null) {
+                    throw new GelException("Failed to read message type: malformed data");
+                }
+
+                out.add(packet);
+                continue;
+            }
+
+            // if we cannot read the full packet, create a contract for it.
+            msg.retain();
+            contracts.put(ctx.channel(), new PacketContract(msg, type, length));
+            return;
+        }
+
+        if(msg.readableBytes() > 0){
+            msg.retain();
+            contracts.put(ctx.channel(), new PacketContract(msg, null, null));
+            return;
+        }
+
+        if(fromContract){
+            msg.release();
+        }
+    }
+
+    private final class PacketContract {
+        private @Nullable Receivable packet;
+        private ByteBuf data;
+
+        private @Nullable ServerMessageType messageType;
+        private @Nullable Long length;
+
+        private final List<ByteBuf> components;
+
+        public PacketContract(
+                ByteBuf data,
+                @Nullable ServerMessageType messageType,
+                @Nullable Long length
+        ) {
+            this.data = data;
+            this.length = length;
+            this.messageType = messageType;
+
+            this.components = new ArrayList<>();
+            this.components.add(data);
+        }
+
+        public boolean tryComplete(@NotNull ByteBuf other) {
+            var orig = data.slice();
+            data = Unpooled.wrappedBuffer(orig, other);
+
+            if (messageType == null) {
+                messageType = PacketSerializer.getEnumValue(ServerMessageType.class, data.readByte());
+            }
+
+            if (length == null) {
+                length = data.readUnsignedInt() - 4;
+            }
+
+            other.retain();
+            components.add(other);
+
+            if (data.readableBytes() >= length) {
+                packet = reader.read(messageType, (int)(long)length, data);
+                return true;
+            }
+
+            return false;
+        }
+
+        public @NotNull Receivable getPacket() throws OperationNotSupportedException {
+            if (packet == null) {
+                throw new OperationNotSupportedException("Packet contract was incomplete");
+            }
+
+            return packet;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.geldata.driver.benchmarks;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.geldata.driver.binary.PacketWriter;
+
+import javax.naming.OperationNotSupportedException;
+
+import static com.geldata.driver.util.BinaryProtocolUtils.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+/**
+ * The primitive write path {@linkplain PacketWriter} replaced, kept as the baseline of
+ * {@linkplain PacketWriterBenchmark}: each write boxes its value and goes through a generic {@linkplain BiFunction},
+ * and the buffer grows by copying into a new one. Unlike the original, a grown-out buffer is released, since leaking
+ * it would exhaust the direct memory over a benchmark run.
+ */
+final class LegacyPacketWriter implements AutoCloseable {
+    private ByteBuf buffer;
+    private boolean canWrite;
+
+    LegacyPacketWriter() {
+        this.canWrite = true;
+        this.buffer = ByteBufAllocator.DEFAULT.directBuffer(512);
+    }
+
+    private synchronized void resize(int target) throws OperationNotSupportedException {
+        ensureCanWrite();
+
+        var newSize = target + buffer.writerIndex() > 2048
+                ? buffer.capacity() + target + 512
+                : buffer.capacity() > 2048
+                    ? buffer.capacity() + 2048
+                    : (buffer.capacity() << 1) + target;
+
+        var newBuffer = ByteBufAllocator.DEFAULT.directBuffer(newSize);
+
+        var position = this.buffer.writerIndex();
+
+        newBuffer.writeBytes(this.buffer);
+
+        this.buffer.release();
+        this.buffer = newBuffer;
+
+        this.buffer.writerIndex(position);
+    }
+
+    private <T> void write(T value, int size, @NotNull BiFunction<ByteBuf, T, ByteBuf> writer) throws OperationNotSupportedException {
+        ensureCanWrite(size);
+        writer.apply(this.buffer, value);
+    }
+
+    public void write(double value) throws OperationNotSupportedException {
+        write(value, DOUBLE_SIZE, ByteBuf::writeDouble);
+    }
+
+    public void write(float value) throws OperationNotSupportedException {
+        write(value, FLOAT_SIZE, ByteBuf::writeFloat);
+    }
+
+    public void write(long value) throws OperationNotSupportedException {
+        write(value, LONG_SIZE, ByteBuf::writeLong);
+    }
+
+    public void write(int value) throws OperationNotSupportedException {
+        write(value, INT_SIZE, ByteBuf::writeInt);
+    }
+
+    public void write(short value) throws OperationNotSupportedException {
+        write((int)value, SHORT_SIZE, ByteBuf::writeShort);
+    }
+
+    public void write(boolean value) throws OperationNotSupportedException {
+        write(value, BOOL_SIZE, ByteBuf::writeBoolean);
+    }
+
+    public void write(@NotNull UUID uuid) throws OperationNotSupportedException {
+        write(uuid.getMostSignificantBits());
+        write(uuid.getLeastSignificantBits());
+    }
+
+    public void write(@Nullable String value) throws OperationNotSupportedException {
+        if(value == null) {
+            write(0);
+            return;
+        }
+
+        var array = value.getBytes(StandardCharsets.UTF_8);
+
+        ensureCanWrite(array.length + INT_SIZE); // arr length (i32)
+        write(array.length);
+        ensureCanWrite(array.length);
+        this.buffer.writeBytes(array);
+    }
+
+    private void ensureCanWrite(int size) throws OperationNotSupportedException {
+        ensureCanWrite();
+
+        if((this.buffer.capacity() - this.buffer.writerIndex()) < size) {
+            resize(size);
+        }
+    }
+
+    private void ensureCanWrite() throws OperationNotSupportedException {
+        if(!canWrite) {
+            throw new OperationNotSupportedException("Cannot use a closed packet writer");
+        }
+    }
+
+    public ByteBuf getBuffer() {
+        close();
+        return this.buffer;
+    }
+
+    @Override
+    public void close() {
+        this.canWrite = false;
+    }
+}
@@ -0,0 +1,113 @@
+package com.geldata.driver.benchmarks;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import com.geldata.driver.binary.PacketDecoder;
+import com.geldata.driver.binary.protocol.Receivable;
+import com.geldata.driver.binary.protocol.ServerMessageType;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodes a single multi-megabyte message delivered in socket-sized reads, with {@linkplain PacketDecoder} and with
+ * the contract based decoder it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketDecoderBenchmark {
+    private static final int READ_SIZE = 64 * 1024;
+
+    private static final class RawMessage implements Receivable {
+        final long checksum;
+
+        RawMessage(long checksum) {
+            this.checksum = checksum;
+        }
+
+        @Override
+        public ServerMessageType getMessageType() {
+            return ServerMessageType.DATA;
+        }
+    }
+
+    @Param({"2", "8", "32"})
+    public int messageSizeMb;
+
+    private byte[][] reads;
+
+    @Setup
+    public void setup() {
+        var length = messageSizeMb * 1024 * 1024;
+        var message = new byte[PacketDecoder.HEADER_SIZE + length];
+
+        var header = Unpooled.wrappedBuffer(message);
+        header.writerIndex(0);
+        header.writeByte(ServerMessageType.DATA.getValue());
+        header.writeInt(length + 4);
+
+        for(int i = PacketDecoder.HEADER_SIZE; i != message.length; i++) {
+            message[i] = (byte)i;
+        }
+
+        reads = new byte[(message.length + READ_SIZE - 1) / READ_SIZE][];
+
+        for(int i = 0; i != reads.length; i++) {
+            reads[i] = Arrays.copyOfRange(message, i * READ_SIZE, Math.min(message.length, (i + 1) * READ_SIZE));
+        }
+    }
+
+    @Benchmark
+    public long cumulatingDecoder() {
+        return decode(new PacketDecoder(PacketDecoderBenchmark::read));
+    }
+
+    @Benchmark
+    public long contractDecoder() {
+        return decode(new LegacyPacketDecoder(PacketDecoderBenchmark::read));
+    }
+
+    private long decode(@NotNull ChannelHandler decoder) {
+        var channel = new EmbeddedChannel(decoder);
+
+        try {
+            for (var read : reads) {
+                channel.writeInbound(Unpooled.wrappedBuffer(read));
+            }
+
+            RawMessage message = channel.readInbound();
+
+            if(message == null) {
+                throw new IllegalStateException("The message wasn't decoded");
+            }
+
+            return message.checksum;
+        } finally {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    private static @NotNull Receivable read(ServerMessageType type, int length, @NotNull ByteBuf data) {
+        // stands in for deserializing the body, which reads all of it.
+        long checksum = 0;
+
+        for(int i = 0; i != length >> 3; i++) {
+            checksum += data.readLong();
+        }
+
+        for(int i = 0; i != (length & 7); i++) {
+            checksum += data.readByte();
+        }
+
+        return new RawMessage(checksum);
+    }
+}
@@ -0,0 +1,146 @@
+package com.geldata.driver.benchmarks;
+
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import com.geldata.driver.binary.PacketWriter;
+import com.geldata.driver.binary.codecs.Codec;
+import com.geldata.driver.binary.codecs.PrimitiveArrayCodec;
+import com.geldata.driver.binary.codecs.scalars.Integer64Codec;
+import com.geldata.driver.exceptions.GelException;
+
+import javax.naming.OperationNotSupportedException;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes query arguments with {@linkplain PacketWriter} and with the boxing writer it replaced. The allocations are
+ * what's compared, run it with the GC profiler: {@code -prof gc}, and compare {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketWriterBenchmark {
+    private static final int ROWS = 100;
+
+    @Param({"100", "1000", "10000"})
+    public int elements;
+
+    private long[] values;
+    private Codec<Object> codec;
+
+    private UUID[] ids;
+    private String[] names;
+
+    @Setup
+    public void setup() {
+        values = new long[elements];
+
+        for(int i = 0; i != elements; i++) {
+            values[i] = i * 31L - 500;
+        }
+
+        codec = PrimitiveArrayCodec.tryCreate(UUID.randomUUID(), null, long[].class, new Integer64Codec(null), false);
+
+        ids = new UUID[ROWS];
+        names = new String[ROWS];
+
+        for(int i = 0; i != ROWS; i++) {
+            ids[i] = UUID.randomUUID();
+            names[i] = "name " + i;
+        }
+    }
+
+    @Benchmark
+    public int legacyLongArray() throws OperationNotSupportedException {
+        var writer = new LegacyPacketWriter();
+
+        // the writes PrimitiveArrayCodec makes for a long[].
+        writer.write(1);
+        writer.write(0);
+        writer.write(0);
+        writer.write(values.length);
+        writer.write(1);
+
+        for (var value : values) {
+            writer.write(8);
+            writer.write(value);
+        }
+
+        return release(writer.getBuffer());
+    }
+
+    @Benchmark
+    public int longArray() throws OperationNotSupportedException {
+        var writer = new PacketWriter();
+
+        writer.write(1);
+        writer.write(0);
+        writer.write(0);
+        writer.write(values.length);
+        writer.write(1);
+
+        for (var value : values) {
+            writer.write(8);
+            writer.write(value);
+        }
+
+        return release(writer.getBuffer());
+    }
+
+    @Benchmark
+    public int longArrayCodec() throws OperationNotSupportedException, GelException {
+        var writer = new PacketWriter();
+        codec.serialize(writer, values, null);
+        return release(writer.getBuffer());
+    }
+
+    @Benchmark
+    public int legacyScalarArguments() throws OperationNotSupportedException {
+        var writer = new LegacyPacketWriter();
+
+        for(int i = 0; i != ROWS; i++) {
+            writer.write(16);
+            writer.write(ids[i]);
+            writer.write(names[i]);
+            writer.write(8);
+            writer.write((long)i);
+            writer.write(8);
+            writer.write(i / 3d);
+            writer.write(1);
+            writer.write(i % 2 == 0);
+        }
+
+        return release(writer.getBuffer());
+    }
+
+    @Benchmark
+    public int scalarArguments() throws OperationNotSupportedException {
+        var writer = new PacketWriter();
+
+        for(int i = 0; i != ROWS; i++) {
+            writer.write(16);
+            writer.write(ids[i]);
+            writer.write(names[i]);
+            writer.write(8);
+            writer.write((long)i);
+            writer.write(8);
+            writer.write(i / 3d);
+            writer.write(1);
+            writer.write(i % 2 == 0);
+        }
+
+        return release(writer.getBuffer());
+    }
+
+    private static int release(@NotNull ByteBuf buffer) {
+        var size = buffer.readableBytes();
+        buffer.release();
+        return size;
+    }
+}
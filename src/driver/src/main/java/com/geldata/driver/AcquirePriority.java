@@ -0,0 +1,22 @@
+package com.geldata.driver;
+
+/**
+ * An enum specifying the priority at which a client pool hands out clients when it's exhausted. Waiters of a higher
+ * priority are always served before waiters of a lower priority.
+ */
+public enum AcquirePriority {
+    /**
+     * Latency-critical work, served before any other waiter.
+     */
+    HIGH,
+
+    /**
+     * The default priority.
+     */
+    NORMAL,
+
+    /**
+     * Batch or background work, served only when no other waiter is queued.
+     */
+    LOW
+}
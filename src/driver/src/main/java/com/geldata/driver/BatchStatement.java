@@ -0,0 +1,149 @@
+package com.geldata.driver;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.EnumSet;
+import java.util.Map;
+
+/**
+ * Represents a single statement within a batch executed with {@linkplain GelQueryable#batch(java.util.List)}.
+ * @param <T> The result type of the statement.
+ */
+public final class BatchStatement<T> {
+    /**
+     * Represents the shape of a statement's result within a batch.
+     */
+    public enum ResultKind {
+        /**
+         * The result is ignored, the statement's result within the batch is {@code null}.
+         */
+        NONE,
+
+        /**
+         * The result is an immutable list of {@code T}.
+         */
+        MANY,
+
+        /**
+         * The result is a single nullable {@code T}.
+         */
+        AT_MOST_ONE,
+
+        /**
+         * The result is exactly one {@code T}.
+         */
+        EXACTLY_ONE
+    }
+
+    private final @NotNull Class<T> cls;
+    private final @NotNull String query;
+    private final @Nullable Map<String, Object> args;
+    private final @NotNull EnumSet<Capabilities> capabilities;
+    private final @NotNull ResultKind resultKind;
+
+    private BatchStatement(
+            @NotNull Class<T> cls,
+            @NotNull String query,
+            @Nullable Map<String, Object> args,
+            @NotNull EnumSet<Capabilities> capabilities,
+            @NotNull ResultKind resultKind
+    ) {
+        this.cls = cls;
+        this.query = query;
+        this.args = args;
+        this.capabilities = capabilities;
+        this.resultKind = resultKind;
+    }
+
+    /**
+     * Creates a statement that executes a query, ignoring the result.
+     * @param query The query to execute.
+     * @param args The optional map of arguments used within the query.
+     * @return A new {@linkplain BatchStatement}.
+     */
+    public static @NotNull BatchStatement<Void> execute(@NotNull String query, @Nullable Map<String, Object> args) {
+        return new BatchStatement<>(Void.class, query, args, EnumSet.of(Capabilities.MODIFICATIONS), ResultKind.NONE);
+    }
+
+    /**
+     * Creates a statement that executes a query, ignoring the result.
+     * @param query The query to execute.
+     * @return A new {@linkplain BatchStatement}.
+     */
+    public static @NotNull BatchStatement<Void> execute(@NotNull String query) {
+        return execute(query, null);
+    }
+
+    /**
+     * Creates a statement that executes a query with the cardinality {@code MANY}.
+     * @param cls The result type of the query.
+     * @param query The query to execute.
+     * @param args The optional map of arguments used within the query.
+     * @return A new {@linkplain BatchStatement}.
+     * @param <T> The result type of the query.
+     */
+    public static <T> @NotNull BatchStatement<T> query(
+            @NotNull Class<T> cls, @NotNull String query, @Nullable Map<String, Object> args
+    ) {
+        return new BatchStatement<>(cls, query, args, EnumSet.of(Capabilities.MODIFICATIONS), ResultKind.MANY);
+    }
+
+    /**
+     * Creates a statement that executes a query with the cardinality {@code AT_MOST_ONE}.
+     * @param cls The result type of the query.
+     * @param query The query to execute.
+     * @param args The optional map of arguments used within the query.
+     * @return A new {@linkplain BatchStatement}.
+     * @param <T> The result type of the query.
+     */
+    public static <T> @NotNull BatchStatement<T> querySingle(
+            @NotNull Class<T> cls, @NotNull String query, @Nullable Map<String, Object> args
+    ) {
+        return new BatchStatement<>(cls, query, args, EnumSet.of(Capabilities.MODIFICATIONS), ResultKind.AT_MOST_ONE);
+    }
+
+    /**
+     * Creates a statement that executes a query with the cardinality {@code ONE}.
+     * @param cls The result type of the query.
+     * @param query The query to execute.
+     * @param args The optional map of arguments used within the query.
+     * @return A new {@linkplain BatchStatement}.
+     * @param <T> The result type of the query.
+     */
+    public static <T> @NotNull BatchStatement<T> queryRequiredSingle(
+            @NotNull Class<T> cls, @NotNull String query, @Nullable Map<String, Object> args
+    ) {
+        return new BatchStatement<>(cls, query, args, EnumSet.of(Capabilities.MODIFICATIONS), ResultKind.EXACTLY_ONE);
+    }
+
+    /**
+     * Creates a copy of this statement with the specified allowed capabilities.
+     * @param capabilities An enum set with the allowed capabilities of the statement.
+     * @return A new {@linkplain BatchStatement} with the applied capabilities.
+     * @see Capabilities
+     */
+    public @NotNull BatchStatement<T> withCapabilities(@NotNull EnumSet<Capabilities> capabilities) {
+        return new BatchStatement<>(cls, query, args, capabilities, resultKind);
+    }
+
+    public @NotNull Class<T> getResultType() {
+        return cls;
+    }
+
+    public @NotNull String getQuery() {
+        return query;
+    }
+
+    public @Nullable Map<String, Object> getArguments() {
+        return args;
+    }
+
+    public @NotNull EnumSet<Capabilities> getCapabilities() {
+        return capabilities;
+    }
+
+    public @NotNull ResultKind getResultKind() {
+        return resultKind;
+    }
+}
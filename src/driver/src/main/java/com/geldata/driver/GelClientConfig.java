@@ -1,6 +1,7 @@
 package com.geldata.driver;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import com.geldata.driver.namingstrategies.NamingStrategy;
 
@@ -27,6 +28,14 @@ public class GelClientConfig {
     private ClientType clientType = ClientType.TCP;
     private int clientAvailability = 10;
     private Duration clientMaxAge = Duration.of(10, ChronoUnit.MINUTES);
+    private int minIdle = 0;
+    private Duration poolMaintenanceInterval = Duration.of(30, ChronoUnit.SECONDS);
+    private @Nullable Duration poolAcquireTimeout = null;
+    private int maxPoolWaiters = Integer.MAX_VALUE;
+    private int maxPipelinedQueries = 1;
+    private int readLowWaterMark = 256;
+    private int readHighWaterMark = 1024;
+    private int stringCacheSize = 0;
 
     /**
      * Gets the number of attempts to try to connect.
@@ -145,6 +154,71 @@ public class GelClientConfig {
         return implicitTypeIds;
     }
 
+    /**
+     * Gets the minimum number of connected, idle clients a client pool keeps ready.
+     * @return The minimum number of idle clients within a client pool.
+     */
+    public int getMinIdle() {
+        return minIdle;
+    }
+
+    /**
+     * Gets the interval at which a client pool reaps expired clients and tops up its idle clients.
+     * @return A {@linkplain Duration} that represents the interval of the pools' maintenance task.
+     */
+    public Duration getPoolMaintenanceInterval() {
+        return poolMaintenanceInterval;
+    }
+
+    /**
+     * Gets how long a request waits for a client when the client pool is exhausted.
+     * @return A {@linkplain Duration} that represents the acquire timeout; or {@code null} if requests wait
+     * indefinitely.
+     */
+    public @Nullable Duration getPoolAcquireTimeout() {
+        return poolAcquireTimeout;
+    }
+
+    /**
+     * Gets the maximum number of requests that can wait for a client when the client pool is exhausted.
+     * @return The maximum number of waiting requests.
+     */
+    public int getMaxPoolWaiters() {
+        return maxPoolWaiters;
+    }
+
+    /**
+     * Gets the maximum number of queries a single TCP client can have in flight at once.
+     * @return The maximum number of pipelined queries per client.
+     */
+    public int getMaxPipelinedQueries() {
+        return maxPipelinedQueries;
+    }
+
+    /**
+     * Gets the number of undelivered messages at which a paused connection resumes reading from its socket.
+     * @return The read low-water mark, in messages.
+     */
+    public int getReadLowWaterMark() {
+        return readLowWaterMark;
+    }
+
+    /**
+     * Gets the number of undelivered messages at which a connection stops reading from its socket.
+     * @return The read high-water mark, in messages.
+     */
+    public int getReadHighWaterMark() {
+        return readHighWaterMark;
+    }
+
+    /**
+     * Gets the number of decoded strings each connection keeps to deduplicate repeated short string values.
+     * @return The size of the string cache; {@code 0} if string deduplication is disabled.
+     */
+    public int getStringCacheSize() {
+        return stringCacheSize;
+    }
+
     /**
      * A builder class used to construct {@linkplain GelClientConfig}s.
      */
@@ -162,6 +236,14 @@ public class GelClientConfig {
         private ClientType clientType = DEFAULT.clientType;
         private int clientAvailability = DEFAULT.clientAvailability;
         private Duration clientMaxAge = DEFAULT.clientMaxAge;
+        private int minIdle = DEFAULT.minIdle;
+        private Duration poolMaintenanceInterval = DEFAULT.poolMaintenanceInterval;
+        private @Nullable Duration poolAcquireTimeout = DEFAULT.poolAcquireTimeout;
+        private int maxPoolWaiters = DEFAULT.maxPoolWaiters;
+        private int maxPipelinedQueries = DEFAULT.maxPipelinedQueries;
+        private int readLowWaterMark = DEFAULT.readLowWaterMark;
+        private int readHighWaterMark = DEFAULT.readHighWaterMark;
+        private int stringCacheSize = DEFAULT.stringCacheSize;
 
         /**
          * Sets the pool size of the current builder.
@@ -304,11 +386,134 @@ public class GelClientConfig {
             return this;
         }
 
+        /**
+         * Sets the minimum number of connected, idle clients the client pool keeps ready. These clients are connected
+         * when the pool is constructed and replaced in the background as they're reaped.
+         * @param minIdle The value to set.
+         * @return The current builder.
+         * @exception IllegalArgumentException Value must be zero or greater.
+         */
+        public @NotNull Builder withMinIdle(int minIdle) {
+            if(minIdle < 0) {
+                throw new IllegalArgumentException("Min idle must be zero or greater");
+            }
+
+            this.minIdle = minIdle;
+            return this;
+        }
+
+        /**
+         * Sets the interval at which the client pool reaps expired clients and tops up its idle clients.
+         * @param poolMaintenanceInterval The value to set.
+         * @return The current builder.
+         * @exception IllegalArgumentException Value must be positive.
+         */
+        public @NotNull Builder withPoolMaintenanceInterval(@NotNull Duration poolMaintenanceInterval) {
+            if(poolMaintenanceInterval.isNegative() || poolMaintenanceInterval.isZero()) {
+                throw new IllegalArgumentException("Pool maintenance interval must be positive");
+            }
+
+            this.poolMaintenanceInterval = poolMaintenanceInterval;
+            return this;
+        }
+
+        /**
+         * Sets how long a request waits for a client when the client pool is exhausted before failing with a
+         * {@linkplain com.geldata.driver.exceptions.PoolAcquireTimeoutException}.
+         * @param poolAcquireTimeout The value to set; or {@code null} to wait indefinitely.
+         * @return The current builder.
+         * @exception IllegalArgumentException Value must be positive.
+         */
+        public @NotNull Builder withPoolAcquireTimeout(@Nullable Duration poolAcquireTimeout) {
+            if(poolAcquireTimeout != null && (poolAcquireTimeout.isNegative() || poolAcquireTimeout.isZero())) {
+                throw new IllegalArgumentException("Pool acquire timeout must be positive");
+            }
+
+            this.poolAcquireTimeout = poolAcquireTimeout;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of requests that can wait for a client when the client pool is exhausted. Requests
+         * past this limit fail immediately with a {@linkplain com.geldata.driver.exceptions.PoolExhaustedException}.
+         * @param maxPoolWaiters The value to set.
+         * @return The current builder.
+         * @exception IllegalArgumentException Value must be zero or greater.
+         */
+        public @NotNull Builder withMaxPoolWaiters(int maxPoolWaiters) {
+            if(maxPoolWaiters < 0) {
+                throw new IllegalArgumentException("Max pool waiters must be zero or greater");
+            }
+
+            this.maxPoolWaiters = maxPoolWaiters;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of queries a single TCP client can have in flight at once. Values greater than one
+         * enable pipelining: concurrent queries on the same client are written back-to-back and their responses are
+         * matched in order, instead of waiting a full round trip per query. A {@linkplain GelClientPool} then lends
+         * each client to up to this many concurrent borrowers of the same session, outside of transactions and
+         * streamed queries, before it connects another client.
+         * @param maxPipelinedQueries The value to set.
+         * @return The current builder.
+         * @exception IllegalArgumentException Value must be greater than zero.
+         */
+        public @NotNull Builder withMaxPipelinedQueries(int maxPipelinedQueries) {
+            if(maxPipelinedQueries <= 0) {
+                throw new IllegalArgumentException("Max pipelined queries must be greater than 0");
+            }
+
+            this.maxPipelinedQueries = maxPipelinedQueries;
+            return this;
+        }
+
+        /**
+         * Sets the read water marks of the current builder. Once a connection has {@code high} received messages that
+         * haven't been consumed yet, it stops reading from its socket until the backlog drains to {@code low}, bounding
+         * the memory used per connection when results are consumed slowly.
+         * @param low The number of undelivered messages at which reading resumes.
+         * @param high The number of undelivered messages at which reading pauses.
+         * @return The current builder.
+         * @exception IllegalArgumentException The low mark must be zero or greater and less than the high mark.
+         */
+        public @NotNull Builder withReadWaterMarks(int low, int high) {
+            if(low < 0 || low >= high) {
+                throw new IllegalArgumentException("Read low-water mark must be zero or greater and less than the high-water mark");
+            }
+
+            this.readLowWaterMark = low;
+            this.readHighWaterMark = high;
+            return this;
+        }
+
+        /**
+         * Sets the string cache size of the current builder. Each connection keeps up to this many short ASCII strings
+         * it decoded and returns the same instance when an identical value is decoded again, which saves memory for
+         * low-cardinality columns like statuses or country codes in large results.
+         * @param stringCacheSize The value to set, {@code 0} disables string deduplication.
+         * @return The current builder.
+         * @exception IllegalArgumentException The cache size must be zero or greater.
+         */
+        public @NotNull Builder withStringCacheSize(int stringCacheSize) {
+            if(stringCacheSize < 0) {
+                throw new IllegalArgumentException("String cache size must be zero or greater");
+            }
+
+            this.stringCacheSize = stringCacheSize;
+            return this;
+        }
+
         /**
          * Constructs a {@linkplain GelClientConfig} from the current builder.
          * @return A {@linkplain GelClientConfig} that represents the current builder.
+         * @exception IllegalArgumentException Min idle is greater than the pool size.
          */
         public @NotNull GelClientConfig build() {
+            if(minIdle > poolSize) {
+                throw new IllegalArgumentException("Min idle cannot be greater than the pool size");
+            }
+
             GelClientConfig gelClientConfig = new GelClientConfig();
             gelClientConfig.clientType = this.clientType;
             gelClientConfig.implicitLimit = this.implicitLimit;
@@ -323,6 +528,14 @@ public class GelClientConfig {
             gelClientConfig.implicitTypeIds = this.implicitTypeIds;
             gelClientConfig.retryMode = this.retryMode;
             gelClientConfig.messageTimeout = this.messageTimeout;
+            gelClientConfig.minIdle = this.minIdle;
+            gelClientConfig.poolMaintenanceInterval = this.poolMaintenanceInterval;
+            gelClientConfig.poolAcquireTimeout = this.poolAcquireTimeout;
+            gelClientConfig.maxPoolWaiters = this.maxPoolWaiters;
+            gelClientConfig.maxPipelinedQueries = this.maxPipelinedQueries;
+            gelClientConfig.readLowWaterMark = this.readLowWaterMark;
+            gelClientConfig.readHighWaterMark = this.readHighWaterMark;
+            gelClientConfig.stringCacheSize = this.stringCacheSize;
             return gelClientConfig;
         }
     }
@@ -10,13 +10,15 @@ import com.geldata.driver.clients.*;
 import com.geldata.driver.datatypes.Json;
 import com.geldata.driver.exceptions.ConfigurationException;
 import com.geldata.driver.exceptions.GelException;
+import com.geldata.driver.internal.PreparedQueryImpl;
+import com.geldata.driver.internal.RowPublisher;
 import com.geldata.driver.state.Config;
 import com.geldata.driver.state.Session;
 import com.geldata.driver.util.ClientPoolHolder;
-
-import static com.geldata.driver.util.ComposableUtil.composeWith;
+import com.geldata.driver.util.StripedStack;
 
 import java.io.IOException;
+import java.lang.ref.WeakReference;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -27,6 +29,11 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -36,10 +43,15 @@ import java.util.function.Function;
  */
 public final class GelClientPool implements StatefulClient, GelQueryable, AutoCloseable {
     private static final Logger logger = LoggerFactory.getLogger(GelClientPool.class);
+    private static final ScheduledExecutorService MAINTENANCE_EXECUTOR = Executors.newSingleThreadScheduledExecutor(r -> {
+        var thread = new Thread(r, "gel-pool-maintenance");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     private static final class PooledClient {
         public final BaseGelClient client;
-        public Instant lastUsed;
+        public volatile Instant lastUsed;
 
         public PooledClient(BaseGelClient client) {
             this.client = client;
@@ -55,13 +67,89 @@ public final class GelClientPool implements StatefulClient, GelQueryable, AutoCl
         }
     }
 
-    private final AtomicInteger clientCount = new AtomicInteger();
-    private final @NotNull ConcurrentLinkedQueue<PooledClient> clients;
+    /**
+     * A client lent out by the pool. With pipelining, several borrowers of the same session can share one client, which
+     * is only returned to the pool once its last borrower is done with it.
+     */
+    private static final class LentClient {
+        public final @NotNull BaseGelClient client;
+        public final @NotNull Session session;
+
+        // zero once the client has been handed back to the pool, after which no borrower can join it.
+        private final @NotNull AtomicInteger borrowers;
+
+        public LentClient(@NotNull BaseGelClient client, @NotNull Session session) {
+            this.client = client;
+            this.session = session;
+            this.borrowers = new AtomicInteger(1);
+        }
+
+        public boolean tryJoin(int maxBorrowers) {
+            int b;
+
+            do {
+                b = borrowers.get();
+
+                if(b <= 0 || b >= maxBorrowers) {
+                    return false;
+                }
+            } while(!borrowers.compareAndSet(b, b + 1));
+
+            return true;
+        }
+
+        public boolean leave() {
+            return borrowers.decrementAndGet() == 0;
+        }
+    }
+
+    /**
+     * Runs the maintenance of a pool without keeping it reachable, so a pool that's dropped without being closed can
+     * still be collected; the task cancels itself once that happens.
+     */
+    private static final class MaintenanceTask implements Runnable {
+        private final @NotNull WeakReference<GelClientPool> pool;
+        private volatile @Nullable ScheduledFuture<?> future;
+
+        MaintenanceTask(@NotNull GelClientPool pool) {
+            this.pool = new WeakReference<>(pool);
+        }
+
+        @Override
+        public void run() {
+            var pool = this.pool.get();
+
+            if(pool == null) {
+                var future = this.future;
+
+                if(future != null) {
+                    future.cancel(false);
+                }
+
+                return;
+            }
+
+            pool.runMaintenance();
+        }
+    }
+
+    private final AtomicInteger clientCount;
+    private final AtomicInteger warmingCount;
+    private final @NotNull StripedStack<PooledClient> clients;
+
+    // lent clients that borrowers may join, only populated when queries are pipelined.
+    private final @NotNull ConcurrentLinkedQueue<LentClient> sharedClients;
+    private final int maxPipelinedQueries;
+
+    // the pool all derived pools were created from; only it owns the maintenance task.
+    private final @NotNull GelClientPool root;
+    private final @Nullable ScheduledFuture<?> maintenance;
     private final GelConnection connection;
     private final GelClientConfig config;
     private final ClientPoolHolder poolHolder;
     private final ClientFactory clientFactory;
     private final Session session;
+    private final AcquirePriority priority;
     private final int clientAvailability;
 
     /**
@@ -74,13 +162,27 @@ public final class GelClientPool implements StatefulClient, GelQueryable, AutoCl
         @NotNull GelConnection connection,
         @NotNull GelClientConfig config
     ) throws ConfigurationException {
-        this.clients = new ConcurrentLinkedQueue<>();
+        this.clientCount = new AtomicInteger();
+        this.warmingCount = new AtomicInteger();
+        this.clients = new StripedStack<>();
+        this.sharedClients = new ConcurrentLinkedQueue<>();
+        this.maxPipelinedQueries = config.getClientType() == ClientType.TCP ? config.getMaxPipelinedQueries() : 1;
         this.config = config;
         this.connection = connection;
-        this.poolHolder = new ClientPoolHolder(config.getPoolSize());
+        this.poolHolder = new ClientPoolHolder(
+                config.getPoolSize(), config.getMaxPoolWaiters(), config.getPoolAcquireTimeout()
+        );
         this.clientFactory = createClientFactory();
         this.session = Session.DEFAULT;
+        this.priority = AcquirePriority.NORMAL;
         this.clientAvailability = config.getClientAvailability();
+        this.root = this;
+
+        // the first run happens immediately to pre-connect the minimum idle clients.
+        var interval = config.getPoolMaintenanceInterval().toMillis();
+        var task = new MaintenanceTask(this);
+        this.maintenance = MAINTENANCE_EXECUTOR.scheduleWithFixedDelay(task, 0, interval, TimeUnit.MILLISECONDS);
+        task.future = this.maintenance;
     }
 
     /**
@@ -112,12 +214,25 @@ public final class GelClientPool implements StatefulClient, GelQueryable, AutoCl
     }
 
     private GelClientPool(@NotNull GelClientPool other, Session session) {
-        this.clients = new ConcurrentLinkedQueue<>();
+        this(other, session, other.priority);
+    }
+
+    private GelClientPool(@NotNull GelClientPool other, Session session, AcquirePriority priority) {
+        this.clientCount = other.clientCount;
+        this.warmingCount = other.warmingCount;
+        this.clients = other.clients;
+        this.sharedClients = other.sharedClients;
+        this.maxPipelinedQueries = other.maxPipelinedQueries;
+
+        // derived pools keep the root reachable, so its maintenance keeps running while any of them are in use.
+        this.root = other.root;
+        this.maintenance = null;
         this.config = other.config;
         this.connection = other.connection;
         this.poolHolder = other.poolHolder;
         this.clientFactory = other.clientFactory;
         this.session = session;
+        this.priority = priority;
         this.clientAvailability = other.clientAvailability;
     }
 
@@ -164,7 +279,7 @@ public final class GelClientPool implements StatefulClient, GelQueryable, AutoCl
             TransactionSettings settings,
             @NotNull Function<Transaction, CompletionStage<T>> func
     ) {
-        return composeWith(getTransactableClient(), client -> client.transaction(settings, func));
+        return withTransactableClient(client -> client.transaction(settings, func));
     }
 
     /**
@@ -175,7 +290,7 @@ public final class GelClientPool implements StatefulClient, GelQueryable, AutoCl
      * @param <T> The result of the query.
      */
     public <T> CompletionStage<T> transaction(@NotNull Function<Transaction, CompletionStage<T>> func) {
-        return composeWith(getTransactableClient(), client -> client.transaction(func));
+        return withTransactableClient(client -> client.transaction(func));
     }
 
     /**
@@ -250,49 +365,41 @@ public final class GelClientPool implements StatefulClient, GelQueryable, AutoCl
         return new GelClientPool(this, this.session.withModule(module));
     }
 
-    // added because Map.entry cannot contain nulls
-    private static final class ExecutePair<U> {
-        private final BaseGelClient client;
-        private final @Nullable U result;
-
-        private ExecutePair(BaseGelClient client, @Nullable U result) {
-            this.client = client;
-            this.result = result;
-        }
-
-        public @Nullable U getResult() {
-            return result;
-        }
-
-        public BaseGelClient getClient() {
-            return client;
-        }
+    /**
+     * Creates a new client instance that acquires clients with the specified priority when the pool is exhausted.
+     * <br/><br/>
+     * The returned client shares the same underlying client pool as this client.
+     * @param priority The priority for the new client.
+     * @return A new client instance with the applied priority, sharing the same underlying client pool.
+     */
+    public @NotNull GelClientPool withPriority(@NotNull AcquirePriority priority) {
+        return new GelClientPool(this, this.session, priority);
     }
 
     private <T, U> CompletionStage<U> executePooledQuery(
             Class<T> cls, String query, Map<String, Object> args,
             EnumSet<Capabilities> capabilities, @NotNull ClientQueryDelegate<T, U> delegate
     ) {
-        return getClient()
-                .thenCompose(client ->
-                        delegate.run(
-                                client,
-                                cls,
-                                query,
-                                args,
-                                capabilities
-                        ).thenApply(r -> new ExecutePair<>(client, r))
-                )
-                .whenComplete((entry, exc) -> {
-                    if(entry != null) {
-                        try {
-                            entry.getClient().close();
-                        } catch (Exception e) {
-                            throw new CompletionException(e);
-                        }
+        return withPooledClient(client -> delegate.run(client, cls, query, args, capabilities));
+    }
+
+    private <U> CompletionStage<U> withPooledClient(@NotNull Function<BaseGelClient, CompletionStage<U>> func) {
+        return withPooledClient(func, false);
+    }
+
+    private <U> CompletionStage<U> withPooledClient(
+            @NotNull Function<BaseGelClient, CompletionStage<U>> func,
+            boolean exclusive
+    ) {
+        // the client is returned to the pool whether or not the operation succeeded.
+        return getClient(exclusive)
+                .thenCompose(lent -> func.apply(lent.client).whenComplete((r, exc) -> {
+                    try {
+                        returnClient(lent);
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
                     }
-                })
-                .thenApply(ExecutePair::getResult);
+                }));
     }
 
     @Override
@@ -331,71 +438,264 @@ public final class GelClientPool implements StatefulClient, GelQueryable, AutoCl
         );
     }
 
+    @Override
+    public CompletionStage<List<@Nullable Object>> batch(@NotNull List<BatchStatement<?>> statements) {
+        return withPooledClient(client -> client.batch(statements));
+    }
+
+    @Override
+    public <T> PreparedQuery<T> prepare(
+            @NotNull Class<T> cls,
+            @NotNull String query,
+            @NotNull EnumSet<Capabilities> capabilities
+    ) {
+        // the handle isn't tied to a client, its plan is shared by whichever pooled client executes it.
+        return new PreparedQueryImpl<>(cls, query, capabilities);
+    }
+
+    @Override
+    public <T> CompletionStage<List<@Nullable T>> query(
+            @NotNull PreparedQuery<T> query,
+            @Nullable Map<String, Object> args
+    ) {
+        return withPooledClient(client -> client.query(query, args));
+    }
+
+    @Override
+    public <T> CompletionStage<@Nullable T> querySingle(
+            @NotNull PreparedQuery<T> query,
+            @Nullable Map<String, Object> args
+    ) {
+        return withPooledClient(client -> client.querySingle(query, args));
+    }
+
+    @Override
+    public <T> CompletionStage<@NotNull T> queryRequiredSingle(
+            @NotNull PreparedQuery<T> query,
+            @Nullable Map<String, Object> args
+    ) {
+        return withPooledClient(client -> client.queryRequiredSingle(query, args));
+    }
+
+    @Override
+    public <T> Flow.Publisher<T> queryStream(
+            @NotNull Class<T> cls,
+            @NotNull String query,
+            @Nullable Map<String, Object> args,
+            @NotNull EnumSet<Capabilities> capabilities
+    ) {
+        // the client is held until its stream is drained; it isn't shared, since queries pipelined behind the stream
+        // would wait on its subscriber.
+        return new RowPublisher<>(sink -> withPooledClient(
+                client -> RowPublisher.forward(client.queryStream(cls, query, args, capabilities), sink),
+                true
+        ));
+    }
+
+    /**
+     * Closes this client pool, disconnecting all of its idle clients. Closing a pool derived from another pool with
+     * {@linkplain #withSession(Session)} or similar has no effect, the idle clients belong to the root pool.
+     * @throws Exception An idle client failed to disconnect.
+     */
     @Override
     public void close() throws Exception {
-        int count = clientCount.get();
-        while(!clients.isEmpty() && count > 0) {
-            clients.poll().client.disconnect().toCompletableFuture().get();
-            count = clientCount.decrementAndGet();
+        if(this.root != this) {
+            return;
+        }
+
+        if(maintenance != null) {
+            maintenance.cancel(false);
+        }
+
+        PooledClient pooledClient;
+        while((pooledClient = clients.pop()) != null) {
+            clientCount.decrementAndGet();
+            pooledClient.client.disconnect().toCompletableFuture().get();
         }
     }
 
-    private synchronized CompletionStage<BaseGelClient> getClient() {
-        logger.trace("polling cached clients...");
-        var cachedClient = clients.poll();
+    private CompletionStage<LentClient> getClient(boolean exclusive) {
+        var shareable = !exclusive && this.maxPipelinedQueries > 1;
 
-        if(cachedClient != null) {
-            logger.debug(
-                    "returning cached client, cached client count: {}; age {}",
-                    this.clientCount.decrementAndGet(),
-                    cachedClient.age()
-            );
+        if(shareable) {
+            // pipeline on a client that's already lent out before taking up another connection. the client's session
+            // is applied to every query on it, so only borrowers with the same session can share it.
+            for (var lent : this.sharedClients) {
+                if(lent.session == this.session && lent.tryJoin(this.maxPipelinedQueries)) {
+                    logger.trace("joined lent client {}", lent.client);
+                    return CompletableFuture.completedFuture(lent);
+                }
+            }
+        }
+
+        return getPooledClient().thenApply(client -> {
+            var lent = new LentClient(client, this.session);
 
-            cachedClient.touch();
-            return CompletableFuture.completedFuture(cachedClient.client);
+            if(shareable) {
+                this.sharedClients.add(lent);
+            }
+
+            return lent;
+        });
+    }
+
+    private void returnClient(@NotNull LentClient lent) throws Exception {
+        if(!lent.leave()) {
+            return;
         }
 
-        return createClient();
+        // no borrower can join anymore, closing returns the client to the idle stack and gives back its permit.
+        this.sharedClients.remove(lent);
+        lent.client.close();
     }
 
-    private synchronized CompletionStage<TransactableClient> getTransactableClient() {
-        return getClient()
-                .thenApply(client -> {
-                    if(!(client instanceof TransactableClient)) {
-                        logger.warn(
-                                "A request for a client that supports transactions cannot be fulfilled, the client" +
-                                        " provided from the pool is of type {} which doesn't support transactions.",
-                                client.getClass().getSimpleName()
-                        );
-                        throw new CompletionException(
-                                new GelException("Cannot use transactions with " + client + " type")
+    private CompletionStage<BaseGelClient> getPooledClient() {
+        // every client taken from the pool holds a permit, which is given back when the client is closed.
+        return this.poolHolder.acquire(this.priority)
+                .thenApply(v -> {
+                    logger.trace("Permit acquired, remaining handles: {}", this.poolHolder.remaining());
+                    logger.trace("polling cached clients...");
+                    var cachedClient = clients.pop();
+
+                    if(cachedClient != null) {
+                        logger.debug(
+                                "returning cached client, cached client count: {}; age {}",
+                                this.clientCount.decrementAndGet(),
+                                cachedClient.age()
                         );
+
+                        cachedClient.touch();
+
+                        // idle clients are lent exclusively and carry the default session, see acceptClient.
+                        return cachedClient.client.withSession(this.session);
                     }
 
-                    return (TransactableClient) client;
+                    try {
+                        return createClient(this.poolHolder.createContract()).withSession(this.session);
+                    } catch (GelException e) {
+                        this.poolHolder.release();
+                        throw new CompletionException(e);
+                    }
                 });
     }
 
+    private <U> CompletionStage<U> withTransactableClient(@NotNull Function<TransactableClient, CompletionStage<U>> func) {
+        // a transaction's state lives on its connection, other borrowers must not pipeline queries into it.
+        return withPooledClient(client -> {
+            if(!(client instanceof TransactableClient)) {
+                logger.warn(
+                        "A request for a client that supports transactions cannot be fulfilled, the client" +
+                                " provided from the pool is of type {} which doesn't support transactions.",
+                        client.getClass().getSimpleName()
+                );
+                return CompletableFuture.failedFuture(
+                        new GelException("Cannot use transactions with " + client + " type")
+                );
+            }
+
+            return func.apply((TransactableClient) client);
+        }, true);
+    }
+
+    private void runMaintenance() {
+        try {
+            cleanupPool();
+            warmPool();
+        } catch (Exception e) {
+            // an exception would suppress all subsequent runs of the scheduled task.
+            logger.error("Failed to run pool maintenance", e);
+        }
+    }
+
     private void cleanupPool() {
-        clients.removeIf(c ->
-                c.age().compareTo(this.config.getClientMaxAge()) > 0
-                        || (!c.client.isConnected() && this.clientCount.decrementAndGet() >= this.clientAvailability)
+        var maxAge = this.config.getClientMaxAge();
+
+        var reaped = clients.removeIf(
+                c -> c.age().compareTo(maxAge) > 0
+                        || (!c.client.isConnected() && this.clientCount.get() > this.clientAvailability),
+                this::evictClient
         );
+
+        // trim connected clients that exceed the availability, keeping the minimum idle clients around.
+        var keep = Math.max(this.clientAvailability, this.config.getMinIdle());
+        PooledClient excess;
+
+        while(this.clientCount.get() > keep && (excess = clients.pop()) != null) {
+            evictClient(excess);
+            reaped++;
+        }
+
+        if(reaped > 0) {
+            logger.debug("Reaped {} pooled client(s), client count: {}", reaped, this.clientCount.get());
+        }
     }
 
-    private synchronized void acceptClient(BaseGelClient client) {
-        this.clients.add(new PooledClient(client));
-        var count = this.clientCount.incrementAndGet();
+    private void evictClient(@NotNull PooledClient pooledClient) {
+        this.clientCount.decrementAndGet();
 
-        logger.debug("client {} returned to pool, client count: {}", client, count);
+        if(pooledClient.client.isConnected()) {
+            pooledClient.client.disconnect().exceptionally(e -> {
+                logger.debug("Failed to disconnect evicted client {}", pooledClient.client, e);
+                return null;
+            });
+        }
+    }
 
-        if(count > this.clientAvailability) {
-            logger.debug("Cleaning up pool... {}/{} availability reached", count, this.clientAvailability);
-            cleanupPool();
+    private void warmPool() {
+        var missing = this.config.getMinIdle() - this.clientCount.get() - this.warmingCount.get();
+
+        for(int i = 0; i < missing; i++) {
+            // only warm clients with free handles, warming should never queue ahead of real requests.
+            if(!this.poolHolder.tryAcquire()) {
+                return;
+            }
+
+            var contract = this.poolHolder.createContract();
+            BaseGelClient client;
+            try {
+                client = clientFactory.create(this.connection, this.config, contract);
+            } catch (GelException e) {
+                contract.close();
+                logger.warn("Failed to create a client to warm the pool", e);
+                return;
+            }
+
+            client.onReady(this::onClientReady);
+            this.warmingCount.incrementAndGet();
+
+            client.connect().whenComplete((v, e) -> {
+                this.warmingCount.decrementAndGet();
+
+                if(e != null) {
+                    // no client is registered yet, closing the contract only releases the handle.
+                    contract.close();
+                    logger.warn("Failed to pre-connect client {}", client, e);
+                    return;
+                }
+
+                contract.register(client, this::acceptClient);
+                logger.debug("pre-connected client {}", client);
+
+                try {
+                    client.close();
+                } catch (Exception x) {
+                    logger.warn("Failed to return pre-connected client {} to the pool", client, x);
+                }
+            });
         }
     }
 
-    private synchronized @NotNull CompletionStage<Void> onClientReady(@NotNull BaseGelClient client) {
+    private void acceptClient(BaseGelClient client) {
+        // the idle stack is shared with derived pools, the next borrower may use a different session.
+        client.withSession(Session.DEFAULT);
+
+        this.clients.push(new PooledClient(client));
+        var count = this.clientCount.incrementAndGet();
+
+        logger.debug("client {} returned to pool, client count: {}", client, count);
+    }
+
+    private @NotNull CompletionStage<Void> onClientReady(@NotNull BaseGelClient client) {
         var suggestedConcurrency = client.getSuggestedPoolConcurrency();
 
         suggestedConcurrency.ifPresent(this.poolHolder::resize);
@@ -403,22 +703,12 @@ public final class GelClientPool implements StatefulClient, GelQueryable, AutoCl
         return CompletableFuture.completedFuture(null);
     }
 
-    private CompletionStage<BaseGelClient> createClient() {
-        return this.poolHolder.acquireContract()
-                .thenApply(contract -> {
-                    logger.trace("Contract acquired, remaining handles: {}", this.poolHolder.remaining());
-                    BaseGelClient client;
-                    try {
-                        client = clientFactory.create(this.connection, this.config, contract);
-                    } catch (GelException e) {
-                        throw new CompletionException(e);
-                    }
-                    contract.register(client, this::acceptClient);
-                    client.onReady(this::onClientReady);
-                    logger.debug("client instance created: {}", client);
-                    return client;
-                })
-                .thenApply(client -> client.withSession(this.session));
+    private @NotNull BaseGelClient createClient(@NotNull ClientPoolHolder.PoolContract contract) throws GelException {
+        var client = clientFactory.create(this.connection, this.config, contract);
+        contract.register(client, this::acceptClient);
+        client.onReady(this::onClientReady);
+        logger.debug("client instance created: {}", client);
+        return client;
     }
 
     @FunctionalInterface
@@ -6,10 +6,14 @@ import org.jetbrains.annotations.Nullable;
 import com.geldata.driver.datatypes.Json;
 import com.geldata.driver.exceptions.ResultCardinalityMismatchException;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
 
 /**
  * Represents a generic Gel queryable interface, providing methods to execute queries with cardinality control.
@@ -380,4 +384,223 @@ public interface GelQueryable {
     ) {
         return queryJsonElements(query, null, capabilities);
     }
+
+    /**
+     * Prepares a query for repeated execution. The returned handle pins the codecs and the deserialization plan of the
+     * query once it's first executed, and can be shared between clients, pools and transactions.
+     * @param cls The result type of the query.
+     * @param query The query to prepare.
+     * @param capabilities An enum set with the allowed capabilities of the query.
+     * @return A reusable {@linkplain PreparedQuery} handle.
+     * @param <T> The result type of the query.
+     * @see Capabilities
+     */
+    <T> PreparedQuery<T> prepare(
+            @NotNull Class<T> cls,
+            @NotNull String query,
+            @NotNull EnumSet<Capabilities> capabilities
+    );
+
+    /**
+     * Prepares a query for repeated execution.
+     * @param cls The result type of the query.
+     * @param query The query to prepare.
+     * @return A reusable {@linkplain PreparedQuery} handle.
+     * @param <T> The result type of the query.
+     * @see #prepare(Class, String, EnumSet)
+     */
+    default <T> PreparedQuery<T> prepare(@NotNull Class<T> cls, @NotNull String query) {
+        return prepare(cls, query, EnumSet.of(Capabilities.MODIFICATIONS));
+    }
+
+    /**
+     * Executes a prepared query with the cardinality {@code MANY}.
+     * @param query The prepared query to execute.
+     * @param args The optional map of arguments used within the query.
+     * @return A {@linkplain CompletionStage} representing the asynchronous operation of executing the query. The result
+     * of the {@linkplain CompletionStage} is an immutable collection of {@linkplain T}.
+     * @param <T> The result type of the query.
+     */
+    default <T> CompletionStage<List<@Nullable T>> query(
+            @NotNull PreparedQuery<T> query,
+            @Nullable Map<String, Object> args
+    ) {
+        return query(query.getResultType(), query.getQuery(), args, query.getCapabilities());
+    }
+
+    /**
+     * Executes a prepared query with the cardinality {@code MANY}.
+     * @param query The prepared query to execute.
+     * @return A {@linkplain CompletionStage} representing the asynchronous operation of executing the query. The result
+     * of the {@linkplain CompletionStage} is an immutable collection of {@linkplain T}.
+     * @param <T> The result type of the query.
+     */
+    default <T> CompletionStage<List<@Nullable T>> query(@NotNull PreparedQuery<T> query) {
+        return query(query, null);
+    }
+
+    /**
+     * Executes a prepared query with the cardinality {@code AT_MOST_ONE}.
+     * @param query The prepared query to execute.
+     * @param args The optional map of arguments used within the query.
+     * @return A {@linkplain CompletionStage} representing the asynchronous operation of executing the query. The result
+     * of the {@linkplain CompletionStage} is an instance of {@linkplain T} if the query has a result; otherwise
+     * {@code null}.
+     * @param <T> The result type of the query.
+     */
+    default <T> CompletionStage<@Nullable T> querySingle(
+            @NotNull PreparedQuery<T> query,
+            @Nullable Map<String, Object> args
+    ) {
+        return querySingle(query.getResultType(), query.getQuery(), args, query.getCapabilities());
+    }
+
+    /**
+     * Executes a prepared query with the cardinality {@code AT_MOST_ONE}.
+     * @param query The prepared query to execute.
+     * @return A {@linkplain CompletionStage} representing the asynchronous operation of executing the query. The result
+     * of the {@linkplain CompletionStage} is an instance of {@linkplain T} if the query has a result; otherwise
+     * {@code null}.
+     * @param <T> The result type of the query.
+     */
+    default <T> CompletionStage<@Nullable T> querySingle(@NotNull PreparedQuery<T> query) {
+        return querySingle(query, null);
+    }
+
+    /**
+     * Executes a prepared query with the cardinality {@code ONE}.
+     * @param query The prepared query to execute.
+     * @param args The optional map of arguments used within the query.
+     * @return A {@linkplain CompletionStage} representing the asynchronous operation of executing the query. The result
+     * of the {@linkplain CompletionStage} is an instance of {@linkplain T} if the query has a result; otherwise
+     * a {@linkplain ResultCardinalityMismatchException} is raised.
+     * @param <T> The result type of the query.
+     */
+    default <T> CompletionStage<@NotNull T> queryRequiredSingle(
+            @NotNull PreparedQuery<T> query,
+            @Nullable Map<String, Object> args
+    ) {
+        return queryRequiredSingle(query.getResultType(), query.getQuery(), args, query.getCapabilities());
+    }
+
+    /**
+     * Executes a prepared query with the cardinality {@code ONE}.
+     * @param query The prepared query to execute.
+     * @return A {@linkplain CompletionStage} representing the asynchronous operation of executing the query. The result
+     * of the {@linkplain CompletionStage} is an instance of {@linkplain T} if the query has a result; otherwise
+     * a {@linkplain ResultCardinalityMismatchException} is raised.
+     * @param <T> The result type of the query.
+     */
+    default <T> CompletionStage<@NotNull T> queryRequiredSingle(@NotNull PreparedQuery<T> query) {
+        return queryRequiredSingle(query, null);
+    }
+
+    /**
+     * Executes a query with the cardinality {@code MANY}, streaming the results. Where supported, each row is decoded
+     * as it's received and the connection stops reading once the subscriber has no outstanding demand, otherwise the
+     * result is buffered before being emitted. The query is executed once per subscription.
+     * @param cls The result type of the query.
+     * @param query The query to execute.
+     * @param args The optional map of arguments used within the query.
+     * @param capabilities An enum set with the allowed capabilities of the query.
+     * @return A cold {@linkplain Flow.Publisher} emitting each result of the query.
+     * @param <T> The result type of the query.
+     * @see Capabilities
+     */
+    <T> Flow.Publisher<T> queryStream(
+            @NotNull Class<T> cls,
+            @NotNull String query,
+            @Nullable Map<String, Object> args,
+            @NotNull EnumSet<Capabilities> capabilities
+    );
+
+    /**
+     * Executes a query with the cardinality {@code MANY}, streaming the results.
+     * @param cls The result type of the query.
+     * @param query The query to execute.
+     * @return A cold {@linkplain Flow.Publisher} emitting each result of the query.
+     * @param <T> The result type of the query.
+     * @see #queryStream(Class, String, Map, EnumSet)
+     */
+    default <T> Flow.Publisher<T> queryStream(@NotNull Class<T> cls, @NotNull String query) {
+        return queryStream(cls, query, null, EnumSet.of(Capabilities.MODIFICATIONS));
+    }
+
+    /**
+     * Executes a query with the cardinality {@code MANY}, streaming the results.
+     * @param cls The result type of the query.
+     * @param query The query to execute.
+     * @param args The optional map of arguments used within the query.
+     * @return A cold {@linkplain Flow.Publisher} emitting each result of the query.
+     * @param <T> The result type of the query.
+     * @see #queryStream(Class, String, Map, EnumSet)
+     */
+    default <T> Flow.Publisher<T> queryStream(
+            @NotNull Class<T> cls,
+            @NotNull String query,
+            @Nullable Map<String, Object> args
+    ) {
+        return queryStream(cls, query, args, EnumSet.of(Capabilities.MODIFICATIONS));
+    }
+
+    /**
+     * Executes a batch of statements. Where supported, all statements are sent to Gel in a single round trip,
+     * otherwise they're executed one after another. Execution stops at the first failing statement.
+     * @param statements The statements to execute, in order.
+     * @return A {@linkplain CompletionStage} representing the asynchronous operation of executing the batch. The result
+     * of the {@linkplain CompletionStage} is an immutable list containing the result of each statement, in order: an
+     * immutable list of {@code T} for {@linkplain BatchStatement#query}, a nullable {@code T} for
+     * {@linkplain BatchStatement#querySingle} and {@linkplain BatchStatement#queryRequiredSingle}, and {@code null} for
+     * {@linkplain BatchStatement#execute}.
+     * @see BatchStatement
+     */
+    default CompletionStage<List<@Nullable Object>> batch(@NotNull List<BatchStatement<?>> statements) {
+        CompletionStage<List<@Nullable Object>> result = CompletableFuture.completedFuture(
+                new ArrayList<>(statements.size())
+        );
+
+        for (var statement : statements) {
+            result = result.thenCompose(results -> runBatchStatement(statement).thenApply(r -> {
+                results.add(r);
+                return results;
+            }));
+        }
+
+        return result.thenApply(Collections::unmodifiableList);
+    }
+
+    /**
+     * Executes the same query once per set of arguments as a single batch, ignoring the results.
+     * @param query The query to execute.
+     * @param args The arguments for each execution of the query.
+     * @return A {@linkplain CompletionStage} representing the asynchronous operation of executing the batch.
+     * @see #batch(List)
+     */
+    default CompletionStage<Void> executeBatch(@NotNull String query, @NotNull List<Map<String, Object>> args) {
+        var statements = new ArrayList<BatchStatement<?>>(args.size());
+
+        for (var arguments : args) {
+            statements.add(BatchStatement.execute(query, arguments));
+        }
+
+        return batch(statements).thenApply(r -> null);
+    }
+
+    private <T> CompletionStage<?> runBatchStatement(@NotNull BatchStatement<T> statement) {
+        var cls = statement.getResultType();
+        var query = statement.getQuery();
+        var args = statement.getArguments();
+        var capabilities = statement.getCapabilities();
+
+        switch (statement.getResultKind()) {
+            case MANY:
+                return query(cls, query, args, capabilities);
+            case AT_MOST_ONE:
+                return querySingle(cls, query, args, capabilities);
+            case EXACTLY_ONE:
+                return queryRequiredSingle(cls, query, args, capabilities);
+            default:
+                return execute(query, args, capabilities);
+        }
+    }
 }
@@ -0,0 +1,69 @@
+package com.geldata.driver;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.geldata.driver.binary.builders.ObjectBuilder;
+import com.geldata.driver.exceptions.GelException;
+import com.geldata.driver.util.TypeUtils;
+
+/**
+ * Represents a deserializer generated at compile time for a {@linkplain com.geldata.driver.annotations.GelType} class
+ * by the {@code com.geldata.processor} annotation processor. A generated deserializer for the class {@code Foo} is
+ * named {@code Foo_GelDeserializer} and resides in the same package; the binding picks it up automatically and uses it
+ * instead of reflection.
+ * @param <T> The type the deserializer creates.
+ */
+public interface GeneratedDeserializer<T> {
+    /**
+     * Marks a property that wasn't present in the received data.
+     */
+    Object MISSING = new Object();
+
+    /**
+     * Gets the names of the properties this deserializer accepts, before the naming strategy is applied. The index of
+     * a name is the index of the property's value passed to {@linkplain #deserialize(Object[], boolean)}.
+     * @return The names of the properties.
+     */
+    @NotNull String @NotNull [] getPropertyNames();
+
+    /**
+     * Gets the known subtypes of the type, found at compile time.
+     * @return The subtypes of the type.
+     */
+    default @NotNull Class<?> @NotNull [] getSubtypes() {
+        return new Class<?>[0];
+    }
+
+    /**
+     * Creates an instance from the values of its properties.
+     * @param values The value of each property, in the order of {@linkplain #getPropertyNames()}; {@linkplain #MISSING}
+     *               for properties that weren't received.
+     * @param useSetters Whether to prefer setter methods over assigning fields directly.
+     * @return The created instance.
+     * @throws GelException A value cannot be converted to its property's type.
+     */
+    @NotNull T deserialize(@Nullable Object @NotNull [] values, boolean useSetters) throws GelException;
+
+    /**
+     * Converts a received value to the type of a property. Used by generated code.
+     * @param cls The type of the property.
+     * @param value The received value.
+     * @return The converted value; or the default value of {@code cls} if the value is {@code null} or
+     * {@linkplain #MISSING}.
+     * @param <U> The type of the property.
+     * @throws GelException The value cannot be converted.
+     */
+    @SuppressWarnings("unchecked")
+    static <U> @Nullable U convert(@NotNull Class<U> cls, @Nullable Object value) throws GelException {
+        if(value == null || value == MISSING) {
+            return cls.isPrimitive() ? (U) TypeUtils.getDefaultValue(cls) : null;
+        }
+
+        if(cls.isInstance(value)) {
+            return (U) value;
+        }
+
+        return ObjectBuilder.convertTo(cls, value);
+    }
+}
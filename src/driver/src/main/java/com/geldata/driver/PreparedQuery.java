@@ -0,0 +1,32 @@
+package com.geldata.driver;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.EnumSet;
+
+/**
+ * Represents a reusable handle to a query created with {@linkplain GelQueryable#prepare(Class, String)}. The first
+ * execution of the handle resolves the codecs and the deserialization plan of the query, which are pinned to the handle
+ * and reused by every following execution.
+ * @param <T> The result type of the query.
+ */
+public interface PreparedQuery<T> {
+    /**
+     * Gets the result type of the query.
+     * @return The class of the result type.
+     */
+    @NotNull Class<T> getResultType();
+
+    /**
+     * Gets the query text.
+     * @return The query text.
+     */
+    @NotNull String getQuery();
+
+    /**
+     * Gets the allowed capabilities of the query.
+     * @return An enum set with the allowed capabilities of the query.
+     * @see Capabilities
+     */
+    @NotNull EnumSet<Capabilities> getCapabilities();
+}
@@ -17,4 +17,12 @@ public @interface GelType {
      * the default or session-defined module should be assumed.
      */
     String module() default "[UNASSIGNED]";
+
+    /**
+     * Gets or sets the subtypes of this type that can be deserialized in its place. Specifying the subtypes of a
+     * polymorphic type skips scanning the classpath for them.
+     * @return The subtypes of this type if specified; otherwise an empty array, indicating that the subtypes should be
+     * discovered from a generated deserializer or the classpath.
+     */
+    Class<?>[] subtypes() default {};
 }
@@ -0,0 +1,134 @@
+package com.geldata.driver.async;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A non-blocking semaphore. Waiters hold no thread while queued; once a permit is released, the next waiter's
+ * continuation runs directly on the releasing thread. With a single permit, this acts as a mutual exclusion lock.
+ */
+public final class AsyncSemaphore {
+    private final @NotNull AtomicInteger permits;
+    private final @NotNull ConcurrentLinkedQueue<CompletableFuture<Releaser>> waiters;
+    private final @NotNull AtomicInteger dispatchRequests;
+
+    public AsyncSemaphore() {
+        this(1);
+    }
+
+    public AsyncSemaphore(int permits) {
+        this.permits = new AtomicInteger(permits);
+        this.waiters = new ConcurrentLinkedQueue<>();
+        this.dispatchRequests = new AtomicInteger();
+    }
+
+    /**
+     * Acquires a permit, waiting in FIFO order if none is free.
+     * @return A {@linkplain CompletionStage} containing the {@linkplain Releaser} used to release the permit.
+     */
+    public CompletionStage<Releaser> acquire() {
+        if(waiters.isEmpty() && tryAcquire()) {
+            return CompletableFuture.completedFuture(new Releaser());
+        }
+
+        var waiter = new CompletableFuture<Releaser>();
+        waiters.add(waiter);
+
+        // a permit may have been released between the check above and enqueueing the waiter.
+        dispatch();
+
+        return waiter;
+    }
+
+    /**
+     * Acquires a permit, failing with a {@linkplain TimeoutException} if none could be acquired within the timeout.
+     * @param timeout The maximum time to wait.
+     * @param unit The unit of {@code timeout}.
+     * @return A {@linkplain CompletionStage} containing the {@linkplain Releaser} used to release the permit.
+     */
+    public CompletionStage<Releaser> acquire(long timeout, @NotNull TimeUnit unit) {
+        var waiter = acquire().toCompletableFuture();
+
+        if(waiter.isDone()) {
+            return waiter;
+        }
+
+        // the timer is cancelled as soon as the waiter is granted a permit, so it doesn't stay scheduled for the rest
+        // of the timeout.
+        return waiter
+                .orTimeout(timeout, unit)
+                .whenComplete((releaser, e) -> {
+                    if(e instanceof TimeoutException) {
+                        waiters.remove(waiter);
+                    }
+                });
+    }
+
+    public int available() {
+        return permits.get();
+    }
+
+    private boolean tryAcquire() {
+        int p;
+
+        do {
+            p = permits.get();
+
+            if(p <= 0) {
+                return false;
+            }
+        } while(!permits.compareAndSet(p, p - 1));
+
+        return true;
+    }
+
+    private void release() {
+        permits.incrementAndGet();
+        dispatch();
+    }
+
+    private void dispatch() {
+        // a waiter's continuation may release its permit from within the completion, which is picked up by the
+        // running loop instead of recursing.
+        if(dispatchRequests.getAndIncrement() != 0) {
+            return;
+        }
+
+        int requests = 1;
+
+        do {
+            while(!waiters.isEmpty() && tryAcquire()) {
+                var waiter = waiters.poll();
+
+                if(waiter == null || !waiter.complete(new Releaser())) {
+                    // lost the waiter to its timeout, give the permit back for the next one.
+                    permits.incrementAndGet();
+                }
+            }
+
+            requests = dispatchRequests.addAndGet(-requests);
+        } while(requests != 0);
+    }
+
+    /**
+     * Releases a single acquisition of an {@linkplain AsyncSemaphore}. Releasing more than once has no effect.
+     */
+    public final class Releaser {
+        private final @NotNull AtomicBoolean released = new AtomicBoolean();
+
+        private Releaser() {}
+
+        public void release() {
+            if(released.compareAndSet(false, true)) {
+                AsyncSemaphore.this.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.geldata.driver.binary;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+
+/**
+ * Maps the raw values of a {@linkplain BinaryEnum} back to its constants without boxing. Enums whose values span a
+ * small range, like message and descriptor types, are looked up by index in a dense array; sparse enums, like error
+ * codes, are binary searched.
+ * @param <T> The type of the enum.
+ */
+public final class BinaryEnumTable<T extends Enum<T> & BinaryEnum<?>> {
+    // the largest range of values that's worth a dense array.
+    private static final int MAX_DENSE_RANGE = 256;
+
+    private static final ClassValue<BinaryEnumTable<?>> tables = new ClassValue<>() {
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        protected BinaryEnumTable<?> computeValue(@NotNull Class<?> type) {
+            return new BinaryEnumTable(type);
+        }
+    };
+
+    private final @NotNull Class<T> type;
+    private final long min;
+    private final T @Nullable [] dense;
+
+    // sorted by value, used when the enum is too sparse for a dense array.
+    private final long @NotNull [] values;
+    private final T @NotNull [] constants;
+
+    private BinaryEnumTable(@NotNull Class<T> type) {
+        this.type = type;
+
+        var constants = type.getEnumConstants().clone();
+        Arrays.sort(constants, Comparator.comparingLong(v -> v.getValue().longValue()));
+
+        this.constants = constants;
+        this.values = new long[constants.length];
+
+        for(int i = 0; i != constants.length; i++) {
+            values[i] = constants[i].getValue().longValue();
+        }
+
+        this.min = values.length == 0 ? 0 : values[0];
+
+        if(values.length != 0 && values[values.length - 1] - min < MAX_DENSE_RANGE) {
+            this.dense = Arrays.copyOf(constants, (int)(values[values.length - 1] - min + 1));
+            Arrays.fill(dense, null);
+
+            for (var constant : constants) {
+                dense[(int)(constant.getValue().longValue() - min)] = constant;
+            }
+        } else {
+            this.dense = null;
+        }
+    }
+
+    /**
+     * Gets the lookup table of a binary enum, building it the first time it's requested.
+     * @param type The type of the enum.
+     * @return The lookup table of the enum.
+     * @param <T> The type of the enum.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Enum<T> & BinaryEnum<?>> @NotNull BinaryEnumTable<T> of(@NotNull Class<T> type) {
+        return (BinaryEnumTable<T>) tables.get(type);
+    }
+
+    /**
+     * Gets the constant with the given raw value.
+     * @param value The raw value, as read from the wire.
+     * @return The constant; or {@code null} if no constant has the value.
+     */
+    public @Nullable T get(long value) {
+        if(dense != null) {
+            var index = value - min;
+            return index >= 0 && index < dense.length ? dense[(int)index] : null;
+        }
+
+        var index = Arrays.binarySearch(values, value);
+        return index >= 0 ? constants[index] : null;
+    }
+
+    /**
+     * Gets the set of flag constants contained in the given raw value.
+     * @param value The raw value, as read from the wire.
+     * @return A set of the constants whose bits are set in the value.
+     */
+    public @NotNull EnumSet<T> getFlags(long value) {
+        var set = EnumSet.noneOf(type);
+
+        for(int i = 0; i != constants.length; i++) {
+            if((value & values[i]) != 0) {
+                set.add(constants[i]);
+            }
+        }
+
+        return set;
+    }
+}
@@ -0,0 +1,86 @@
+package com.geldata.driver.binary;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.geldata.driver.binary.protocol.Receivable;
+import com.geldata.driver.binary.protocol.ServerMessageType;
+import com.geldata.driver.exceptions.GelException;
+
+import java.util.List;
+
+/**
+ * Splits the inbound byte stream into server messages. Chunks read from the socket are accumulated in a single
+ * composite buffer without copying, and a message is only deserialized once all of its bytes have arrived, so
+ * decoding a message is linear in its size no matter how many reads it's spread across.
+ */
+public final class PacketDecoder extends ByteToMessageDecoder {
+    private static final Logger logger = LoggerFactory.getLogger(PacketDecoder.class);
+
+    /**
+     * The size of the message header: a one byte message type and a four byte length, which includes itself.
+     */
+    public static final int HEADER_SIZE = 5;
+
+    private static final BinaryEnumTable<ServerMessageType> MESSAGE_TYPES = BinaryEnumTable.of(ServerMessageType.class);
+
+    /**
+     * Represents a function that deserializes the body of a single message.
+     */
+    @FunctionalInterface
+    public interface MessageReader {
+        /**
+         * Deserializes the body of a message.
+         * @param type The type of the message.
+         * @param length The length of the body, excluding the header.
+         * @param data A buffer containing exactly the body of the message.
+         * @return The deserialized message; or {@code null} if it couldn't be read.
+         */
+        @Nullable Receivable read(@Nullable ServerMessageType type, int length, @NotNull ByteBuf data);
+    }
+
+    private final @NotNull MessageReader reader;
+
+    public PacketDecoder(@NotNull MessageReader reader) {
+        this.reader = reader;
+
+        // large messages arrive over many reads, composing them avoids copying the accumulated bytes on each read.
+        setCumulator(COMPOSITE_CUMULATOR);
+    }
+
+    @Override
+    protected void decode(@NotNull ChannelHandlerContext ctx, @NotNull ByteBuf in, @NotNull List<Object> out) throws Exception {
+        while(in.readableBytes() >= HEADER_SIZE) {
+            var start = in.readerIndex();
+            var length = in.getUnsignedInt(start + 1) - 4; // remove length of self.
+
+            if(length < 0 || length > Integer.MAX_VALUE) {
+                throw new GelException("Failed to read message: invalid length " + length);
+            }
+
+            // the header is only peeked, so a partial message is left untouched until the rest of it arrives.
+            if(in.readableBytes() - HEADER_SIZE < length) {
+                return;
+            }
+
+            var type = MESSAGE_TYPES.get(in.getByte(start));
+
+            in.skipBytes(HEADER_SIZE);
+
+            var packet = reader.read(type, (int)length, in.readSlice((int)length));
+
+            if(packet == null) {
+                logger.error("Got null result for packet type {}", type);
+                throw new GelException("Failed to read message type: malformed data");
+            }
+
+            logger.debug("S->C: T:{}", type);
+            out.add(packet);
+        }
+    }
+}
@@ -11,12 +11,11 @@ import org.joou.UShort;
 
 import com.geldata.driver.binary.protocol.common.Annotation;
 import com.geldata.driver.binary.protocol.common.KeyValue;
+import com.geldata.driver.util.StringCache;
 
 import java.lang.reflect.Array;
 import java.nio.charset.StandardCharsets;
 import java.util.EnumSet;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.UUID;
 import java.util.function.Function;
 
@@ -37,8 +36,12 @@ public class PacketReader {
         }
     }
 
+    /**
+     * Returned by {@linkplain #beginElement()} for elements without data.
+     */
+    public static final int NO_DATA = -1;
+
     protected final @NotNull ByteBuf buffer;
-    private static final @NotNull Map<Class<?>, Function<PacketReader, ? extends Number>> numberReaderMap;
 
     private final int initPos;
 
@@ -47,20 +50,6 @@ public class PacketReader {
         this.initPos = buffer.readerIndex();
     }
 
-    static {
-        numberReaderMap = new HashMap<>();
-        numberReaderMap.put(Byte.TYPE, PacketReader::readByte);
-        numberReaderMap.put(Short.TYPE, PacketReader::readInt16);
-        numberReaderMap.put(Integer.TYPE, PacketReader::readInt32);
-        numberReaderMap.put(Long.TYPE, PacketReader::readInt64);
-        numberReaderMap.put(UByte.class, PacketReader::readUByte);
-        numberReaderMap.put(UShort.class, PacketReader::readUInt16);
-        numberReaderMap.put(UInteger.class, PacketReader::readUInt32);
-        numberReaderMap.put(ULong.class, PacketReader::readUInt64);
-        numberReaderMap.put(Float.TYPE, PacketReader::readFloat);
-        numberReaderMap.put(Double.TYPE, PacketReader::readDouble);
-    }
-
     public int position() {
         return buffer.readerIndex() - this.initPos;
     }
@@ -104,16 +93,33 @@ public class PacketReader {
 
     public @NotNull String readString() {
         var len = readInt32();
-        var buffer = new byte[len];
-        this.buffer.readBytes(buffer);
-        return new String(buffer, StandardCharsets.UTF_8);
+        var value = this.buffer.toString(this.buffer.readerIndex(), len, StandardCharsets.UTF_8);
+        this.buffer.skipBytes(len);
+        return value;
+    }
+
+    /**
+     * Decodes the remaining bytes of this reader as a UTF-8 string, directly from the underlying buffer.
+     * @param cache The cache to deduplicate the string with, or {@code null} to always create a new string.
+     * @return The decoded string.
+     */
+    public @NotNull String consumeString(@Nullable StringCache cache) {
+        var index = this.buffer.readerIndex();
+        var len = this.buffer.readableBytes();
+
+        var value = cache != null
+                ? cache.get(this.buffer, index, len)
+                : this.buffer.toString(index, len, StandardCharsets.UTF_8);
+
+        this.buffer.skipBytes(len);
+        return value;
     }
 
     public boolean readBoolean() {
         return buffer.readBoolean();
     }
 
-    public @NotNull Byte readByte() {
+    public byte readByte() {
         return buffer.readByte();
     }
 
@@ -121,6 +127,10 @@ public class PacketReader {
         return ubyte(buffer.readByte());
     }
 
+    public short readUnsignedByte() {
+        return buffer.readUnsignedByte();
+    }
+
     public char readChar() {
         return buffer.readChar();
     }
@@ -149,6 +159,10 @@ public class PacketReader {
         return uint(buffer.readUnsignedInt());
     }
 
+    public long readUnsignedInt() {
+        return buffer.readUnsignedInt();
+    }
+
     public short readInt16() {
         return buffer.readShort();
     }
@@ -157,6 +171,10 @@ public class PacketReader {
         return ushort(buffer.readUnsignedShort());
     }
 
+    public int readUnsignedShort() {
+        return buffer.readUnsignedShort();
+    }
+
     public String @NotNull [] readStringArray() {
         var count = readInt32();
 
@@ -186,6 +204,51 @@ public class PacketReader {
         return new ScopedReader(readByteArray());
     }
 
+    /**
+     * Reads the length of the next element and bounds this reader to it, so the element can be decoded in place over
+     * the underlying buffer instead of a retained slice. Every call must be paired with {@linkplain #endElement(int)}.
+     * @return A token to pass to {@linkplain #endElement(int)}; or {@linkplain #NO_DATA} if the element has no data.
+     */
+    public int beginElement() {
+        return beginElement(readInt32());
+    }
+
+    /**
+     * Bounds this reader to the next {@code length} bytes, so they can be decoded in place over the underlying buffer.
+     * Every call must be paired with {@linkplain #endElement(int)}.
+     * @param length The length of the element; a negative length indicates an element without data.
+     * @return A token to pass to {@linkplain #endElement(int)}; or {@linkplain #NO_DATA} if the element has no data.
+     */
+    public int beginElement(int length) {
+        if(length < 0) {
+            return NO_DATA;
+        }
+
+        if(length > buffer.readableBytes()) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "Element length %d exceeds the %d readable bytes", length, buffer.readableBytes()
+            ));
+        }
+
+        var limit = buffer.writerIndex();
+        buffer.writerIndex(buffer.readerIndex() + length);
+        return limit;
+    }
+
+    /**
+     * Skips the unread bytes of the current element and restores the bounds of this reader from before
+     * {@linkplain #beginElement()} was called.
+     * @param token The token returned by {@linkplain #beginElement()}.
+     */
+    public void endElement(int token) {
+        if(token == NO_DATA) {
+            return;
+        }
+
+        buffer.readerIndex(buffer.writerIndex());
+        buffer.writerIndex(token);
+    }
+
     public @Nullable ByteBuf readByteArray() {
         var len = readInt32();
 
@@ -210,7 +273,7 @@ public class PacketReader {
 
     @SuppressWarnings("unchecked")
     public <U extends Number, T> T @NotNull [] readArrayOf(Class<T> cls, @NotNull Function<PacketReader, T> mapper, Class<U> lengthPrimitive) {
-        var len = numberReaderMap.get(lengthPrimitive).apply(this).intValue();
+        var len = (int)readRawNumber(lengthPrimitive);
 
         // can only use 32 bit, so cast to that
         var arr = (T[]) Array.newInstance(cls, len);
@@ -222,22 +285,36 @@ public class PacketReader {
         return arr;
     }
 
-    @SuppressWarnings("unchecked")
     public <U extends Number, T extends Enum<T> & BinaryEnum<U>> T readEnum(@NotNull Class<T> cls, Class<U> primitive) {
-        return PacketSerializer.getEnumValue(cls, (U)numberReaderMap.get(primitive).apply(this));
+        return BinaryEnumTable.of(cls).get(readRawNumber(primitive));
     }
 
     public <U extends Number, T extends Enum<T> & BinaryEnum<U>> @NotNull EnumSet<T> readEnumSet(@NotNull Class<T> cls, Class<U> primitive) {
-        var value = numberReaderMap.get(primitive).apply(this).longValue();
-
-        var set = EnumSet.noneOf(cls);
+        return BinaryEnumTable.of(cls).getFlags(readRawNumber(primitive));
+    }
 
-        for (var enumConstant : cls.getEnumConstants()) {
-            if((value & enumConstant.getValue().longValue()) > 0) {
-                set.add(enumConstant);
-            }
+    /**
+     * Reads an integer of the given wire type as a {@code long}, without boxing it.
+     * @param primitive The wire type, either a primitive integer type or one of the unsigned types.
+     * @return The value, zero extended for unsigned types.
+     */
+    private long readRawNumber(@NotNull Class<?> primitive) {
+        if(primitive == Byte.TYPE) {
+            return readByte();
+        } else if(primitive == Short.TYPE) {
+            return readInt16();
+        } else if(primitive == Integer.TYPE) {
+            return readInt32();
+        } else if(primitive == Long.TYPE || primitive == ULong.class) {
+            return readInt64();
+        } else if(primitive == UByte.class) {
+            return readUnsignedByte();
+        } else if(primitive == UShort.class) {
+            return readUnsignedShort();
+        } else if(primitive == UInteger.class) {
+            return readUnsignedInt();
         }
 
-        return set;
+        throw new IllegalArgumentException("Cannot read " + primitive.getName() + " as an integer");
     }
 }
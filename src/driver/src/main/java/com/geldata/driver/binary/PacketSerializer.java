@@ -2,9 +2,8 @@ package com.geldata.driver.binary;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
-import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.MessageToMessageDecoder;
+import io.netty.handler.codec.ByteToMessageDecoder;
 import io.netty.handler.codec.MessageToMessageEncoder;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -26,153 +25,16 @@ import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Flow;
-import java.util.stream.Collectors;
 
 public class PacketSerializer {
     private static final Logger logger = LoggerFactory.getLogger(PacketSerializer.class);
-    private static final Map<Class<?>, Map<Number, Enum<?>>> binaryEnumMap = new HashMap<>();
-
-    public static <T extends Enum<?> & BinaryEnum<U>, U extends Number> void registerBinaryEnum(Class<T> cls, T @NotNull [] values) {
-        binaryEnumMap.put(cls, Arrays.stream(values).collect(Collectors.toMap(BinaryEnum::getValue, v -> v)));
-    }
 
     public static <T extends Enum<T> & BinaryEnum<U>, U extends Number> T getEnumValue(@NotNull Class<T> enumCls, U raw) {
-        if(!binaryEnumMap.containsKey(enumCls)) {
-            registerBinaryEnum(enumCls, enumCls.getEnumConstants());
-        }
-
-        //noinspection unchecked
-        return (T)binaryEnumMap.get(enumCls).get(raw);
+        return BinaryEnumTable.of(enumCls).get(raw.longValue());
     }
 
-    public static @NotNull MessageToMessageDecoder<ByteBuf> createDecoder(GelBinaryClient client) {
-        return new MessageToMessageDecoder<>() {
-            private final Map<Channel, PacketContract> contracts = new HashMap<>();
-
-            @Override
-            protected void decode(@NotNull ChannelHandlerContext ctx, @NotNull ByteBuf msg, @NotNull List<Object> out) throws Exception {
-                var fromContract = false;
-
-                if(contracts.containsKey(ctx.channel())){
-                    var contract = contracts.get(ctx.channel());
-
-                    logger.debug("Attempting to complete contract {}", contract);
-
-                    if (contract.tryComplete(msg)) {
-                        logger.debug("Contract completed of type {} with size {}", contract.messageType, contract.length);
-
-                        out.add(contract.getPacket());
-                        contracts.remove(ctx.channel());
-                        fromContract = true;
-                        msg = contract.data;
-                    } else {
-                        logger.debug("Contract pending [{}]: {}/{}", contract.messageType, contract.getSize(), contract.length);
-                        return;
-                    }
-                }
-
-                while (msg.readableBytes() > 5) {
-                    var type = getEnumValue(ServerMessageType.class, msg.readByte());
-                    var length = msg.readUnsignedInt() - 4; // remove length of self.
-
-                    // can we read this packet?
-                    if (msg.readableBytes() >= length) {
-                        var packet = PacketSerializer.deserialize(client, type, length, msg.readSlice((int) length));
-
-                        if(packet == null) {
-                            logger.error("Got null result for packet type {}", type);
-                            throw new GelException("Failed to read message type: malformed data");
-                        }
-
-                        logger.debug("S->C: T:{}", type);
-                        out.add(packet);
-                        continue;
-                    }
-
-                    // if we cannot read the full packet, create a contract for it.
-                    msg.retain();
-                    contracts.put(ctx.channel(), new PacketContract(msg, type, length));
-                    return;
-                }
-
-                if(msg.readableBytes() > 0){
-                    msg.retain();
-                    contracts.put(ctx.channel(), new PacketContract(msg, null, null));
-                    return;
-                }
-
-                if(fromContract){
-                    msg.release();
-                }
-            }
-
-            class PacketContract {
-                private @Nullable Receivable packet;
-                private ByteBuf data;
-
-                private @Nullable ServerMessageType messageType;
-                private @Nullable Long length;
-
-                private final List<ByteBuf> components;
-
-                public PacketContract(
-                        ByteBuf data,
-                        @Nullable ServerMessageType messageType,
-                        @Nullable Long length
-                ) {
-                    this.data = data;
-                    this.length = length;
-                    this.messageType = messageType;
-
-                    this.components = new ArrayList<>() {{
-                        add(data);
-                    }};
-                }
-
-                public long getSize() {
-                    long size = 0;
-
-                    for (var component : components) {
-                        size += component.readableBytes();
-                    }
-
-                    return size;
-                }
-
-                public boolean tryComplete(@NotNull ByteBuf other) {
-                    var orig = data.slice();
-                    data = Unpooled.wrappedBuffer(orig, other);
-
-                    if (messageType == null) {
-                        messageType = getEnumValue(ServerMessageType.class, data.readByte());
-                    }
-
-                    if (length == null) {
-                        length = data.readUnsignedInt() - 4;
-                    }
-
-                    other.retain();
-                    components.add(other);
-
-                    if (data.readableBytes() >= length) {
-                        // read
-                        packet = PacketSerializer.deserialize(client, messageType, length, data, false);
-
-                        return true;
-                    }
-
-                    return false;
-                }
-
-                public @NotNull Receivable getPacket() throws OperationNotSupportedException {
-                    if (packet == null) {
-                        throw new OperationNotSupportedException("Packet contract was incomplete");
-                    }
-
-                    return packet;
-                }
-            }
-        };
+    public static @NotNull ByteToMessageDecoder createDecoder(GelBinaryClient client) {
+        return new PacketDecoder((type, length, data) -> PacketSerializer.deserialize(client, type, length, data));
     }
 
     public static @NotNull MessageToMessageEncoder<Sendable> createEncoder() {
@@ -186,7 +48,9 @@ public class PacketSerializer {
 
                     data.readerIndex(0);
 
-                    logger.debug("C->S: T:{} D:{}", msg.type, HexUtils.bufferToHexString(data));
+                    if(logger.isDebugEnabled()) {
+                        logger.debug("C->S: T:{} D:{}", msg.type, HexUtils.bufferToHexString(data));
+                    }
 
                     out.add(data);
                 } catch (Throwable x) {
@@ -214,7 +78,7 @@ public class PacketSerializer {
 
     public static @Nullable Receivable deserializeSingle(GelBinaryClient client, PacketReader reader) {
         var messageType = reader.readEnum(ServerMessageType.class, Byte.TYPE);
-        var length = reader.readUInt32().longValue();
+        var length = reader.readUnsignedInt();
 
         return deserializeSingle(client, messageType, length, reader, false);
     }
@@ -333,12 +197,13 @@ public class PacketSerializer {
     }
 
     public static ByteBuf serialize(@NotNull Sendable packet, @Nullable Sendable @Nullable ... packets) throws OperationNotSupportedException {
-        int size = packet.getSize();
+        // referenced buffers aren't copied, so they don't need room in the writer.
+        int size = packet.getSize() - packet.getReferencedSize();
 
         if(packets != null && packets.length > 0) {
             size += Arrays.stream(packets)
                     .filter(Objects::nonNull)
-                    .mapToInt(Sendable::getSize)
+                    .mapToInt(p -> p.getSize() - p.getReferencedSize())
                     .sum();
         }
 
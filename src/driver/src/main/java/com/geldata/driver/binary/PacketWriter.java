@@ -2,6 +2,7 @@ package com.geldata.driver.binary;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.CompositeByteBuf;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.joou.UByte;
@@ -11,7 +12,6 @@ import org.joou.UShort;
 
 import com.geldata.driver.exceptions.GelException;
 import com.geldata.driver.util.BinaryProtocolUtils;
-import com.geldata.driver.util.TypeUtils;
 
 import javax.naming.OperationNotSupportedException;
 
@@ -19,20 +19,19 @@ import static com.geldata.driver.util.BinaryProtocolUtils.*;
 
 import java.nio.charset.StandardCharsets;
 import java.util.EnumSet;
-import java.util.HashMap;
 import java.util.UUID;
-import java.util.function.BiFunction;
 
 public class PacketWriter implements AutoCloseable {
+    // smaller buffers are cheaper to copy than to track as a separate component.
+    private static final int MIN_REFERENCE_SIZE = 256;
+
     private ByteBuf buffer;
     private final boolean isDynamic;
     private boolean canWrite;
 
-    private interface PrimitiveWriter {
-        void write(PacketWriter writer, Number value) throws OperationNotSupportedException;
-    }
-    @SuppressWarnings("MismatchedQueryAndUpdateOfCollection")
-    private static final @NotNull HashMap<Class<?>, PrimitiveWriter> primitiveNumberWriters;
+    // buffers written by reference, and the start of the bytes written to 'buffer' since the last of them.
+    private @Nullable CompositeByteBuf composite;
+    private int segmentStart;
 
     public PacketWriter(int size, boolean isDynamic) {
         this.isDynamic = isDynamic;
@@ -40,23 +39,6 @@ public class PacketWriter implements AutoCloseable {
         this.buffer = ByteBufAllocator.DEFAULT.directBuffer(size);
     }
 
-    static {
-        primitiveNumberWriters = new HashMap<>() {{
-            put(Byte.TYPE, (p, v) -> p.write((byte)v));
-            put(Byte.class, (p, v) -> p.write((Byte)v));
-            put(Short.TYPE, (p, v) -> p.write((short)v));
-            put(Short.class, (p, v) -> p.write((Short)v));
-            put(Integer.TYPE, (p, v) -> p.write((int)v));
-            put(Integer.class, (p, v) -> p.write((Integer)v));
-            put(Long.TYPE, (p, v) -> p.write((long)v));
-            put(Long.class, (p, v) -> p.write((Long)v));
-            put(UByte.class, (p, v) -> p.write((byte)v));
-            put(UShort.class, (p, v) -> p.write((short)v));
-            put(UInteger.class, (p, v) -> p.write((int)v));
-            put(ULong.class, (p, v) -> p.write((long)v));
-        }};
-    }
-
     public PacketWriter() {
         this(512, true);
     }
@@ -69,67 +51,53 @@ public class PacketWriter implements AutoCloseable {
         return this.buffer.writerIndex();
     }
 
-    public synchronized void advance(int count) {
+    public void advance(int count) {
         this.buffer.writerIndex(this.buffer.writerIndex() + count);
     }
 
-    public synchronized void seek(int position) {
+    public void seek(int position) {
         this.buffer.writerIndex(position);
     }
 
-    private synchronized void resize(int target) throws OperationNotSupportedException {
+    private void resize(int target) throws OperationNotSupportedException {
         ensureCanWrite();
 
         if(!isDynamic) {
             throw new IndexOutOfBoundsException(String.format("Cannot write %d bytes as it would overflow the buffer", target));
         }
 
-        var newSize = target + buffer.writerIndex() > 2048
-                ? buffer.capacity() + target + 512
-                : buffer.capacity() > 2048
-                    ? buffer.capacity() + 2048
-                    : (buffer.capacity() << 1) + target;
-
-        var newBuffer = ByteBufAllocator.DEFAULT.directBuffer(newSize);
-
-        var position = this.buffer.writerIndex();
-
-        newBuffer.writeBytes(this.buffer);
-
-        this.buffer = newBuffer;
-
-        this.buffer.writerIndex(position);
-    }
-
-    private <T> void write(T value, int size, @NotNull BiFunction<ByteBuf, T, ByteBuf> writer) throws OperationNotSupportedException {
-        ensureCanWrite(size);
-        // we have to use a bi-func here, since 'ensureCanWrite' can rescale the buffer, changing the
-        // 'this.buffer' reference which the delegate can hold an old reference.
-        writer.apply(this.buffer, value);
+        // the allocator grows to the next power of two and returns the old memory to its pool.
+        this.buffer.ensureWritable(target);
     }
 
     public void write(double value) throws OperationNotSupportedException {
-        write(value, DOUBLE_SIZE, ByteBuf::writeDouble);
+        ensureCanWrite(DOUBLE_SIZE);
+        buffer.writeDouble(value);
     }
 
     public void write(float value) throws OperationNotSupportedException {
-        write(value, FLOAT_SIZE, ByteBuf::writeFloat);
+        ensureCanWrite(FLOAT_SIZE);
+        buffer.writeFloat(value);
     }
 
     public void write(long value) throws OperationNotSupportedException {
-        write(value, LONG_SIZE, ByteBuf::writeLong);
+        ensureCanWrite(LONG_SIZE);
+        buffer.writeLong(value);
     }
 
     public void write(int value) throws OperationNotSupportedException {
-        write(value, INT_SIZE, ByteBuf::writeInt);
+        ensureCanWrite(INT_SIZE);
+        buffer.writeInt(value);
     }
 
     public void write(short value) throws OperationNotSupportedException {
-        write((int)value, SHORT_SIZE, ByteBuf::writeShort);
+        ensureCanWrite(SHORT_SIZE);
+        buffer.writeShort(value);
     }
 
     public void write(byte value) throws OperationNotSupportedException {
-        write((int)value, BYTE_SIZE, ByteBuf::writeByte);
+        ensureCanWrite(BYTE_SIZE);
+        buffer.writeByte(value);
     }
 
     public void write(@NotNull ULong value) throws OperationNotSupportedException {
@@ -149,11 +117,13 @@ public class PacketWriter implements AutoCloseable {
     }
 
     public void write(char value) throws OperationNotSupportedException {
-        write((int)value, CHAR_SIZE, ByteBuf::writeChar);
+        ensureCanWrite(CHAR_SIZE);
+        buffer.writeChar(value);
     }
 
     public void write(boolean value) throws OperationNotSupportedException {
-        write(value, BOOL_SIZE, ByteBuf::writeBoolean);
+        ensureCanWrite(BOOL_SIZE);
+        buffer.writeBoolean(value);
     }
 
     public void write(@NotNull UUID uuid) throws OperationNotSupportedException {
@@ -171,7 +141,26 @@ public class PacketWriter implements AutoCloseable {
     }
 
     public <T extends Number> void writePrimitive(@NotNull T value) throws OperationNotSupportedException {
-        primitiveNumberWriters.get(value.getClass()).write(this, value);
+        writeNumber(value.longValue(), value.getClass());
+    }
+
+    /**
+     * Writes an integer with the width of the given type, truncating it if needed.
+     * @param value The value to write.
+     * @param primitive The type whose width to write, either an integer type or one of the unsigned types.
+     */
+    private void writeNumber(long value, @NotNull Class<?> primitive) throws OperationNotSupportedException {
+        if(primitive == Byte.TYPE || primitive == Byte.class || primitive == UByte.class) {
+            write((byte)value);
+        } else if(primitive == Short.TYPE || primitive == Short.class || primitive == UShort.class) {
+            write((short)value);
+        } else if(primitive == Integer.TYPE || primitive == Integer.class || primitive == UInteger.class) {
+            write((int)value);
+        } else if(primitive == Long.TYPE || primitive == Long.class || primitive == ULong.class) {
+            write(value);
+        } else {
+            throw new IllegalArgumentException("Cannot write " + primitive.getName() + " as an integer");
+        }
     }
 
     public void writeArray(@Nullable ByteBuf buffer) throws OperationNotSupportedException {
@@ -209,6 +198,44 @@ public class PacketWriter implements AutoCloseable {
         this.buffer.writeBytes(array);
     }
 
+    /**
+     * Writes a length-prefixed buffer like {@linkplain #writeArray(ByteBuf)}, but references large buffers instead of
+     * copying them. The writer retains its own reference, so the caller stays responsible for releasing the buffer.
+     * <p>
+     * Once a buffer is referenced, {@linkplain #getBuffer()} returns a {@linkplain CompositeByteBuf}. Positions only
+     * account for copied bytes, so this must not be used inside {@linkplain #writeDelegateWithLength(WriterDelegate)}.
+     * @param buffer The buffer to write, from index zero to its writer index.
+     */
+    public void writeArrayReference(@Nullable ByteBuf buffer) throws OperationNotSupportedException {
+        if(getReferencedSize(buffer) == 0) {
+            writeArray(buffer);
+            return;
+        }
+
+        write(buffer.writerIndex());
+
+        if(composite == null) {
+            composite = ByteBufAllocator.DEFAULT.compositeDirectBuffer(Integer.MAX_VALUE);
+        }
+
+        composite.addComponent(true, this.buffer.retainedSlice(segmentStart, this.buffer.writerIndex() - segmentStart));
+        composite.addComponent(true, buffer.retainedSlice(0, buffer.writerIndex()));
+        segmentStart = this.buffer.writerIndex();
+    }
+
+    /**
+     * Gets the number of bytes of a buffer that {@linkplain #writeArrayReference(ByteBuf)} references rather than
+     * copies; those bytes don't need room in the writer.
+     * @param buffer The buffer that will be written.
+     * @return The size of the buffer if it'll be referenced; otherwise {@code 0}.
+     */
+    public static int getReferencedSize(@Nullable ByteBuf buffer) {
+        // a heap component would make netty copy the entire message into a direct buffer on write.
+        return buffer != null && buffer.isDirect() && buffer.writerIndex() >= MIN_REFERENCE_SIZE
+                ? buffer.writerIndex()
+                : 0;
+    }
+
     public <T extends SerializableData> void write(@NotNull T serializable) throws OperationNotSupportedException {
         ensureCanWrite(serializable.getSize());
         serializable.write(this);
@@ -217,9 +244,7 @@ public class PacketWriter implements AutoCloseable {
     public <T extends SerializableData, U extends Number> void writeArray(T @NotNull [] serializableArray, @NotNull Class<U> lengthPrimitive) throws OperationNotSupportedException {
         ensureCanWrite(BinaryProtocolUtils.sizeOf(serializableArray, lengthPrimitive));
 
-        var len = TypeUtils.castToPrimitiveNumber(serializableArray.length, lengthPrimitive);
-
-        primitiveNumberWriters.get(lengthPrimitive).write(this, len);
+        writeNumber(serializableArray.length, lengthPrimitive);
 
         for (T serializable : serializableArray) {
             write(serializable);
@@ -233,7 +258,7 @@ public class PacketWriter implements AutoCloseable {
             flags |= v.getValue().longValue();
         }
 
-        primitiveNumberWriters.get(primitive).write(this, TypeUtils.castToPrimitiveNumber(flags, primitive));
+        writeNumber(flags, primitive);
     }
 
     @FunctionalInterface
@@ -256,7 +281,7 @@ public class PacketWriter implements AutoCloseable {
     private void ensureCanWrite(int size) throws OperationNotSupportedException {
         ensureCanWrite();
 
-        if((this.buffer.capacity() - this.buffer.writerIndex()) < size) {
+        if(this.buffer.writableBytes() < size) {
             resize(size);
         }
     }
@@ -268,6 +293,16 @@ public class PacketWriter implements AutoCloseable {
 
     public ByteBuf getBuffer() {
         close();
+
+        if(composite != null) {
+            composite.addComponent(true, this.buffer.retainedSlice(segmentStart, this.buffer.writerIndex() - segmentStart));
+
+            // the slices hold on to the written bytes.
+            this.buffer.release();
+            this.buffer = composite;
+            this.composite = null;
+        }
+
         return this.buffer;
     }
 
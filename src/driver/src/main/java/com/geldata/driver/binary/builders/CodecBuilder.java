@@ -198,8 +198,9 @@ public final class CodecBuilder {
     }
 
     public static void updateCachedCodecs(ProtocolProvider provider, long cacheKey, UUID inCodecId, UUID outCodecId) {
+        // replaces the entry, the query may have been re-described after the cached descriptors went stale.
         codecCaches.computeIfAbsent(provider.getVersion(), CodecCache::new)
-                .queryCodecsCache.computeIfAbsent(cacheKey, (c) -> new QueryCodecCacheEntry(inCodecId, outCodecId));
+                .queryCodecsCache.put(cacheKey, new QueryCodecCacheEntry(inCodecId, outCodecId));
     }
 
     private static @NotNull Long calculateKnuthHash(@NotNull String str) {
@@ -7,10 +7,12 @@ import org.jetbrains.annotations.Nullable;
 import com.geldata.driver.binary.builders.types.TypeBuilder;
 import com.geldata.driver.binary.codecs.Codec;
 import com.geldata.driver.binary.codecs.ObjectCodec;
+import com.geldata.driver.binary.codecs.ResolvableCodec;
 import com.geldata.driver.binary.codecs.visitors.TypeVisitor;
 import com.geldata.driver.clients.GelBinaryClient;
 import com.geldata.driver.exceptions.GelException;
 import com.geldata.driver.exceptions.NoTypeConverterException;
+import com.geldata.driver.namingstrategies.NamingStrategy;
 import com.geldata.driver.util.TypeUtils;
 
 import javax.naming.OperationNotSupportedException;
@@ -33,10 +35,43 @@ public final class ObjectBuilder {
     }
 
     public static <T> @Nullable T buildResult(@NotNull GelBinaryClient client, Codec<?> codec, @NotNull ByteBuf data, @NotNull Class<T> cls) throws GelException, OperationNotSupportedException {
+        return buildVisitedResult(client, resolveCodec(client, codec, cls), data, cls);
+    }
+
+    /**
+     * Gets the codec tree resolved against a target type, visiting it only the first time a codec is resolved against
+     * the type. The resolved tree is kept on the codec instance; codecs are cached per protocol version for the life of
+     * the JVM (see {@linkplain CodecBuilder}), so the tree and the type it was resolved against stay reachable too.
+     */
+    public static @NotNull Codec<?> resolveCodec(@NotNull GelBinaryClient client, Codec<?> codec, @NotNull Class<?> cls) throws GelException {
+        if(!(codec instanceof ResolvableCodec)) {
+            return visitCodec(client, codec, cls);
+        }
+
+        var source = (ResolvableCodec) codec;
+        var key = new ResolvedCodecKey(cls, client.getConfig().getNamingStrategy());
+        var resolved = source.getResolvedCodec(key);
+
+        if(resolved != null) {
+            return resolved;
+        }
+
+        var visited = visitCodec(client, codec, cls);
+        source.putResolvedCodec(key, visited);
+        return visited;
+    }
+
+    /**
+     * Resolves a codec tree against a target type, the result can be reused with
+     * {@linkplain #buildVisitedResult(GelBinaryClient, Codec, ByteBuf, Class)} for any data of the same codec.
+     */
+    public static @NotNull Codec<?> visitCodec(@NotNull GelBinaryClient client, Codec<?> codec, @NotNull Class<?> cls) throws GelException {
         var visitor = new TypeVisitor(client);
         visitor.setTargetType(cls);
-        codec = visitor.visit(codec);
+        return visitor.visit(codec);
+    }
 
+    public static <T> @Nullable T buildVisitedResult(@NotNull GelBinaryClient client, Codec<?> codec, @NotNull ByteBuf data, @NotNull Class<T> cls) throws GelException, OperationNotSupportedException {
         if(codec instanceof ObjectCodec) {
             return TypeBuilder.buildObject(client, cls, (ObjectCodec)codec, data);
         }
@@ -45,6 +80,35 @@ public final class ObjectBuilder {
         return convertTo(cls, value);
     }
 
+    private static final class ResolvedCodecKey {
+        private final @NotNull Class<?> cls;
+        private final @NotNull NamingStrategy namingStrategy;
+
+        public ResolvedCodecKey(@NotNull Class<?> cls, @NotNull NamingStrategy namingStrategy) {
+            this.cls = cls;
+            this.namingStrategy = namingStrategy;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if(this == o) {
+                return true;
+            }
+
+            if(!(o instanceof ResolvedCodecKey)) {
+                return false;
+            }
+
+            var other = (ResolvedCodecKey) o;
+            return cls == other.cls && namingStrategy == other.namingStrategy;
+        }
+
+        @Override
+        public int hashCode() {
+            return cls.hashCode() * 31 + System.identityHashCode(namingStrategy);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     public static <T> @Nullable T convertTo(@NotNull Class<T> cls, @Nullable Object value) throws GelException {
         try {
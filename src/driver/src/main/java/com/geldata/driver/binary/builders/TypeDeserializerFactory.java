@@ -22,6 +22,12 @@ public interface TypeDeserializerFactory<T> {
 
     @FunctionalInterface
     interface ParentDeserializer<T> {
-        void accept(T value, ObjectEnumerator.ObjectElement element) throws GelException, ReflectiveOperationException;
+        /**
+         * Accepts an element the deserializing type doesn't handle itself.
+         * @param value The deserialized instance.
+         * @param element The unhandled element.
+         * @param position The position of the element within the object shape.
+         */
+        void accept(T value, ObjectEnumerator.ObjectElement element, int position) throws GelException, ReflectiveOperationException;
     }
 }
@@ -37,6 +37,77 @@ public final class ObjectEnumeratorImpl implements ObjectEnumerator {
         return this.context.client;
     }
 
+    public ObjectCodec getCodec() {
+        return this.codec;
+    }
+
+    /**
+     * Gets the shape position of the next element; the position indexes into the elements of {@linkplain #getCodec()}.
+     * @return The position of the next element.
+     */
+    public int getPosition() {
+        return this.position;
+    }
+
+    /**
+     * Reads the value of the next element without wrapping it in an {@linkplain ObjectEnumerator.ObjectElement}.
+     * @return The value of the next element.
+     */
+    public @Nullable Object nextValue() throws GelException, OperationNotSupportedException {
+        try {
+            reader.skip(INT_SIZE);
+
+            var token = reader.beginElement();
+
+            try {
+                return token == PacketReader.NO_DATA ? null : codec.elements[position].codec.deserialize(reader, context);
+            } finally {
+                reader.endElement(token);
+            }
+        }
+        finally {
+            position++;
+        }
+    }
+
+    /**
+     * Bounds the reader to the next element, so its value can be decoded directly from the reader of the enumerator.
+     * Every call must be paired with {@linkplain #endNext(int)}.
+     * @return The token of the element; or {@linkplain PacketReader#NO_DATA} if the element has no data.
+     */
+    public int beginNext() {
+        reader.skip(INT_SIZE);
+        return reader.beginElement();
+    }
+
+    /**
+     * Completes the element started with {@linkplain #beginNext()} and advances to the next one.
+     * @param token The token returned by {@linkplain #beginNext()}.
+     */
+    public void endNext(int token) {
+        reader.endElement(token);
+        position++;
+    }
+
+    public @NotNull PacketReader getReader() {
+        return this.reader;
+    }
+
+    /**
+     * Skips the next element without decoding its value.
+     */
+    public void skipNext() {
+        reader.skip(INT_SIZE);
+
+        var length = reader.readInt32();
+
+        if(length > 0) {
+            reader.skip(length);
+        }
+
+        position++;
+    }
+
     @Override
     public boolean hasRemaining() {
         return position < numElements && !reader.isEmpty();
@@ -52,17 +123,16 @@ public final class ObjectEnumeratorImpl implements ObjectEnumerator {
             reader.skip(INT_SIZE);
 
             var element = codec.elements[position];
+            var token = reader.beginElement();
 
-            try(var elementReader = reader.scopedSlice()) {
-                if(elementReader.isNoData) {
-                    return new ObjectEnumerator.ObjectElement(element.name, null, element.codec.getConvertingClass());
-                }
-
+            try {
                 return new ObjectEnumerator.ObjectElement(
                         element.name,
-                        element.codec.deserialize(elementReader, context),
+                        token == PacketReader.NO_DATA ? null : element.codec.deserialize(reader, context),
                         element.codec.getConvertingClass()
                 );
+            } finally {
+                reader.endElement(token);
             }
         }
         finally {
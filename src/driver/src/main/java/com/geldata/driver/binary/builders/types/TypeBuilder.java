@@ -31,17 +31,16 @@ public final class TypeBuilder {
 
     @SuppressWarnings("unchecked")
     public static <T> @Nullable T buildObject(@NotNull GelBinaryClient client, @NotNull Class<T> type, ObjectCodec codec, @NotNull ByteBuf data) throws OperationNotSupportedException, GelException {
-        var info = getDeserializerInfo(type);
+        if(!(codec instanceof ObjectCodec.TypeInitializedObjectCodec)) {
+            var info = getDeserializerInfo(type);
 
-        if(info == null) {
-            throw new OperationNotSupportedException("Cannot deserialize object data to " + type.getName());
-        }
+            if(info == null) {
+                throw new OperationNotSupportedException("Cannot deserialize object data to " + type.getName());
+            }
 
-        if(!(codec instanceof ObjectCodec.TypeInitializedObjectCodec)) {
             codec = codec.getOrCreateTypeCodec(info);
         }
 
-
         return (T) Codec.deserializeFromBuffer(codec, data, client.getCodecContext());
     }
 
@@ -51,8 +50,13 @@ public final class TypeBuilder {
             return null;
         }
 
-        var info = (TypeDeserializerInfo<T>) deserializerInfo.computeIfAbsent(cls, TypeDeserializerInfo::new);
+        var info = (TypeDeserializerInfo<T>) deserializerInfo.get(cls);
+
+        if(info == null) {
+            info = (TypeDeserializerInfo<T>) deserializerInfo.computeIfAbsent(cls, TypeDeserializerInfo::new);
+        }
 
+        // no-op once the subtypes of the type were discovered.
         info.scanChildren();
 
         return info;
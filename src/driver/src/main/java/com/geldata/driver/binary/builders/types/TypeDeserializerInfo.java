@@ -6,51 +6,72 @@ import org.reflections.Reflections;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.geldata.driver.GeneratedDeserializer;
 import com.geldata.driver.ObjectEnumerator;
 import com.geldata.driver.annotations.*;
+import com.geldata.driver.binary.PacketReader;
 import com.geldata.driver.binary.builders.ObjectBuilder;
 import com.geldata.driver.binary.builders.TypeDeserializerFactory;
 import com.geldata.driver.binary.builders.internal.ObjectEnumeratorImpl;
+import com.geldata.driver.binary.codecs.Codec;
+import com.geldata.driver.binary.codecs.PrimitiveCodec;
 import com.geldata.driver.binary.protocol.common.Cardinality;
 import com.geldata.driver.exceptions.GelException;
 import com.geldata.driver.exceptions.NoTypeConverterException;
 import com.geldata.driver.namingstrategies.NamingStrategy;
-import com.geldata.driver.util.FastInverseIndexer;
 import com.geldata.driver.util.StringsUtil;
 import com.geldata.driver.util.TypeUtils;
 
+import javax.naming.OperationNotSupportedException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
 import java.lang.reflect.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class TypeDeserializerInfo<T> {
     private static final Logger logger = LoggerFactory.getLogger(TypeDeserializerInfo.class);
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
     public final TypeDeserializerFactory<T> factory;
 
     private final Class<T> type;
     private final @Nullable GelType gelTypeAnno;
+    private final @Nullable GeneratedDeserializer<T> generated;
 
     // lazy fields, use getter methods
     private List<FieldInfo> fields;
     private Map<String, Method> setterMethods;
-    private Reflections reflection;
     private Collection<Class<?>> bases;
+    private volatile boolean childrenScanned;
 
     private final @NotNull Map<NamingStrategy, NamingStrategyMap<Parameter>> constructorNamingMap;
     private final @NotNull Map<NamingStrategy, NamingStrategyMap<FieldInfo>> fieldNamingMap;
     private final @NotNull Map<String, TypeDeserializerInfo<? extends T>> children;
 
+    // the element order of an object shape is fixed, so each shape is bound to the fields or parameters of this type
+    // once per naming strategy. the slots are kept on the codec of the shape, these are the owners they're bound by.
+    private final @NotNull Object fieldSlotsOwner = new Object();
+    private final @NotNull Object parameterSlotsOwner = new Object();
+
     public TypeDeserializerInfo(@NotNull Class<T> type) {
-        this.constructorNamingMap = new HashMap<>();
-        this.fieldNamingMap = new HashMap<>();
+        this.constructorNamingMap = new ConcurrentHashMap<>();
+        this.fieldNamingMap = new ConcurrentHashMap<>();
         this.type = type;
         this.gelTypeAnno = type.getAnnotation(GelType.class);
         this.children = new HashMap<>();
+        this.generated = findGeneratedDeserializer(type);
 
         try {
-            this.factory = createFactory();
+            // generated deserializers of abstract types only provide the subtypes.
+            this.factory = this.generated != null && !type.isInterface() && !Modifier.isAbstract(type.getModifiers())
+                    ? createGeneratedFactory(this.generated)
+                    : createFactory();
         } catch (ReflectiveOperationException e) {
             logger.error("Failed to create type deserialization factory", e);
             throw new RuntimeException(e);
@@ -61,17 +82,37 @@ public class TypeDeserializerInfo<T> {
         this.type = cls;
         this.factory = factory;
         this.gelTypeAnno = type.getAnnotation(GelType.class);
-        this.constructorNamingMap = new HashMap<>();
-        this.fieldNamingMap = new HashMap<>();
+        this.constructorNamingMap = new ConcurrentHashMap<>();
+        this.fieldNamingMap = new ConcurrentHashMap<>();
         this.children = new HashMap<>();
+        this.generated = null;
+
+        // built-in targets have no user-defined subtypes.
+        this.childrenScanned = true;
     }
 
-    private synchronized @NotNull Reflections getReflection() {
-        if(reflection == null) {
-            this.reflection = new Reflections(this.type);
+    @SuppressWarnings("unchecked")
+    private static <T> @Nullable GeneratedDeserializer<T> findGeneratedDeserializer(@NotNull Class<T> type) {
+        var loader = type.getClassLoader();
+
+        if(loader == null) {
+            return null;
         }
 
-        return this.reflection;
+        try {
+            var cls = Class.forName(type.getName() + "_GelDeserializer", true, loader);
+
+            if(!GeneratedDeserializer.class.isAssignableFrom(cls)) {
+                return null;
+            }
+
+            return (GeneratedDeserializer<T>) cls.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException e) {
+            logger.warn("Failed to load the generated deserializer of {}, falling back to reflection", type.getName(), e);
+            return null;
+        }
     }
 
     private synchronized @NotNull Collection<Class<?>> getBases() {
@@ -136,27 +177,48 @@ public class TypeDeserializerInfo<T> {
         return type;
     }
 
+    @SuppressWarnings("unchecked")
     public void scanChildren() {
-        // find potential children
-        var children = getReflection().getSubTypesOf(type);
+        if(childrenScanned) {
+            return;
+        }
+
+        synchronized (this) {
+            if(childrenScanned) {
+                return;
+            }
 
-        if(!children.isEmpty()) {
-            for (var child : children) {
+            for (var child : findSubtypes()) {
                 if(child.getAnnotation(GelIgnore.class) != null) {
                     continue;
                 }
 
                 var typeInfo = TypeBuilder.getDeserializerInfo(child);
 
-                if(typeInfo == null) {
+                if(typeInfo == null || !type.isAssignableFrom(typeInfo.type)) {
                     continue;
                 }
 
-                this.children.putIfAbsent(typeInfo.type.getSimpleName(), typeInfo);
+                this.children.putIfAbsent(typeInfo.type.getSimpleName(), (TypeDeserializerInfo<? extends T>) typeInfo);
             }
+
+            childrenScanned = true;
         }
     }
 
+    private @NotNull Collection<? extends Class<?>> findSubtypes() {
+        // registered subtypes and generated deserializers avoid scanning the classpath.
+        if(this.gelTypeAnno != null && this.gelTypeAnno.subtypes().length > 0) {
+            return Arrays.asList(this.gelTypeAnno.subtypes());
+        }
+
+        if(this.generated != null) {
+            return Arrays.asList(this.generated.getSubtypes());
+        }
+
+        return new Reflections(this.type).getSubTypesOf(type);
+    }
+
     public boolean requiresTypeNameIntrospection() {
         return !this.children.isEmpty();
     }
@@ -190,47 +252,34 @@ public class TypeDeserializerInfo<T> {
             var ctor = ctorDeserializer.get();
             var ctorParams = ctor.getParameters();
             if(ctorParams.length == 1 && ctorParams[0].getType().equals(ObjectEnumerator.class)) {
-                return (enumerator, parent) -> (T)ctor.newInstance(enumerator);
-            }
+                var enumeratorCtor = LOOKUP.unreflectConstructor(ctor)
+                        .asType(MethodType.methodType(Object.class, ObjectEnumerator.class));
 
-            return (enumerator, parent) -> {
-                var namingStrategyEntry = constructorNamingMap.computeIfAbsent(
-                        ((ObjectEnumeratorImpl)enumerator).getClient().getConfig().getNamingStrategy(),
-                        (n) -> new NamingStrategyMap<>(n, (v) -> getNameOrAnnotated(v, Parameter::getName), ctor.getParameters())
-                );
-
-                var params = new Object[namingStrategyEntry.nameIndexMap.size()];
-                var inverseIndexer = new FastInverseIndexer(params.length);
-
-                ObjectEnumerator.ObjectElement element;
-
-                var unhandled = new Vector<ObjectEnumerator.ObjectElement>(params.length);
+                return (enumerator, parent) -> (T)construct(enumeratorCtor, enumerator);
+            }
 
-                while(enumerator.hasRemaining() && (element = enumerator.next()) != null) {
-                    if(namingStrategyEntry.map.containsKey(element.getName())) {
-                        var i = namingStrategyEntry.nameIndexMap.get(element.getName());
-                        inverseIndexer.set(i);
-                        params[i] = element.getValue();
-                    } else {
-                        unhandled.add(element);
-                    }
-                }
+            // spread the parameters from an array, so the constructor is invoked directly without reflection.
+            var spreadCtor = LOOKUP.unreflectConstructor(ctor)
+                    .asSpreader(Object[].class, ctorParams.length)
+                    .asType(MethodType.methodType(Object.class, Object[].class));
 
-                var missed = inverseIndexer.getInverseIndexes();
+            var defaults = new Object[ctorParams.length];
 
-                for(int i = 0; i != missed.length; i++) {
-                    params[missed[i]] = TypeUtils.getDefaultValue(namingStrategyEntry.values.get(i).getType());
-                }
+            for(int i = 0; i != ctorParams.length; i++) {
+                defaults[i] = TypeUtils.getDefaultValue(ctorParams[i].getType());
+            }
 
-                var instance = (T)ctor.newInstance(params);
+            return (enumerator, parent) -> {
+                var enumeratorImpl = (ObjectEnumeratorImpl)enumerator;
+                var slots = getParameterSlots(enumeratorImpl, strategy -> constructorNamingMap.computeIfAbsent(
+                        strategy,
+                        (n) -> new NamingStrategyMap<>(n, (v) -> getNameOrAnnotated(v, Parameter::getName), ctor.getParameters())
+                ).nameIndexMap);
 
-                if(parent != null) {
-                    for (var unhandledElement : unhandled) {
-                        parent.accept(instance, unhandledElement);
-                    }
-                }
+                // parameters missing from the shape keep their default value.
+                var params = defaults.clone();
 
-                return instance;
+                return bindToSlots(enumeratorImpl, slots, params, parent, () -> (T)construct(spreadCtor, params));
             };
 
         }
@@ -245,10 +294,9 @@ public class TypeDeserializerInfo<T> {
                     );
                 }
 
-                var namingStrategyEntry = fieldNamingMap.computeIfAbsent(
-                        ((ObjectEnumeratorImpl)enumerator).getClient().getConfig().getNamingStrategy(),
-                        (v) -> new NamingStrategyMap<>(v, (u) -> getNameOrAnnotated(u.field, Field::getName), getFields())
-                );
+                var enumeratorImpl = (ObjectEnumeratorImpl)enumerator;
+                var slots = getFieldSlots(enumeratorImpl);
+                var useFieldSetters = enumeratorImpl.getClient().getConfig().useFieldSetters();
 
                 var element = enumerator.next();
 
@@ -267,12 +315,13 @@ public class TypeDeserializerInfo<T> {
                     var module = child.getValue().getModuleName();
 
                     if((module == null || split[0].equals(module)) && child.getKey().equals(split[1])) {
-                        return child.getValue().factory.deserialize(enumerator, (i, v) -> {
-                            if(namingStrategyEntry.map.containsKey(v.getName())) {
-                                var fieldInfo = namingStrategyEntry.map.get(v.getName());
-                                fieldInfo.convertAndSet(((ObjectEnumeratorImpl)enumerator).getClient().getConfig().useFieldSetters(), i, v.getValue());
+                        return child.getValue().factory.deserialize(enumerator, (i, v, position) -> {
+                            var fieldInfo = slots[position];
+
+                            if(fieldInfo != null) {
+                                fieldInfo.convertAndSet(useFieldSetters, i, v.getValue());
                             } else if(parent != null) {
-                                parent.accept(i, v);
+                                parent.accept(i, v, position);
                             }
                         });
                     }
@@ -289,23 +338,27 @@ public class TypeDeserializerInfo<T> {
             throw new ReflectiveOperationException(String.format("No empty constructor found to construct the type %s", this.type));
         }
 
-        var ctor = emptyCtor.get();
+        var ctor = LOOKUP.unreflectConstructor(emptyCtor.get()).asType(MethodType.methodType(Object.class));
 
         return (enumerator, parent) -> {
-            var namingStrategyEntry = fieldNamingMap.computeIfAbsent(
-                    ((ObjectEnumeratorImpl)enumerator).getClient().getConfig().getNamingStrategy(),
-                    (v) -> new NamingStrategyMap<>(v, (u) -> getNameOrAnnotated(u.field, Field::getName), getFields())
-            );
-
-            var instance = (T)ctor.newInstance();
-            ObjectEnumerator.ObjectElement element;
-
-            while (enumerator.hasRemaining() && (element = enumerator.next()) != null) {
-                if(namingStrategyEntry.map.containsKey(element.getName())) {
-                    var fieldInfo = namingStrategyEntry.map.get(element.getName());
-                    fieldInfo.convertAndSet(((ObjectEnumeratorImpl)enumerator).getClient().getConfig().useFieldSetters(), instance, element.getValue());
+            var enumeratorImpl = (ObjectEnumeratorImpl)enumerator;
+            var slots = getFieldSlots(enumeratorImpl);
+            var useFieldSetters = enumeratorImpl.getClient().getConfig().useFieldSetters();
+
+            var instance = (T)construct(ctor);
+
+            while (enumeratorImpl.hasRemaining()) {
+                var fieldInfo = slots[enumeratorImpl.getPosition()];
+
+                if(fieldInfo != null) {
+                    if(!fieldInfo.trySetPrimitive(useFieldSetters, instance, enumeratorImpl)) {
+                        fieldInfo.convertAndSet(useFieldSetters, instance, enumeratorImpl.nextValue());
+                    }
                 } else if(parent != null) {
-                    parent.accept(instance, element);
+                    var position = enumeratorImpl.getPosition();
+                    parent.accept(instance, enumeratorImpl.next(), position);
+                } else {
+                    enumeratorImpl.skipNext();
                 }
             }
 
@@ -313,6 +366,134 @@ public class TypeDeserializerInfo<T> {
         };
     }
 
+    private @NotNull TypeDeserializerFactory<T> createGeneratedFactory(@NotNull GeneratedDeserializer<T> generated) {
+        var names = generated.getPropertyNames();
+        var namingMaps = new ConcurrentHashMap<NamingStrategy, Map<String, Integer>>();
+        var missing = new Object[names.length];
+        Arrays.fill(missing, GeneratedDeserializer.MISSING);
+
+        return (enumerator, parent) -> {
+            var enumeratorImpl = (ObjectEnumeratorImpl)enumerator;
+            var slots = getParameterSlots(enumeratorImpl, strategy -> namingMaps.computeIfAbsent(strategy, n -> {
+                var map = new HashMap<String, Integer>(names.length);
+
+                for(int i = 0; i != names.length; i++) {
+                    map.put(n.convert(names[i]), i);
+                }
+
+                return map;
+            }));
+
+            var values = missing.clone();
+            var useFieldSetters = enumeratorImpl.getClient().getConfig().useFieldSetters();
+
+            return bindToSlots(enumeratorImpl, slots, values, parent, () -> generated.deserialize(values, useFieldSetters));
+        };
+    }
+
+    @FunctionalInterface
+    private interface SlotConstructor<T> {
+        T construct() throws GelException, ReflectiveOperationException;
+    }
+
+    private @Nullable FieldInfo @NotNull [] getFieldSlots(@NotNull ObjectEnumeratorImpl enumerator) {
+        var strategy = enumerator.getClient().getConfig().getNamingStrategy();
+
+        return enumerator.getCodec().getSlots(fieldSlotsOwner, strategy, elements -> {
+            var fieldMap = getFieldMap(strategy).map;
+            var result = new FieldInfo[elements.length];
+
+            for(int i = 0; i != result.length; i++) {
+                result[i] = fieldMap.get(elements[i].name);
+            }
+
+            return result;
+        });
+    }
+
+    private int @NotNull [] getParameterSlots(
+            @NotNull ObjectEnumeratorImpl enumerator,
+            @NotNull Function<NamingStrategy, Map<String, Integer>> getIndexes
+    ) {
+        var strategy = enumerator.getClient().getConfig().getNamingStrategy();
+
+        return enumerator.getCodec().getSlots(parameterSlotsOwner, strategy, elements -> {
+            var indexes = getIndexes.apply(strategy);
+            var result = new int[elements.length];
+
+            for(int i = 0; i != result.length; i++) {
+                result[i] = indexes.getOrDefault(elements[i].name, -1);
+            }
+
+            return result;
+        });
+    }
+
+    private @NotNull T bindToSlots(
+            @NotNull ObjectEnumeratorImpl enumerator,
+            int @NotNull [] slots,
+            @Nullable Object @NotNull [] values,
+            @Nullable TypeDeserializerFactory.ParentDeserializer<T> parent,
+            @NotNull SlotConstructor<T> constructor
+    ) throws GelException, OperationNotSupportedException, ReflectiveOperationException {
+        // elements that don't belong to the type are only kept when a parent type consumes them.
+        ObjectEnumerator.ObjectElement[] unhandled = null;
+
+        while(enumerator.hasRemaining()) {
+            var position = enumerator.getPosition();
+            var slot = slots[position];
+
+            if(slot != -1) {
+                values[slot] = enumerator.nextValue();
+            } else if(parent != null) {
+                if(unhandled == null) {
+                    unhandled = new ObjectEnumerator.ObjectElement[slots.length];
+                }
+
+                unhandled[position] = enumerator.next();
+            } else {
+                enumerator.skipNext();
+            }
+        }
+
+        var instance = constructor.construct();
+
+        if(unhandled != null) {
+            for(int i = 0; i != unhandled.length; i++) {
+                if(unhandled[i] != null) {
+                    parent.accept(instance, unhandled[i], i);
+                }
+            }
+        }
+
+        return instance;
+    }
+
+    // constructors invoked through method handles report failures like Constructor.newInstance does.
+    private static Object construct(@NotNull MethodHandle ctor) throws InvocationTargetException {
+        try {
+            return (Object) ctor.invokeExact();
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    private static Object construct(@NotNull MethodHandle ctor, ObjectEnumerator enumerator) throws InvocationTargetException {
+        try {
+            return (Object) ctor.invokeExact(enumerator);
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    private static Object construct(@NotNull MethodHandle ctor, Object[] params) throws InvocationTargetException {
+        try {
+            return (Object) ctor.invokeExact(params);
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
     public @NotNull NamingStrategyMap<FieldInfo> getFieldMap(NamingStrategy strategy) {
         return fieldNamingMap.computeIfAbsent(
                 strategy,
@@ -337,6 +518,16 @@ public class TypeDeserializerInfo<T> {
 
         private final @Nullable GelLinkType linkType;
 
+        // resolved once, so setting a value doesn't go through reflection or the full conversion lookup.
+        private final @NotNull Class<?> boxedFieldType;
+        private final @Nullable Object defaultValue;
+        private final @Nullable MethodHandle fieldHandle;
+        private final @Nullable MethodHandle setMethodHandle;
+
+        // typed as (Object, <primitive>)void for primitive fields, so decoded values are set without boxing.
+        private final @Nullable MethodHandle primitiveFieldHandle;
+        private final @Nullable MethodHandle primitiveSetMethodHandle;
+
         public FieldInfo(@NotNull Field field, @NotNull Map<String, Method> setters) {
             this.field = field;
             this.fieldType = field.getType();
@@ -352,6 +543,41 @@ public class TypeDeserializerInfo<T> {
             this.setMethod = setMethod;
 
             this.linkType = field.getAnnotation(GelLinkType.class);
+
+            this.boxedFieldType = MethodType.methodType(fieldType).wrap().returnType();
+            this.defaultValue = TypeUtils.getDefaultValue(fieldType);
+            this.fieldHandle = tryUnreflect(() -> LOOKUP.unreflectSetter(field));
+            this.setMethodHandle = setMethod == null ? null : tryUnreflect(() -> LOOKUP.unreflect(this.setMethod));
+
+            if(fieldType.isPrimitive()) {
+                var primitiveSetterType = MethodType.methodType(void.class, Object.class, fieldType);
+
+                this.primitiveFieldHandle = tryUnreflect(() -> LOOKUP.unreflectSetter(field), primitiveSetterType);
+                this.primitiveSetMethodHandle = setMethod != null && setMethod.getParameterTypes()[0] == fieldType
+                        ? tryUnreflect(() -> LOOKUP.unreflect(this.setMethod), primitiveSetterType)
+                        : null;
+            } else {
+                this.primitiveFieldHandle = null;
+                this.primitiveSetMethodHandle = null;
+            }
+        }
+
+        @FunctionalInterface
+        private interface HandleResolver {
+            MethodHandle resolve() throws IllegalAccessException;
+        }
+
+        private static @Nullable MethodHandle tryUnreflect(@NotNull HandleResolver resolver) {
+            return tryUnreflect(resolver, SETTER_TYPE);
+        }
+
+        private static @Nullable MethodHandle tryUnreflect(@NotNull HandleResolver resolver, @NotNull MethodType type) {
+            try {
+                return resolver.resolve().asType(type);
+            } catch (IllegalAccessException | WrongMethodTypeException e) {
+                // inaccessible members keep going through reflection, which reports the access error when used.
+                return null;
+            }
         }
 
         public Class<?> getType(@Nullable Cardinality cardinality) throws GelException {
@@ -412,17 +638,95 @@ public class TypeDeserializerInfo<T> {
             }
 
             if(useMethodSetter && setMethod != null) {
-                setMethod.invoke(instance, converted);
+                if(setMethodHandle != null) {
+                    set(setMethodHandle, instance, converted);
+                } else {
+                    setMethod.invoke(instance, converted);
+                }
+            } else if(fieldHandle != null) {
+                set(fieldHandle, instance, converted);
             } else {
                 field.set(instance, converted);
             }
         }
 
+        /**
+         * Decodes the next element of the enumerator as a primitive and sets it without boxing, if both the codec of
+         * the element and this field are primitives of the same type.
+         * @param useMethodSetter Whether to prefer the setter method of the field.
+         * @param instance The instance to set the field of.
+         * @param enumerator The enumerator positioned at the element of this field.
+         * @return {@code true} if the element was consumed; otherwise {@code false} and the enumerator is untouched.
+         */
+        public boolean trySetPrimitive(
+                boolean useMethodSetter, Object instance, @NotNull ObjectEnumeratorImpl enumerator
+        ) throws GelException, ReflectiveOperationException {
+            var handle = useMethodSetter && setMethod != null ? primitiveSetMethodHandle : primitiveFieldHandle;
+
+            if(handle == null) {
+                return false;
+            }
+
+            var codec = enumerator.getCodec().elements[enumerator.getPosition()].codec;
+
+            if(!(codec instanceof PrimitiveCodec) || ((PrimitiveCodec)codec).getPrimitiveType() != fieldType) {
+                return false;
+            }
+
+            var token = enumerator.beginNext();
+
+            try {
+                if(token == PacketReader.NO_DATA) {
+                    convertAndSet(useMethodSetter, instance, null);
+                } else {
+                    setPrimitive(handle, instance, codec, enumerator.getReader());
+                }
+            } finally {
+                enumerator.endNext(token);
+            }
+
+            return true;
+        }
+
+        private void setPrimitive(
+                @NotNull MethodHandle handle, Object instance, Codec<?> codec, @NotNull PacketReader reader
+        ) throws InvocationTargetException {
+            try {
+                if(fieldType == long.class) {
+                    handle.invokeExact(instance, ((PrimitiveCodec.OfLong)codec).readLong(reader));
+                } else if(fieldType == int.class) {
+                    handle.invokeExact(instance, ((PrimitiveCodec.OfInt)codec).readInt(reader));
+                } else if(fieldType == double.class) {
+                    handle.invokeExact(instance, ((PrimitiveCodec.OfDouble)codec).readDouble(reader));
+                } else if(fieldType == boolean.class) {
+                    handle.invokeExact(instance, ((PrimitiveCodec.OfBoolean)codec).readBoolean(reader));
+                } else if(fieldType == float.class) {
+                    handle.invokeExact(instance, ((PrimitiveCodec.OfFloat)codec).readFloat(reader));
+                } else if(fieldType == short.class) {
+                    handle.invokeExact(instance, ((PrimitiveCodec.OfShort)codec).readShort(reader));
+                }
+            } catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        }
+
+        private static void set(@NotNull MethodHandle handle, Object instance, Object value) throws InvocationTargetException {
+            try {
+                handle.invokeExact(instance, value);
+            } catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        }
+
         private @Nullable Object convertToType(@Nullable Object value) throws GelException {
             // TODO: custom converters?
 
             if(value == null) {
-                return TypeUtils.getDefaultValue(fieldType);
+                return defaultValue;
+            }
+
+            if(boxedFieldType.isInstance(value)) {
+                return value;
             }
 
             return ObjectBuilder.convertTo(fieldType, value);
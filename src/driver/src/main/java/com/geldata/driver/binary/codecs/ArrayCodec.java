@@ -30,6 +30,15 @@ public class ArrayCodec<T> extends CodecBase<T[]> {
         this.innerCodec = (Codec<T>) codec;
     }
 
+    /**
+     * Creates an array codec for the given target type, decoding arrays of primitive scalars into primitive arrays.
+     * @see PrimitiveArrayCodec
+     */
+    public static @NotNull Codec<?> create(UUID id, @Nullable CodecMetadata metadata, Class<?> cls, Codec<?> codec) {
+        var primitive = PrimitiveArrayCodec.tryCreate(id, metadata, cls, codec, false);
+        return primitive != null ? primitive : new ArrayCodec<>(id, metadata, cls, codec);
+    }
+
     @Override
     public void serialize(@NotNull PacketWriter writer, T @Nullable [] value, CodecContext context) throws OperationNotSupportedException, GelException {
         if(value == null) {
@@ -75,8 +84,12 @@ public class ArrayCodec<T> extends CodecBase<T[]> {
         var array = (T[])Array.newInstance(innerCodec.getConvertingClass(), numElements);
 
         for(int i = 0; i != numElements; i++) {
-            try(var elementReader = reader.scopedSlice()) {
-                array[i] = innerCodec.deserialize(elementReader, context);
+            var token = reader.beginElement();
+
+            try {
+                array[i] = token == PacketReader.NO_DATA ? null : innerCodec.deserialize(reader, context);
+            } finally {
+                reader.endElement(token);
             }
         }
 
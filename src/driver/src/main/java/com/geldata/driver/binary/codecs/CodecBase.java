@@ -7,12 +7,18 @@ import com.geldata.driver.binary.protocol.common.descriptors.CodecMetadata;
 
 import java.lang.reflect.Type;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
-public abstract class CodecBase<T> implements Codec<T> {
+public abstract class CodecBase<T> implements Codec<T>, ResolvableCodec {
     public final UUID id;
     public final @Nullable CodecMetadata metadata;
     private final Class<T> cls;
 
+    // trees resolved from this codec against target types, they live as long as the codec itself, which the codec
+    // cache never evicts. most codecs are never resolved directly, so the map is only created when needed.
+    private volatile @Nullable ConcurrentMap<Object, Codec<?>> resolvedCodecs;
+
     public CodecBase(UUID id, @Nullable CodecMetadata metadata, Class<T> cls) {
         this.cls = cls;
         this.id = id;
@@ -38,4 +44,27 @@ public abstract class CodecBase<T> implements Codec<T> {
     public boolean canConvert(@NotNull Type type) {
         return type.equals(cls);
     }
+
+    @Override
+    public @Nullable Codec<?> getResolvedCodec(@NotNull Object key) {
+        var resolved = this.resolvedCodecs;
+        return resolved == null ? null : resolved.get(key);
+    }
+
+    @Override
+    public void putResolvedCodec(@NotNull Object key, @NotNull Codec<?> codec) {
+        var resolved = this.resolvedCodecs;
+
+        if(resolved == null) {
+            synchronized (this) {
+                resolved = this.resolvedCodecs;
+
+                if(resolved == null) {
+                    this.resolvedCodecs = resolved = new ConcurrentHashMap<>(4);
+                }
+            }
+        }
+
+        resolved.put(key, codec);
+    }
 }
@@ -1,15 +1,30 @@
 package com.geldata.driver.binary.codecs;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import com.geldata.driver.binary.codecs.visitors.TypeVisitor;
 import com.geldata.driver.clients.GelBinaryClient;
+import com.geldata.driver.util.StringCache;
 
 public final class CodecContext {
     public final GelBinaryClient client;
 
+    private final @Nullable StringCache stringCache;
+
     public CodecContext(GelBinaryClient client) {
         this.client = client;
+
+        var stringCacheSize = client.getConfig().getStringCacheSize();
+        this.stringCache = stringCacheSize > 0 ? new StringCache(stringCacheSize) : null;
+    }
+
+    /**
+     * Gets the cache used to deduplicate decoded strings.
+     * @return The string cache of the client; or {@code null} if string deduplication is disabled.
+     */
+    public @Nullable StringCache getStringCache() {
+        return this.stringCache;
     }
 
     public @NotNull TypeVisitor getTypeVisitor() {
@@ -6,16 +6,18 @@ import org.jetbrains.annotations.Nullable;
 import com.geldata.driver.binary.PacketReader;
 import com.geldata.driver.binary.PacketWriter;
 import com.geldata.driver.binary.protocol.common.descriptors.CodecMetadata;
+import com.geldata.driver.namingstrategies.NamingStrategy;
 
 import javax.naming.OperationNotSupportedException;
 import java.lang.reflect.Type;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 
 @SuppressWarnings("rawtypes")
-public final class CompilableCodec implements Codec {
+public final class CompilableCodec implements Codec, ResolvableCodec {
     @FunctionalInterface
     public interface CompilableFactory {
         Codec<?> compile(UUID id, @Nullable CodecMetadata metadata, Class<?> cls, Codec<?> innerCodec);
@@ -23,7 +25,8 @@ public final class CompilableCodec implements Codec {
 
     private final Codec<?> innerCodec;
     private final CompilableFactory factory;
-    private final @NotNull ConcurrentMap<Class<?>, Codec<?>> instanceCache;
+    private final @NotNull ConcurrentMap<CompiledCodecKey, Codec<?>> instanceCache;
+    private final @NotNull ConcurrentMap<Object, Codec<?>> resolvedCodecs;
     private final Function<Class<?>, Class<?>> compilableTypeFactory;
     private final UUID id;
     private final @Nullable CodecMetadata metadata;
@@ -42,6 +45,7 @@ public final class CompilableCodec implements Codec {
         this.factory = factory;
         this.innerCodec = innerCodec;
         this.instanceCache = new ConcurrentHashMap<>();
+        this.resolvedCodecs = new ConcurrentHashMap<>(4);
         this.compilableTypeFactory = compilableTypeFactory;
     }
 
@@ -57,8 +61,30 @@ public final class CompilableCodec implements Codec {
         return this.innerCodec;
     }
 
-    public Codec<?> compile(Class<?> cls, Codec<?> innerCodec) {
-        return instanceCache.computeIfAbsent(cls, (c) -> this.factory.compile(this.id, this.metadata, c, innerCodec));
+    /**
+     * Compiles this codec against a target type, reusing a previous compilation with an equivalent inner codec.
+     * @param cls The target type.
+     * @param innerCodec The inner codec, resolved against the element type of the target type.
+     * @param namingStrategy The naming strategy the inner codec was resolved with.
+     * @return The compiled codec.
+     */
+    public Codec<?> compile(Class<?> cls, Codec<?> innerCodec, @NotNull NamingStrategy namingStrategy) {
+        // resolving the inner codec builds a new instance each time, it's keyed by what it was resolved from instead
+        // so the cache stays bounded.
+        return instanceCache.computeIfAbsent(
+                new CompiledCodecKey(cls, innerCodec, namingStrategy),
+                (k) -> this.factory.compile(this.id, this.metadata, cls, innerCodec)
+        );
+    }
+
+    @Override
+    public @Nullable Codec<?> getResolvedCodec(@NotNull Object key) {
+        return this.resolvedCodecs.get(key);
+    }
+
+    @Override
+    public void putResolvedCodec(@NotNull Object key, @NotNull Codec<?> codec) {
+        this.resolvedCodecs.put(key, codec);
     }
 
     public Class<?> getInnerType() {
@@ -97,4 +123,42 @@ public final class CompilableCodec implements Codec {
     public boolean canConvert(Type type) {
         return false;
     }
+
+    private static final class CompiledCodecKey {
+        private final @NotNull Class<?> cls;
+        private final @Nullable UUID innerId;
+        private final @NotNull Class<?> innerTarget;
+        private final @NotNull NamingStrategy namingStrategy;
+
+        public CompiledCodecKey(@NotNull Class<?> cls, @NotNull Codec<?> innerCodec, @NotNull NamingStrategy namingStrategy) {
+            this.cls = cls;
+            this.innerId = innerCodec.getId();
+            this.innerTarget = innerCodec instanceof ObjectCodec.TypeInitializedObjectCodec
+                    ? ((ObjectCodec.TypeInitializedObjectCodec)innerCodec).getTarget()
+                    : innerCodec.getConvertingClass();
+            this.namingStrategy = namingStrategy;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if(this == o) {
+                return true;
+            }
+
+            if(!(o instanceof CompiledCodecKey)) {
+                return false;
+            }
+
+            var other = (CompiledCodecKey) o;
+            return cls == other.cls
+                    && innerTarget == other.innerTarget
+                    && namingStrategy == other.namingStrategy
+                    && Objects.equals(innerId, other.innerId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(cls, innerId, innerTarget, System.identityHashCode(namingStrategy));
+        }
+    }
 }
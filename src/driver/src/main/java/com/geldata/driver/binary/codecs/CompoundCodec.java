@@ -86,8 +86,12 @@ public class CompoundCodec extends CodecBase<Object> {
         for(var i = 0; i != numElements; i++) {
             reader.skip(INT_SIZE);
 
-            try(var elementReader = reader.scopedSlice()) {
-                elements[i] = innerCodecs[i].deserialize(elementReader, context);
+            var token = reader.beginElement();
+
+            try {
+                elements[i] = token == PacketReader.NO_DATA ? null : innerCodecs[i].deserialize(reader, context);
+            } finally {
+                reader.endElement(token);
             }
         }
 
@@ -47,8 +47,12 @@ public final class MultiRangeCodec<T> extends CodecBase<MultiRange<T>> {
         var elements = new Range[length];
 
         for(int i = 0; i != length; i++) {
-            try(var scoped = reader.scopedSlice(reader.readInt32())) {
-                elements[i] = rangeCodec.deserialize(scoped, context);
+            var token = reader.beginElement();
+
+            try {
+                elements[i] = token == PacketReader.NO_DATA ? null : rangeCodec.deserialize(reader, context);
+            } finally {
+                reader.endElement(token);
             }
         }
 
@@ -12,8 +12,10 @@ import com.geldata.driver.binary.protocol.common.Cardinality;
 import com.geldata.driver.binary.protocol.common.descriptors.CodecMetadata;
 import com.geldata.driver.exceptions.GelException;
 import com.geldata.driver.exceptions.NoTypeConverterException;
+import com.geldata.driver.namingstrategies.NamingStrategy;
 
 import javax.naming.OperationNotSupportedException;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -50,6 +52,23 @@ public class ObjectCodec extends CodecBase<Object> implements ArgumentCodec<Obje
             this.deserializer = info;
         }
 
+        private TypeInitializedObjectCodec(@NotNull TypeInitializedObjectCodec other, ObjectProperty[] elements) {
+            super(other, elements);
+
+            this.parent = other.parent;
+            this.target = other.target;
+            this.deserializer = other.deserializer;
+        }
+
+        /**
+         * Creates a copy of this codec with different element codecs, leaving this codec untouched.
+         * @param elements The elements of the copy.
+         * @return A new {@linkplain TypeInitializedObjectCodec} with the given elements.
+         */
+        public @NotNull TypeInitializedObjectCodec withElements(ObjectProperty[] elements) {
+            return new TypeInitializedObjectCodec(this, elements);
+        }
+
         @Override
         public @Nullable Object deserialize(@NotNull PacketReader reader, CodecContext context) throws GelException {
             assert deserializer != null;
@@ -79,7 +98,7 @@ public class ObjectCodec extends CodecBase<Object> implements ArgumentCodec<Obje
     public static final class ObjectProperty {
         public final String name;
         public final @Nullable Cardinality cardinality;
-        public Codec<?> codec;
+        public final Codec<?> codec;
         public ObjectProperty(String name, Codec<?> codec, @Nullable Cardinality cardinality) {
             this.name = name;
             this.codec = codec;
@@ -87,10 +106,36 @@ public class ObjectCodec extends CodecBase<Object> implements ArgumentCodec<Obje
         }
     }
 
+    /**
+     * Binds the elements of a shape to the members of a type.
+     * @param <S> The type of the bound slots.
+     */
+    @FunctionalInterface
+    public interface SlotBinder<S> {
+        @NotNull S bind(@NotNull ObjectProperty @NotNull [] elements);
+    }
+
+    private static final class SlotBinding {
+        public final @NotNull Object owner;
+        public final @NotNull NamingStrategy namingStrategy;
+        public final @NotNull Object slots;
+
+        public SlotBinding(@NotNull Object owner, @NotNull NamingStrategy namingStrategy, @NotNull Object slots) {
+            this.owner = owner;
+            this.namingStrategy = namingStrategy;
+            this.slots = slots;
+        }
+    }
+
+    private static final SlotBinding[] NO_BINDINGS = new SlotBinding[0];
+
     public final @Nullable UUID typeId;
     public final ObjectProperty[] elements;
     private final @NotNull ConcurrentMap<Class<?>, TypeInitializedObjectCodec> typeCodecs;
 
+    // a shape is only bound by a handful of types, an identity scan keeps decoding a row free of allocation and hashing.
+    private volatile SlotBinding @NotNull [] slotBindings = NO_BINDINGS;
+
     public ObjectCodec(UUID shapeId, @Nullable UUID typeId, @Nullable CodecMetadata metadata, ObjectProperty... elements) {
         super(shapeId, metadata, Object.class);
         this.typeId = typeId;
@@ -99,12 +144,50 @@ public class ObjectCodec extends CodecBase<Object> implements ArgumentCodec<Obje
     }
 
     private ObjectCodec(ObjectCodec other) {
+        this(other, other.elements);
+    }
+
+    private ObjectCodec(ObjectCodec other, ObjectProperty[] elements) {
         super(other.id, other.metadata, Object.class);
         this.typeId = other.typeId;
-        this.elements = other.elements;
+        this.elements = elements;
         this.typeCodecs = other.typeCodecs;
     }
 
+    /**
+     * Gets the slots an owner bound to the elements of this codec, binding them the first time they're requested.
+     * @param owner The owner of the slots, compared by identity.
+     * @param namingStrategy The naming strategy the slots are bound with.
+     * @param binder The function binding the slots.
+     * @return The bound slots.
+     * @param <S> The type of the slots.
+     */
+    @SuppressWarnings("unchecked")
+    public <S> @NotNull S getSlots(@NotNull Object owner, @NotNull NamingStrategy namingStrategy, @NotNull SlotBinder<S> binder) {
+        for (var binding : this.slotBindings) {
+            if(binding.owner == owner && binding.namingStrategy == namingStrategy) {
+                return (S) binding.slots;
+            }
+        }
+
+        synchronized (this) {
+            var bindings = this.slotBindings;
+
+            for (var binding : bindings) {
+                if(binding.owner == owner && binding.namingStrategy == namingStrategy) {
+                    return (S) binding.slots;
+                }
+            }
+
+            var slots = binder.bind(this.elements);
+            var next = Arrays.copyOf(bindings, bindings.length + 1);
+            next[bindings.length] = new SlotBinding(owner, namingStrategy, slots);
+            this.slotBindings = next;
+
+            return slots;
+        }
+    }
+
     public TypeInitializedObjectCodec getOrCreateTypeCodec(Class<?> cls) throws GelException {
         return getOrCreateTypeCodec(cls, t -> new TypeInitializedObjectCodec(t, this));
     }
@@ -0,0 +1,233 @@
+package com.geldata.driver.binary.codecs;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.geldata.driver.binary.PacketReader;
+import com.geldata.driver.binary.PacketWriter;
+import com.geldata.driver.binary.protocol.common.descriptors.CodecMetadata;
+import com.geldata.driver.exceptions.GelException;
+
+import javax.naming.OperationNotSupportedException;
+import java.lang.reflect.Array;
+import java.util.UUID;
+
+import static com.geldata.driver.util.BinaryProtocolUtils.LONG_SIZE;
+
+/**
+ * Represents a codec for arrays and sets of primitive scalars, which decodes into and encodes from primitive arrays,
+ * for example {@code long[]}, without boxing each element.
+ */
+public final class PrimitiveArrayCodec extends CodecBase<Object> {
+    private static final byte[] EMPTY_ARRAY = new byte[] {
+            0,0,0,0,
+            0,0,0,0,
+            0,0,0,0,
+            0,0,0,0,
+            0,0,0,1
+    };
+
+    private final @NotNull Codec<?> innerCodec;
+    private final @NotNull Class<?> primitiveType;
+    private final int elementSize;
+    private final boolean isSet;
+
+    @SuppressWarnings("unchecked")
+    private PrimitiveArrayCodec(
+            UUID id, @Nullable CodecMetadata metadata, @NotNull Codec<?> innerCodec, @NotNull Class<?> primitiveType,
+            boolean isSet
+    ) {
+        super(id, metadata, (Class<Object>) Array.newInstance(primitiveType, 0).getClass());
+        this.innerCodec = innerCodec;
+        this.primitiveType = primitiveType;
+        this.elementSize = sizeOf(primitiveType);
+        this.isSet = isSet;
+    }
+
+    /**
+     * Creates a primitive array codec if the target type is a primitive, or an array of one, and the inner codec
+     * decodes that primitive.
+     * @param id The id of the array or set codec.
+     * @param metadata The metadata of the array or set codec.
+     * @param cls The target type the codec is compiled for.
+     * @param innerCodec The codec of the elements.
+     * @param isSet Whether the codec decodes a set instead of an array; sets can't be encoded.
+     * @return A {@linkplain PrimitiveArrayCodec}; or {@code null} if the elements can't be decoded as primitives.
+     */
+    public static @Nullable PrimitiveArrayCodec tryCreate(
+            UUID id, @Nullable CodecMetadata metadata, @NotNull Class<?> cls, @NotNull Codec<?> innerCodec, boolean isSet
+    ) {
+        var elementType = cls.isArray() ? cls.getComponentType() : cls;
+
+        if(!elementType.isPrimitive() ||
+                !(innerCodec instanceof PrimitiveCodec) ||
+                ((PrimitiveCodec)innerCodec).getPrimitiveType() != elementType) {
+            return null;
+        }
+
+        return new PrimitiveArrayCodec(id, metadata, innerCodec, elementType, isSet);
+    }
+
+    @Override
+    public void serialize(@NotNull PacketWriter writer, @Nullable Object value, CodecContext context) throws OperationNotSupportedException, GelException {
+        if(isSet) {
+            throw new OperationNotSupportedException();
+        }
+
+        if(value == null) {
+            writer.writeArrayWithoutLength(EMPTY_ARRAY);
+            return;
+        }
+
+        if(!getConvertingClass().isInstance(value)) {
+            throw new GelException("Expected a " + getConvertingClass().getName() + " but got " + value.getClass().getName());
+        }
+
+        var length = Array.getLength(value);
+
+        writer.write(1); // num dimensions
+        writer.write(0); // reserved
+        writer.write(0); // reserved
+
+        // dimensions: length for upper, 1 for lower
+        writer.write(length);
+        writer.write(1);
+
+        if(primitiveType == long.class) {
+            for (var element : (long[])value) {
+                writer.write(elementSize);
+                writer.write(element);
+            }
+        } else if(primitiveType == int.class) {
+            for (var element : (int[])value) {
+                writer.write(elementSize);
+                writer.write(element);
+            }
+        } else if(primitiveType == double.class) {
+            for (var element : (double[])value) {
+                writer.write(elementSize);
+                writer.write(element);
+            }
+        } else if(primitiveType == float.class) {
+            for (var element : (float[])value) {
+                writer.write(elementSize);
+                writer.write(element);
+            }
+        } else if(primitiveType == short.class) {
+            for (var element : (short[])value) {
+                writer.write(elementSize);
+                writer.write(element);
+            }
+        } else if(primitiveType == boolean.class) {
+            for (var element : (boolean[])value) {
+                writer.write(elementSize);
+                writer.write(element);
+            }
+        }
+    }
+
+    @Override
+    public @NotNull Object deserialize(@NotNull PacketReader reader, CodecContext context) throws GelException {
+        var dimensions = reader.readInt32();
+
+        reader.skip(LONG_SIZE); // flags & reserved
+
+        if(dimensions == 0) {
+            return Array.newInstance(primitiveType, 0);
+        }
+
+        if(dimensions != 1) {
+            throw new GelException("Only dimensions of 1 are supported for primitive arrays");
+        }
+
+        var upper = reader.readInt32();
+        var lower = reader.readInt32();
+
+        var numElements = upper - lower + 1;
+
+        // every element has the same fixed size, so they're read back to back without bounding the reader.
+        if(primitiveType == long.class) {
+            var codec = (PrimitiveCodec.OfLong)innerCodec;
+            var result = new long[numElements];
+
+            for(int i = 0; i != numElements; i++) {
+                readElementLength(reader);
+                result[i] = codec.readLong(reader);
+            }
+
+            return result;
+        } else if(primitiveType == int.class) {
+            var codec = (PrimitiveCodec.OfInt)innerCodec;
+            var result = new int[numElements];
+
+            for(int i = 0; i != numElements; i++) {
+                readElementLength(reader);
+                result[i] = codec.readInt(reader);
+            }
+
+            return result;
+        } else if(primitiveType == double.class) {
+            var codec = (PrimitiveCodec.OfDouble)innerCodec;
+            var result = new double[numElements];
+
+            for(int i = 0; i != numElements; i++) {
+                readElementLength(reader);
+                result[i] = codec.readDouble(reader);
+            }
+
+            return result;
+        } else if(primitiveType == float.class) {
+            var codec = (PrimitiveCodec.OfFloat)innerCodec;
+            var result = new float[numElements];
+
+            for(int i = 0; i != numElements; i++) {
+                readElementLength(reader);
+                result[i] = codec.readFloat(reader);
+            }
+
+            return result;
+        } else if(primitiveType == short.class) {
+            var codec = (PrimitiveCodec.OfShort)innerCodec;
+            var result = new short[numElements];
+
+            for(int i = 0; i != numElements; i++) {
+                readElementLength(reader);
+                result[i] = codec.readShort(reader);
+            }
+
+            return result;
+        } else {
+            var codec = (PrimitiveCodec.OfBoolean)innerCodec;
+            var result = new boolean[numElements];
+
+            for(int i = 0; i != numElements; i++) {
+                readElementLength(reader);
+                result[i] = codec.readBoolean(reader);
+            }
+
+            return result;
+        }
+    }
+
+    private void readElementLength(@NotNull PacketReader reader) throws GelException {
+        var length = reader.readInt32();
+
+        if(length != elementSize) {
+            throw new GelException(String.format(
+                    "Expected an element of %d bytes for a %s array, but got %d", elementSize, primitiveType.getName(), length
+            ));
+        }
+    }
+
+    private static int sizeOf(@NotNull Class<?> primitiveType) {
+        if(primitiveType == long.class || primitiveType == double.class) {
+            return 8;
+        } else if(primitiveType == int.class || primitiveType == float.class) {
+            return 4;
+        } else if(primitiveType == short.class) {
+            return 2;
+        }
+
+        return 1;
+    }
+}
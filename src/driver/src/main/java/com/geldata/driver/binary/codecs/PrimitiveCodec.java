@@ -0,0 +1,71 @@
+package com.geldata.driver.binary.codecs;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.geldata.driver.binary.PacketReader;
+
+/**
+ * Represents a scalar codec whose values can be decoded as primitives, so they can be written into primitive fields
+ * without being boxed.
+ */
+public interface PrimitiveCodec {
+    /**
+     * Gets the primitive type this codec decodes to, for example {@code long.class}.
+     * @return The primitive type of the codec.
+     */
+    @NotNull Class<?> getPrimitiveType();
+
+    interface OfBoolean extends PrimitiveCodec {
+        boolean readBoolean(@NotNull PacketReader reader);
+
+        @Override
+        default @NotNull Class<?> getPrimitiveType() {
+            return boolean.class;
+        }
+    }
+
+    interface OfShort extends PrimitiveCodec {
+        short readShort(@NotNull PacketReader reader);
+
+        @Override
+        default @NotNull Class<?> getPrimitiveType() {
+            return short.class;
+        }
+    }
+
+    interface OfInt extends PrimitiveCodec {
+        int readInt(@NotNull PacketReader reader);
+
+        @Override
+        default @NotNull Class<?> getPrimitiveType() {
+            return int.class;
+        }
+    }
+
+    interface OfLong extends PrimitiveCodec {
+        long readLong(@NotNull PacketReader reader);
+
+        @Override
+        default @NotNull Class<?> getPrimitiveType() {
+            return long.class;
+        }
+    }
+
+    interface OfFloat extends PrimitiveCodec {
+        float readFloat(@NotNull PacketReader reader);
+
+        @Override
+        default @NotNull Class<?> getPrimitiveType() {
+            return float.class;
+        }
+    }
+
+    interface OfDouble extends PrimitiveCodec {
+        double readDouble(@NotNull PacketReader reader);
+
+        @Override
+        default @NotNull Class<?> getPrimitiveType() {
+            return double.class;
+        }
+    }
+}
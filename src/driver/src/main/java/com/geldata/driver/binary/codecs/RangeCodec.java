@@ -75,14 +75,22 @@ public final class RangeCodec<T> extends CodecBase<Range<T>> {
         T lowerBound = null, upperBound = null;
 
         if(!flags.contains(RangeFlags.INFINITE_LOWER_BOUNDS)) {
-            try(var elementReader = reader.scopedSlice()) {
-                lowerBound = innerCodec.deserialize(elementReader, context);
+            var token = reader.beginElement();
+
+            try {
+                lowerBound = token == PacketReader.NO_DATA ? null : innerCodec.deserialize(reader, context);
+            } finally {
+                reader.endElement(token);
             }
         }
 
         if(!flags.contains(RangeFlags.INFINITE_UPPER_BOUNDS)) {
-            try(var elementReader = reader.scopedSlice()) {
-                upperBound = innerCodec.deserialize(elementReader, context);
+            var token = reader.beginElement();
+
+            try {
+                upperBound = token == PacketReader.NO_DATA ? null : innerCodec.deserialize(reader, context);
+            } finally {
+                reader.endElement(token);
             }
         }
 
@@ -0,0 +1,24 @@
+package com.geldata.driver.binary.codecs;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents a codec that keeps the codec trees resolved from it against target types, so a tree is only visited the
+ * first time it's resolved.
+ */
+public interface ResolvableCodec {
+    /**
+     * Gets a codec tree previously resolved from this codec.
+     * @param key The key the tree was stored with.
+     * @return The resolved tree; or {@code null} if none was stored with the key.
+     */
+    @Nullable Codec<?> getResolvedCodec(@NotNull Object key);
+
+    /**
+     * Stores a codec tree resolved from this codec, so it's reused for as long as this codec is.
+     * @param key The key describing what the tree was resolved against.
+     * @param codec The resolved tree.
+     */
+    void putResolvedCodec(@NotNull Object key, @NotNull Codec<?> codec);
+}
@@ -28,6 +28,15 @@ public final class SetCodec<T> extends CodecBase<Collection<T>> {
         this.innerCodec = (Codec<T>) innerCodec;
     }
 
+    /**
+     * Creates a set codec for the given target type, decoding sets of primitive scalars into primitive arrays.
+     * @see PrimitiveArrayCodec
+     */
+    public static @NotNull Codec<?> create(UUID id, @Nullable CodecMetadata metadata, Class<?> cls, Codec<?> innerCodec) {
+        var primitive = PrimitiveArrayCodec.tryCreate(id, metadata, cls, innerCodec, true);
+        return primitive != null ? primitive : new SetCodec<>(id, metadata, cls, innerCodec);
+    }
+
     @Override
     public void serialize(PacketWriter writer, @Nullable Collection<T> value, CodecContext context) throws OperationNotSupportedException {
         throw new OperationNotSupportedException();
@@ -73,26 +82,34 @@ public final class SetCodec<T> extends CodecBase<Collection<T>> {
     }
 
     private @Nullable T deserializeEnvelopeElement(@NotNull PacketReader reader, CodecContext context) throws GelException, OperationNotSupportedException {
-        try(var elementReader = reader.scopedSlice()) {
-            var envelopeElements = elementReader.readInt32();
+        var token = reader.beginElement();
+
+        if(token == PacketReader.NO_DATA) {
+            throw new GelException("Envelope should contain only one element, but this envelope has no data");
+        }
+
+        try {
+            var envelopeElements = reader.readInt32();
 
             if(envelopeElements != 1) {
                 throw new GelException(String.format("Envelope should contain only one element, but this envelope contains %d", envelopeElements));
             }
 
-            elementReader.skip(INT_SIZE);
+            reader.skip(INT_SIZE);
 
-            return innerCodec.deserialize(elementReader, context);
+            return innerCodec.deserialize(reader, context);
+        } finally {
+            reader.endElement(token);
         }
     }
 
     private @Nullable T deserializeSetElement(@NotNull PacketReader reader, CodecContext context) throws GelException, OperationNotSupportedException {
-        try(var elementReader = reader.scopedSlice()) {
-            if(elementReader.isNoData) {
-                return null;
-            }
+        var token = reader.beginElement();
 
-            return innerCodec.deserialize(elementReader, context);
+        try {
+            return token == PacketReader.NO_DATA ? null : innerCodec.deserialize(reader, context);
+        } finally {
+            reader.endElement(token);
         }
     }
 
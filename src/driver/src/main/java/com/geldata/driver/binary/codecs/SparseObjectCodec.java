@@ -78,13 +78,12 @@ public final class SparseObjectCodec extends CodecBase<Map<String, ?>> {
             var index = reader.readInt32();
             var elementName = this.propertyNames[index];
 
-            try(var elementReader = reader.scopedSlice()) {
-                if(elementReader.isNoData) {
-                    map.put(elementName, null);
-                    continue;
-                }
+            var token = reader.beginElement();
 
-                map.put(elementName, innerCodecs[i].deserialize(elementReader, context));
+            try {
+                map.put(elementName, token == PacketReader.NO_DATA ? null : innerCodecs[i].deserialize(reader, context));
+            } finally {
+                reader.endElement(token);
             }
         }
 
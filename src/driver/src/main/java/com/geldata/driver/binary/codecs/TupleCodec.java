@@ -66,13 +66,15 @@ public final class TupleCodec extends CodecBase<Tuple> {
 
             reader.skip(INT_SIZE); // reserved
 
-            try(var elementReader = reader.scopedSlice()) {
-                if(elementReader.isNoData) {
-                    elements[i] = Tuple.Element.of(null, codec.getConvertingClass());
-                    continue;
-                }
-
-                elements[i] = Tuple.Element.of(codec.deserialize(elementReader, context), codec.getConvertingClass());
+            var token = reader.beginElement();
+
+            try {
+                elements[i] = Tuple.Element.of(
+                        token == PacketReader.NO_DATA ? null : codec.deserialize(reader, context),
+                        codec.getConvertingClass()
+                );
+            } finally {
+                reader.endElement(token);
             }
 
 
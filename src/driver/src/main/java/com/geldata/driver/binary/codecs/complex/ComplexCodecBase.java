@@ -15,7 +15,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 public abstract class ComplexCodecBase<T> extends CodecBase<T> implements ComplexCodec<T> {
-    private final @NotNull Map<Class<?>, Codec<?>> runtimeCodecs;
+    private volatile @Nullable Map<Class<?>, Codec<?>> runtimeCodecs;
     private final @NotNull Map<Class<?>, ComplexCodecConverter<T, ?>> converters;
     protected final @NotNull RuntimeCodecFactory runtimeFactory;
 
@@ -33,19 +33,34 @@ public abstract class ComplexCodecBase<T> extends CodecBase<T> implements Comple
                 ? (cls1, parent, converter) -> new RuntimeCodecImpl(cls1, parent, converter)
                 : runtimeFactory;
 
-        this.runtimeCodecs = new HashMap<>(converters.length);
         this.converters = Arrays.stream(converters).collect(Collectors.toMap(x -> x.targetType, x -> x));
     }
 
     @Override
     public void buildRuntimeCodecs() {
-        if(runtimeCodecs.size() == converters.size()) {
-            return;
+        getRuntimeCodecMap();
+    }
+
+    private @NotNull Map<Class<?>, Codec<?>> getRuntimeCodecMap() {
+        var codecs = this.runtimeCodecs;
+
+        if(codecs != null) {
+            return codecs;
         }
 
-        for(var converter : this.converters.entrySet()) {
-            var codec = runtimeFactory.create(converter.getKey(), this, converter.getValue());
-            runtimeCodecs.put(converter.getKey(), codec);
+        synchronized (this) {
+            if(this.runtimeCodecs == null) {
+                var built = new HashMap<Class<?>, Codec<?>>(converters.size());
+
+                for(var converter : this.converters.entrySet()) {
+                    built.put(converter.getKey(), runtimeFactory.create(converter.getKey(), this, converter.getValue()));
+                }
+
+                // published once fully built, readers never see a partially filled map.
+                this.runtimeCodecs = Collections.unmodifiableMap(built);
+            }
+
+            return this.runtimeCodecs;
         }
     }
 
@@ -55,8 +70,10 @@ public abstract class ComplexCodecBase<T> extends CodecBase<T> implements Comple
             return this;
         }
 
-        if(runtimeCodecs.containsKey(type)) {
-            return runtimeCodecs.get(type);
+        var codec = getRuntimeCodecMap().get(type);
+
+        if(codec != null) {
+            return codec;
         }
 
         throw new MissingResourceException(
@@ -68,12 +85,12 @@ public abstract class ComplexCodecBase<T> extends CodecBase<T> implements Comple
 
     @Override
     public boolean canConvert(@NotNull Type type) {
-        return super.canConvert(type) || (type instanceof Class<?> && runtimeCodecs.containsKey((Class<?>)type));
+        return super.canConvert(type) || (type instanceof Class<?> && getRuntimeCodecMap().containsKey((Class<?>)type));
     }
 
     @Override
     public @NotNull Collection<Codec<?>> getRuntimeCodecs() {
-        return runtimeCodecs.values();
+        return getRuntimeCodecMap().values();
     }
 
     private final class RuntimeCodecImpl<U> extends CodecBase<U> implements RuntimeCodec<U> {
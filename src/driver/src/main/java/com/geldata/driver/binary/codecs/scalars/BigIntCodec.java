@@ -2,27 +2,21 @@ package com.geldata.driver.binary.codecs.scalars;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.joou.UShort;
 
 import com.geldata.driver.binary.PacketReader;
 import com.geldata.driver.binary.PacketWriter;
 import com.geldata.driver.binary.codecs.CodecContext;
 import com.geldata.driver.binary.protocol.common.descriptors.CodecMetadata;
 import com.geldata.driver.util.BinaryProtocolUtils;
-import com.geldata.driver.util.StringsUtil;
 
 import javax.naming.OperationNotSupportedException;
 import java.math.BigInteger;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.UUID;
 
-import static org.joou.Unsigned.uint;
-import static org.joou.Unsigned.ushort;
-
 public final class BigIntCodec extends ScalarCodecBase<BigInteger> {
     public static final UUID ID = UUID.fromString("00000000-0000-0000-0000-000000000110");
-    private static final BigInteger BASE = new BigInteger("10000");
+
+    private static final int NEGATIVE = 0x4000;
 
     public BigIntCodec(@Nullable CodecMetadata metadata) {
         super(ID, metadata, BigInteger.class);
@@ -34,58 +28,53 @@ public final class BigIntCodec extends ScalarCodecBase<BigInteger> {
             return;
         }
 
-        if(value.compareTo(BigInteger.ZERO) == 0) {
-            writer.write(uint(0)); // nDigits & weight
-            writer.write(ushort(0x0000)); // pos
-            writer.write(ushort(0)); // reserved
+        if(value.signum() == 0) {
+            writer.write(0); // nDigits & weight
+            writer.write((short)0); // pos
+            writer.write((short)0); // reserved
             return;
         }
 
-        var isPos = value.signum() == 1;
-        var abs = value.abs();
-
-        List<UShort> digits = new ArrayList<>();
-
-        while(abs.compareTo(BigInteger.ZERO) != 0) {
-            var mod = abs.mod(BASE);
-            abs = abs.divide(BASE);
-            digits.add((ushort(mod.intValue())));
-        }
+        var digits = NumericDigits.split(value.abs());
+        var trailingZeros = NumericDigits.trailingZeros(digits);
 
-        writer.write(ushort(digits.size()));
-        writer.write((short) (digits.size() - 1));
-        writer.write(ushort(isPos ? 0x0000 : 0x4000));
-        writer.write(ushort(0));
+        writer.write((short)(digits.length - trailingZeros));
+        writer.write((short)(digits.length - 1)); // weight
+        writer.write((short)(value.signum() == -1 ? NEGATIVE : 0));
+        writer.write((short)0); // reserved
 
-        for(int i = digits.size() - 1; i >= 0; i--) {
-            writer.write(digits.get(i));
+        for(int i = digits.length - 1; i >= trailingZeros; i--) {
+            writer.write(digits[i]);
         }
     }
 
     @Override
     public @NotNull BigInteger deserialize(@NotNull PacketReader reader, CodecContext context) {
-        var nDigits = reader.readUInt16().intValue();
+        var nDigits = reader.readInt16() & 0xFFFF;
         var weight = reader.readInt16();
-        var isPos = reader.readUInt16().compareTo(ushort(0)) == 0;
+        var isNegative = (reader.readInt16() & 0xFFFF) != 0;
 
         // reserved
         reader.skip(BinaryProtocolUtils.SHORT_SIZE);
 
-        StringBuilder result = new StringBuilder(isPos ? "" : "-");
+        // only the groups left of the decimal point make up the integer.
+        var count = Math.min(nDigits, weight + 1);
+
+        if(count <= 0) {
+            return BigInteger.ZERO;
+        }
+
+        var value = count <= 4
+                ? BigInteger.valueOf(NumericDigits.readLong(reader, count))
+                : NumericDigits.readBig(reader, count);
 
-        int i = weight, d = 0;
+        // groups omitted at the end are zeros.
+        var omitted = weight + 1 - count;
 
-        while(i >= 0) {
-            if(i <= weight && d < nDigits) {
-                var digit = Integer.toString(reader.readUInt16().intValue());
-                result.append(d > 0 ? StringsUtil.padLeft(digit, '0', 4) : digit);
-                d++;
-            } else {
-                result.append("0000");
-            }
-            i--;
+        if(omitted > 0) {
+            value = value.multiply(NumericDigits.power(omitted));
         }
 
-        return new BigInteger(result.toString());
+        return isNegative ? value.negate() : value;
     }
 }
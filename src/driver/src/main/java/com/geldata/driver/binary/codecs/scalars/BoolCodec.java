@@ -6,12 +6,13 @@ import org.jetbrains.annotations.Nullable;
 import com.geldata.driver.binary.PacketReader;
 import com.geldata.driver.binary.PacketWriter;
 import com.geldata.driver.binary.codecs.CodecContext;
+import com.geldata.driver.binary.codecs.PrimitiveCodec;
 import com.geldata.driver.binary.protocol.common.descriptors.CodecMetadata;
 
 import javax.naming.OperationNotSupportedException;
 import java.util.UUID;
 
-public final class BoolCodec extends ScalarCodecBase<Boolean> {
+public final class BoolCodec extends ScalarCodecBase<Boolean> implements PrimitiveCodec.OfBoolean {
     public static final UUID ID = UUID.fromString("00000000-0000-0000-0000-000000000109");
     public BoolCodec(@Nullable CodecMetadata metadata) {
         super(ID, metadata, Boolean.class);
@@ -28,4 +29,9 @@ public final class BoolCodec extends ScalarCodecBase<Boolean> {
     public @NotNull Boolean deserialize(@NotNull PacketReader reader, CodecContext context) {
         return reader.readBoolean();
     }
+
+    @Override
+    public boolean readBoolean(@NotNull PacketReader reader) {
+        return reader.readBoolean();
+    }
 }
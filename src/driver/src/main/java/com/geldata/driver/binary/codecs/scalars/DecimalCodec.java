@@ -2,22 +2,24 @@ package com.geldata.driver.binary.codecs.scalars;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.joou.UShort;
 
 import com.geldata.driver.binary.PacketReader;
 import com.geldata.driver.binary.PacketWriter;
 import com.geldata.driver.binary.codecs.CodecContext;
 import com.geldata.driver.binary.protocol.common.descriptors.CodecMetadata;
-import com.geldata.driver.util.StringsUtil;
 
 import javax.naming.OperationNotSupportedException;
 import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
 import java.util.UUID;
 
-import static org.joou.Unsigned.ushort;
-
 public final class DecimalCodec extends ScalarCodecBase<BigDecimal> {
     public static final UUID ID = UUID.fromString("00000000-0000-0000-0000-000000000108");
+
+    private static final int NEGATIVE = 0x4000;
+    private static final long[] POWERS_OF_TEN = new long[] { 1, 10, 100, 1000 };
+
     public DecimalCodec(@Nullable CodecMetadata metadata) {
         super(ID, metadata, BigDecimal.class);
     }
@@ -32,75 +34,58 @@ public final class DecimalCodec extends ScalarCodecBase<BigDecimal> {
             return;
         }
 
-        var str = value.toPlainString();
-        var spl = str.split("\\.");
-        var integral = spl[0].charAt(0) == '-' ? spl[0].substring(1) : spl[0];
-        var frac = spl.length > 1 ? spl[1] : "";
+        var scale = value.scale();
+        var unscaled = value.unscaledValue().abs();
 
-        var sDigits =
-                StringsUtil.padLeft(integral, '0', (int)Math.ceil(integral.length() / 4d) * 4) +
-                StringsUtil.padRight(frac, '0', (int)Math.ceil(frac.length() / 4d) * 4);
+        // align the unscaled value to whole digit groups on both sides of the decimal point.
+        var fractionGroups = scale > 0 ? (scale + 3) / 4 : 0;
+        var padding = fractionGroups * 4 - scale;
 
-        UShort[] digits = new UShort[sDigits.length() / 4];
+        short[] digits;
 
-        for (int i = 0; i < sDigits.length(); i += 4) {
-            digits[i / 4] = ushort(Integer.parseInt(sDigits.substring(i, i+4)));
+        if(padding < POWERS_OF_TEN.length && unscaled.bitLength() < 50) {
+            digits = NumericDigits.split(unscaled.longValue() * POWERS_OF_TEN[padding]);
+        } else {
+            digits = NumericDigits.split(unscaled.multiply(BigInteger.TEN.pow(padding)));
         }
 
-        var nDigits = ushort(digits.length);
-        var weight = (short)(Math.ceil(integral.length() / 4d) - 1);
-        var sign = ushort(value.signum() == -1 ? 0x4000 : 0x0000);
-        var dScale = (short)frac.length();
+        var trailingZeros = NumericDigits.trailingZeros(digits);
+        var numDigits = digits.length - trailingZeros;
 
-        writer.write(nDigits);
-        writer.write(weight);
-        writer.write(sign);
-        writer.write(dScale);
+        writer.write((short)numDigits);
+        writer.write((short)(numDigits == 0 ? 0 : digits.length - fractionGroups - 1)); // weight
+        writer.write((short)(value.signum() == -1 ? NEGATIVE : 0));
+        writer.write((short)Math.max(scale, 0)); // display scale
 
-        for (var digit : digits) {
-            writer.write(digit);
+        for(int i = digits.length - 1; i >= trailingZeros; i--) {
+            writer.write(digits[i]);
         }
     }
 
     @Override
     public @NotNull BigDecimal deserialize(@NotNull PacketReader reader, CodecContext context) {
-        var numDigits = reader.readUInt16().intValue();
+        var numDigits = reader.readInt16() & 0xFFFF;
         var weight = reader.readInt16();
-        var isPos = reader.readUInt16().compareTo(ushort(0)) == 0;
-        var displayScale = reader.readUInt16().intValue();
-
-        StringBuilder value = new StringBuilder(isPos ? "" : "-");
+        var isNegative = (reader.readInt16() & 0xFFFF) != 0;
+        var displayScale = reader.readInt16() & 0xFFFF;
 
-        int d;
-
-        if(weight < 0) {
-            d = weight + 1;
-            value.append("0");
-        } else {
-            for(d = 0; d <= weight; d++) {
-                var digit = d < numDigits ? reader.readUInt16() : 0;
-                var sDigit = Integer.toString(digit.intValue());
-                if(d > 0) {
-                    sDigit = StringsUtil.padLeft(sDigit, '0', 4);
-                }
-                value.append(sDigit);
-            }
+        if(numDigits == 0) {
+            return BigDecimal.valueOf(0, displayScale);
         }
 
-        if(displayScale > 0) {
-            // seems like the code from `BigDecimal` doesn't use the locale decimal point, parsing to and from must
-            // be done with a literal '.'.
-            value.append('.');
+        // the last digit group is worth 10000^(weight - numDigits + 1).
+        var scale = (numDigits - 1 - weight) * 4;
+        BigDecimal value;
 
-            var end = value.length() + displayScale;
-            for(int i = 0; i < displayScale; d++, i += 4) {
-                var digit = d >= 0 && d < numDigits ? reader.readUInt16().intValue() : 0;
-                value.append(StringsUtil.padLeft(Integer.toString(digit), '0', 4));
-            }
-
-            value.delete(end, value.length());
+        if(numDigits <= 4) {
+            var unscaled = NumericDigits.readLong(reader, numDigits);
+            value = BigDecimal.valueOf(isNegative ? -unscaled : unscaled, scale);
+        } else {
+            var unscaled = NumericDigits.readBig(reader, numDigits);
+            value = new BigDecimal(isNegative ? unscaled.negate() : unscaled, scale);
         }
 
-        return new BigDecimal(value.toString());
+        // digits past the display scale are padding, the display scale is the scale of the value.
+        return value.scale() == displayScale ? value : value.setScale(displayScale, RoundingMode.DOWN);
     }
 }
@@ -6,12 +6,13 @@ import org.jetbrains.annotations.Nullable;
 import com.geldata.driver.binary.PacketReader;
 import com.geldata.driver.binary.PacketWriter;
 import com.geldata.driver.binary.codecs.CodecContext;
+import com.geldata.driver.binary.codecs.PrimitiveCodec;
 import com.geldata.driver.binary.protocol.common.descriptors.CodecMetadata;
 
 import javax.naming.OperationNotSupportedException;
 import java.util.UUID;
 
-public final class Float32Codec extends ScalarCodecBase<Float> {
+public final class Float32Codec extends ScalarCodecBase<Float> implements PrimitiveCodec.OfFloat {
     public static final UUID ID = UUID.fromString("00000000-0000-0000-0000-000000000106");
     public Float32Codec(@Nullable CodecMetadata metadata) {
         super(ID, metadata, Float.class);
@@ -28,4 +29,9 @@ public final class Float32Codec extends ScalarCodecBase<Float> {
     public @NotNull Float deserialize(@NotNull PacketReader reader, CodecContext context) {
         return reader.readFloat();
     }
+
+    @Override
+    public float readFloat(@NotNull PacketReader reader) {
+        return reader.readFloat();
+    }
 }
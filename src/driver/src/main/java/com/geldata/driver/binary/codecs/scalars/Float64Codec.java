@@ -6,12 +6,13 @@ import org.jetbrains.annotations.Nullable;
 import com.geldata.driver.binary.PacketReader;
 import com.geldata.driver.binary.PacketWriter;
 import com.geldata.driver.binary.codecs.CodecContext;
+import com.geldata.driver.binary.codecs.PrimitiveCodec;
 import com.geldata.driver.binary.protocol.common.descriptors.CodecMetadata;
 
 import javax.naming.OperationNotSupportedException;
 import java.util.UUID;
 
-public final class Float64Codec extends ScalarCodecBase<Double> {
+public final class Float64Codec extends ScalarCodecBase<Double> implements PrimitiveCodec.OfDouble {
     public static final UUID ID = UUID.fromString("00000000-0000-0000-0000-000000000107");
     public Float64Codec(@Nullable CodecMetadata metadata) {
         super(ID, metadata, Double.class);
@@ -28,4 +29,9 @@ public final class Float64Codec extends ScalarCodecBase<Double> {
     public @NotNull Double deserialize(@NotNull PacketReader reader, CodecContext context) {
         return reader.readDouble();
     }
+
+    @Override
+    public double readDouble(@NotNull PacketReader reader) {
+        return reader.readDouble();
+    }
 }
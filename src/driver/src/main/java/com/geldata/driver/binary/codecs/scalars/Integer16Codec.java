@@ -6,12 +6,13 @@ import org.jetbrains.annotations.Nullable;
 import com.geldata.driver.binary.PacketReader;
 import com.geldata.driver.binary.PacketWriter;
 import com.geldata.driver.binary.codecs.CodecContext;
+import com.geldata.driver.binary.codecs.PrimitiveCodec;
 import com.geldata.driver.binary.protocol.common.descriptors.CodecMetadata;
 
 import javax.naming.OperationNotSupportedException;
 import java.util.UUID;
 
-public final class Integer16Codec extends ScalarCodecBase<Short> {
+public final class Integer16Codec extends ScalarCodecBase<Short> implements PrimitiveCodec.OfShort {
     public static final UUID ID = UUID.fromString("00000000-0000-0000-0000-000000000103");
     public Integer16Codec(@Nullable CodecMetadata metadata) {
         super(ID, metadata, Short.class);
@@ -28,4 +29,9 @@ public final class Integer16Codec extends ScalarCodecBase<Short> {
     public @NotNull Short deserialize(@NotNull PacketReader reader, CodecContext context) {
         return reader.readInt16();
     }
+
+    @Override
+    public short readShort(@NotNull PacketReader reader) {
+        return reader.readInt16();
+    }
 }
@@ -6,12 +6,13 @@ import org.jetbrains.annotations.Nullable;
 import com.geldata.driver.binary.PacketReader;
 import com.geldata.driver.binary.PacketWriter;
 import com.geldata.driver.binary.codecs.CodecContext;
+import com.geldata.driver.binary.codecs.PrimitiveCodec;
 import com.geldata.driver.binary.protocol.common.descriptors.CodecMetadata;
 
 import javax.naming.OperationNotSupportedException;
 import java.util.UUID;
 
-public final class Integer32Codec extends ScalarCodecBase<Integer> {
+public final class Integer32Codec extends ScalarCodecBase<Integer> implements PrimitiveCodec.OfInt {
     public static final UUID ID = UUID.fromString("00000000-0000-0000-0000-000000000104");
 
     public Integer32Codec(@Nullable CodecMetadata metadata) {
@@ -29,4 +30,9 @@ public final class Integer32Codec extends ScalarCodecBase<Integer> {
     public @NotNull Integer deserialize(@NotNull PacketReader reader, CodecContext context) {
         return reader.readInt32();
     }
+
+    @Override
+    public int readInt(@NotNull PacketReader reader) {
+        return reader.readInt32();
+    }
 }
@@ -6,12 +6,13 @@ import org.jetbrains.annotations.Nullable;
 import com.geldata.driver.binary.PacketReader;
 import com.geldata.driver.binary.PacketWriter;
 import com.geldata.driver.binary.codecs.CodecContext;
+import com.geldata.driver.binary.codecs.PrimitiveCodec;
 import com.geldata.driver.binary.protocol.common.descriptors.CodecMetadata;
 
 import javax.naming.OperationNotSupportedException;
 import java.util.UUID;
 
-public final class Integer64Codec extends ScalarCodecBase<Long> {
+public final class Integer64Codec extends ScalarCodecBase<Long> implements PrimitiveCodec.OfLong {
     public static final UUID ID = UUID.fromString("00000000-0000-0000-0000-000000000105");
     public Integer64Codec(@Nullable CodecMetadata metadata) {
         super(ID, metadata, Long.class);
@@ -28,4 +29,9 @@ public final class Integer64Codec extends ScalarCodecBase<Long> {
     public @NotNull Long deserialize(@NotNull PacketReader reader, CodecContext context) {
         return reader.readInt64();
     }
+
+    @Override
+    public long readLong(@NotNull PacketReader reader) {
+        return reader.readInt64();
+    }
 }
@@ -0,0 +1,124 @@
+package com.geldata.driver.binary.codecs.scalars;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.geldata.driver.binary.PacketReader;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Converts between integers and the base-10000 digit groups used by the binary format of {@code decimal} and
+ * {@code bigint}, arithmetically and without intermediate strings. Four digit groups fit in a {@code long}, so
+ * {@linkplain BigInteger} arithmetic is only done once per four groups.
+ */
+final class NumericDigits {
+    static final int BASE = 10000;
+
+    // the largest power of the base that fits a long with room to multiply in another group.
+    private static final int GROUPS_PER_LONG = 4;
+    private static final long LONG_CHUNK = (long)BASE * BASE * BASE * BASE;
+    private static final BigInteger BIG_CHUNK = BigInteger.valueOf(LONG_CHUNK);
+    private static final BigInteger[] POWERS = new BigInteger[] {
+            BigInteger.ONE,
+            BigInteger.valueOf(BASE),
+            BigInteger.valueOf((long)BASE * BASE),
+            BigInteger.valueOf((long)BASE * BASE * BASE),
+            BIG_CHUNK
+    };
+
+    private NumericDigits() {}
+
+    /**
+     * Reads up to four digit groups, most significant first, into a {@code long}.
+     */
+    static long readLong(@NotNull PacketReader reader, int count) {
+        long value = 0;
+
+        for(int i = 0; i != count; i++) {
+            value = value * BASE + (reader.readInt16() & 0xFFFF);
+        }
+
+        return value;
+    }
+
+    /**
+     * Reads any number of digit groups, most significant first, into a {@linkplain BigInteger}.
+     */
+    static @NotNull BigInteger readBig(@NotNull PacketReader reader, int count) {
+        var value = BigInteger.ZERO;
+        var remaining = count;
+
+        while(remaining > 0) {
+            var groups = Math.min(remaining, GROUPS_PER_LONG);
+            value = value.multiply(POWERS[groups]).add(BigInteger.valueOf(readLong(reader, groups)));
+            remaining -= groups;
+        }
+
+        return value;
+    }
+
+    /**
+     * Gets {@code BASE^exponent} as a {@linkplain BigInteger}.
+     */
+    static @NotNull BigInteger power(int exponent) {
+        return exponent < POWERS.length ? POWERS[exponent] : BigInteger.TEN.pow(exponent * 4);
+    }
+
+    /**
+     * Splits a non-negative {@code long} into digit groups.
+     * @return The digit groups, least significant first.
+     */
+    static short @NotNull [] split(long value) {
+        var digits = new short[GROUPS_PER_LONG + 1];
+        var n = split(value, digits, 0, false);
+        return n == digits.length ? digits : Arrays.copyOf(digits, n);
+    }
+
+    /**
+     * Splits a non-negative integer into digit groups.
+     * @return The digit groups, least significant first.
+     */
+    static short @NotNull [] split(@NotNull BigInteger value) {
+        if(value.bitLength() < 63) {
+            return split(value.longValue());
+        }
+
+        // each group holds log2(10000) ~ 13.29 bits.
+        var digits = new short[value.bitLength() / 13 + GROUPS_PER_LONG + 1];
+        var n = 0;
+
+        while(value.signum() != 0) {
+            var division = value.divideAndRemainder(BIG_CHUNK);
+            value = division[0];
+            n = split(division[1].longValue(), digits, n, value.signum() != 0);
+        }
+
+        return n == digits.length ? digits : Arrays.copyOf(digits, n);
+    }
+
+    /**
+     * Counts the zero digit groups at the least significant end, which don't need to be sent.
+     */
+    static int trailingZeros(short @NotNull [] digits) {
+        var count = 0;
+
+        while(count < digits.length && digits[count] == 0) {
+            count++;
+        }
+
+        return count;
+    }
+
+    private static int split(long value, short @NotNull [] digits, int position, boolean padded) {
+        var end = padded ? position + GROUPS_PER_LONG : Integer.MAX_VALUE;
+
+        // chunks other than the most significant one keep their inner zero groups.
+        while(value != 0 || position < end && padded) {
+            digits[position++] = (short)(value % BASE);
+            value /= BASE;
+        }
+
+        return position;
+    }
+}
@@ -32,6 +32,6 @@ public class TextCodec extends ScalarCodecBase<String> {
 
     @Override
     public @NotNull String deserialize(@NotNull PacketReader reader, CodecContext context) {
-        return new String(reader.consumeByteArray(), StandardCharsets.UTF_8);
+        return reader.consumeString(context.getStringCache());
     }
 }
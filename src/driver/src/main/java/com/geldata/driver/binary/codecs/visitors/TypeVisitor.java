@@ -57,6 +57,10 @@ public final class TypeVisitor implements CodecVisitor {
     }
 
     private static @NotNull Codec<?> visitTupleCodec(@NotNull TypeVisitor visitor, @NotNull TupleCodec codec) throws GelException {
+        // codecs are shared by every client, the resolved tree is built as a copy instead of in place.
+        var innerCodecs = new Codec<?>[codec.innerCodecs.length];
+        var changed = false;
+
         for(int i = 0; i != codec.innerCodecs.length; i++) {
             var innerCodec = codec.innerCodecs[i];
             try(var ignored = visitor.enterNewContext(c -> {
@@ -72,11 +76,12 @@ public final class TypeVisitor implements CodecVisitor {
 
                 c.type = type;
             })) {
-                codec.innerCodecs[i] = visitor.visit(innerCodec);
+                innerCodecs[i] = visitor.visit(innerCodec);
+                changed |= innerCodecs[i] != innerCodec;
             }
         }
 
-        return codec;
+        return changed ? new TupleCodec(codec.id, codec.metadata, innerCodecs) : codec;
     }
 
     public static @NotNull Codec<?> visitObjectCodec(@NotNull TypeVisitor visitor, ObjectCodec codec) throws GelException {
@@ -97,6 +102,7 @@ public final class TypeVisitor implements CodecVisitor {
         }
 
         var map = typeCodec.getDeserializer().getFieldMap(visitor.client.getConfig().getNamingStrategy());
+        var elements = new ObjectCodec.ObjectProperty[typeCodec.elements.length];
 
         for(int i = 0; i != typeCodec.elements.length; i++) {
             var element = typeCodec.elements[i];
@@ -119,11 +125,11 @@ public final class TypeVisitor implements CodecVisitor {
                 v.type = type;
                 v.isRealType = isReal;
             })) {
-                element.codec = visitor.visit(element.codec);
+                elements[i] = ObjectCodec.propertyOf(element.name, element.cardinality, visitor.visit(element.codec));
             }
         }
 
-        return typeCodec;
+        return typeCodec.withElements(elements);
     }
 
     public static Codec<?> visitCompilableCodec(@NotNull TypeVisitor visitor, @NotNull CompilableCodec codec) throws GelException {
@@ -149,7 +155,11 @@ public final class TypeVisitor implements CodecVisitor {
             innerCodec = visitor.visit(codec.getInnerCodec());
         }
 
-        return visitor.visit(codec.compile(visitor.getContext().type, innerCodec));
+        return visitor.visit(codec.compile(
+                visitor.getContext().type,
+                innerCodec,
+                visitor.client.getConfig().getNamingStrategy()
+        ));
     }
 
     public static Codec<?> visitComplexCodec(@NotNull TypeVisitor visitor, @NotNull ComplexCodec<?> codec) {
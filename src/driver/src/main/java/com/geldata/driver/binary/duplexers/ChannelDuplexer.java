@@ -10,9 +10,11 @@ import org.slf4j.LoggerFactory;
 
 import com.geldata.driver.ErrorCode;
 import com.geldata.driver.async.ChannelCompletableFuture;
+import com.geldata.driver.binary.protocol.ClientMessageType;
 import com.geldata.driver.binary.protocol.ProtocolProvider;
 import com.geldata.driver.binary.protocol.Receivable;
 import com.geldata.driver.binary.protocol.Sendable;
+import com.geldata.driver.binary.protocol.ServerMessageType;
 import com.geldata.driver.binary.protocol.common.ProtocolError;
 import com.geldata.driver.clients.GelBinaryClient;
 import com.geldata.driver.exceptions.ConnectionFailedException;
@@ -25,7 +27,9 @@ import static com.geldata.driver.util.ComposableUtil.composeWith;
 import static com.geldata.driver.util.ComposableUtil.exceptionallyCompose;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -42,6 +46,17 @@ public class ChannelDuplexer extends Duplexer {
     private final @NotNull Queue<CompletableFuture<Receivable>> readPromises;
 
     private final ReentrantLock messageEnqueueLock = new ReentrantLock();
+    private boolean readPaused;
+
+    // pipelined duplex steps write their packets and read their responses in the order they were started: each step
+    // writes once the previous step's write finished, and reads once the previous step is done reading.
+    private final ReentrantLock writeOrderLock = new ReentrantLock();
+    private @NotNull CompletableFuture<Void> writeTurn = CompletableFuture.completedFuture(null);
+    private @NotNull CompletableFuture<Void> readTurn = CompletableFuture.completedFuture(null);
+
+    // incremented on each reset; the turns belong to a single connection, so steps started on a previous connection
+    // never write to or read from the current one.
+    private volatile int generation;
 
     private final GelBinaryClient client;
 
@@ -127,6 +142,13 @@ public class ChannelDuplexer extends Duplexer {
                 if(readPromises.isEmpty()) {
                     logger.debug("Enqueuing message into message queue");
                     messageQueue.add(protocolMessage);
+
+                    if(!readPaused && messageQueue.size() >= client.getConfig().getReadHighWaterMark()) {
+                        // the consumer is falling behind, leave the rest in the socket buffer until it catches up.
+                        logger.debug("Message queue reached the high-water mark, pausing reads");
+                        readPaused = true;
+                        ctx.channel().config().setAutoRead(false);
+                    }
                 }
                 else {
                     logger.debug("Completing {} message promise(s)", readPromises.size());
@@ -214,6 +236,11 @@ public class ChannelDuplexer extends Duplexer {
             } else {
                 var message = this.messageQueue.poll();
                 logger.debug("Returning polled message {}", message.getMessageType());
+
+                if(readPaused && this.messageQueue.size() <= client.getConfig().getReadLowWaterMark()) {
+                    resumeReading();
+                }
+
                 return CompletableFuture.completedFuture(message);
             }
         }
@@ -303,20 +330,119 @@ public class ChannelDuplexer extends Duplexer {
         var firstHashcode = packet.hashCode();
         final var duplexId = 31 * firstHashcode + Arrays.hashCode(packets);
         logger.debug("Starting duplex step, ID: {}", duplexId);
-        final var duplexPromise = new CompletableFuture<Void>();
+        final var step = new DuplexStep(func, duplexId, isSynced(packet, packets));
+
+        step.promise.whenComplete((v,e) -> logger.debug("Duplex step complete, ID: {}, isCancelled?: {}, isExceptional?: {}", duplexId, step.promise.isCancelled(), e != null));
+
+        final var turn = new CompletableFuture<Void>();
+        final CompletableFuture<Void> previousTurn;
+        final CompletableFuture<Void> sent;
+
+        // claiming the turns happens together, and the write is chained on the previous step's write: a write can
+        // wait on the connection, so issuing it directly could put the packets on the wire out of turn order.
+        writeOrderLock.lock();
+        try {
+            step.generation = this.generation;
+
+            previousTurn = this.readTurn;
+            this.readTurn = turn;
+
+            sent = this.writeTurn.thenCompose(v -> write(step, packet, packets));
+            this.writeTurn = sent.handle((v, e) -> null);
+        } finally {
+            writeOrderLock.unlock();
+        }
+
+        return sent
+                .thenCompose((v) -> previousTurn)
+                .thenCompose((v) -> processDuplexStep(step))
+                .handle((v, e) -> e)
+                .thenCompose(e -> drainToReady(step).thenApply(v -> e))
+                // a failed send never waited for its turn, it must not hand the turn over before the previous step
+                .thenCompose(e -> previousTurn.thenApply(v -> e))
+                .thenCompose(e -> {
+                    turn.complete(null);
+                    return e == null ? step.promise : CompletableFuture.failedFuture(e);
+                });
+    }
+
+    private CompletionStage<Void> write(@NotNull DuplexStep step, @NotNull Sendable packet, @Nullable Sendable... packets) {
+        // unlike send, a duplex step never reconnects: its turns belong to the connection it was started on. the
+        // caller reconnects and retries the query instead.
+        if(step.generation != this.generation) {
+            return CompletableFuture.failedFuture(connectionReset());
+        }
+
+        return this.channelHandler.whenReady().thenCompose(v -> {
+            if(step.generation != this.generation || !isConnected) {
+                return CompletableFuture.failedFuture(connectionReset());
+            }
 
-        duplexPromise.whenComplete((v,e) -> logger.debug("Duplex step complete, ID: {}, isCancelled?: {}, isExceptional?: {}", duplexId, duplexPromise.isCancelled(), e != null));
+            return send1(packet, packets);
+        });
+    }
 
-        return this.send(packet, packets)
-                .thenCompose((v) -> processDuplexStep(func, duplexPromise, duplexId))
-                .thenCompose((v) -> duplexPromise);
+    private static @NotNull GelException connectionReset() {
+        return new GelException("The connection was reset before the response was read", false, true);
     }
 
-    private CompletionStage<Void> processDuplexStep(@NotNull DuplexCallback func, @NotNull CompletableFuture<Void> promise, int id) {
+    private static boolean isSynced(@NotNull Sendable packet, @Nullable Sendable... packets) {
+        var last = packets == null || packets.length == 0 ? packet : packets[packets.length - 1];
+        return last != null && last.type == ClientMessageType.SYNC;
+    }
+
+    private CompletionStage<Void> drainToReady(@NotNull DuplexStep step) {
+        // a step that finished early, usually because of an error, leaves the rest of its response in the queue; it's
+        // skipped up until the ready message of its sync so the next step starts reading its own response.
+        var last = step.lastMessage;
+
+        if(!step.synced || last == null || last == ServerMessageType.READY_FOR_COMMAND || !isConnected
+                || step.generation != this.generation) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return readNext()
+                .thenCompose(packet -> {
+                    logger.debug("Draining message {} of duplex step {}", packet.getMessageType(), step.id);
+                    step.lastMessage = packet.getMessageType();
+                    return drainToReady(step);
+                })
+                .exceptionally(e -> {
+                    logger.debug("Failed to drain duplex step {}", step.id, e);
+                    return null;
+                });
+    }
+
+    private static final class DuplexStep {
+        public final @NotNull DuplexCallback func;
+        public final @NotNull CompletableFuture<Void> promise;
+        public final int id;
+        public final boolean synced;
+        public volatile @Nullable ServerMessageType lastMessage;
+        public volatile int generation;
+
+        public DuplexStep(@NotNull DuplexCallback func, int id, boolean synced) {
+            this.func = func;
+            this.promise = new CompletableFuture<>();
+            this.id = id;
+            this.synced = synced;
+        }
+    }
+
+    private CompletionStage<Void> processDuplexStep(@NotNull DuplexStep step) {
+        final var func = step.func;
+        final var promise = step.promise;
+        final var id = step.id;
+
         logger.debug("Handling duplex step, ID: {}", id);
 
+        if(step.generation != this.generation) {
+            return CompletableFuture.failedFuture(connectionReset());
+        }
+
         return composeWith(readNext(), (packet) -> {
             logger.debug("Invoking duplex consumer, ID: {}, Message: {}", id, packet.getMessageType());
+            step.lastMessage = packet.getMessageType();
             try {
                 return func.process(new DuplexResult(packet, promise));
             } catch (GelException | OperationNotSupportedException e) {
@@ -339,10 +465,19 @@ public class ChannelDuplexer extends Duplexer {
             }
 
             logger.debug("Continuing duplex step for ID: {}", id);
-            return processDuplexStep(func, promise, id);
+            return processDuplexStep(step);
         });
     }
 
+    private void resumeReading() {
+        logger.debug("Resuming reads");
+        readPaused = false;
+
+        if(this.channel != null) {
+            this.channel.config().setAutoRead(true);
+        }
+    }
+
     public void init(Channel channel) {
         this.channel = channel;
     }
@@ -352,6 +487,38 @@ public class ChannelDuplexer extends Duplexer {
         if(this.channel != null) {
             this.channelHandler.reset();
         }
+
+        // the new connection starts new turns, steps of the old one fail instead of writing or reading.
+        writeOrderLock.lock();
+        try {
+            this.generation++;
+            this.writeTurn = CompletableFuture.completedFuture(null);
+            this.readTurn = CompletableFuture.completedFuture(null);
+        } finally {
+            writeOrderLock.unlock();
+        }
+
+        List<CompletableFuture<Receivable>> pending;
+
+        messageEnqueueLock.lock();
+        try {
+            // anything left belongs to the previous connection.
+            this.messageQueue.clear();
+
+            if(readPaused) {
+                resumeReading();
+            }
+
+            pending = new ArrayList<>(readPromises);
+            readPromises.clear();
+        } finally {
+            messageEnqueueLock.unlock();
+        }
+
+        var exc = connectionReset();
+        for (var promise : pending) {
+            promise.completeExceptionally(exc);
+        }
     }
 
     @Override
@@ -359,6 +526,11 @@ public class ChannelDuplexer extends Duplexer {
         return isConnected;
     }
 
+    @Override
+    public int getGeneration() {
+        return this.generation;
+    }
+
     @Override
     public CompletionStage<Void> disconnect() {
         if(this.channel == null) {
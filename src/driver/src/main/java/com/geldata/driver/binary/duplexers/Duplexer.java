@@ -19,6 +19,15 @@ public abstract class Duplexer {
     public abstract void reset();
     public abstract boolean isConnected();
 
+    /**
+     * Gets the generation of the underlying connection, which changes each time the duplexer is reset for a new
+     * connection.
+     * @return The generation of the current connection.
+     */
+    public int getGeneration() {
+        return 0;
+    }
+
     public abstract CompletionStage<Void> disconnect();
     public abstract CompletionStage<Receivable> readNext();
     public abstract CompletionStage<Void> send(Sendable packet, @Nullable Sendable... packets);
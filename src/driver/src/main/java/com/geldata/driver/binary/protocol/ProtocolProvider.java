@@ -1,5 +1,6 @@
 package com.geldata.driver.binary.protocol;
 
+import io.netty.buffer.ByteBuf;
 import org.jetbrains.annotations.Nullable;
 
 import com.geldata.driver.GelConnection;
@@ -12,6 +13,7 @@ import com.geldata.driver.exceptions.MissingCodecException;
 import com.geldata.driver.exceptions.UnexpectedMessageException;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
@@ -52,7 +54,14 @@ public interface ProtocolProvider {
 
 
     CompletionStage<ParseResult> parseQuery(QueryParameters queryParameters);
+    CompletionStage<ParseResult> parseQuery(QueryParameters queryParameters, @Nullable ByteBuf stateBuffer);
     CompletionStage<ExecuteResult> executeQuery(QueryParameters queryParameters, ParseResult parseResult);
+    CompletionStage<List<ExecuteResult>> executeBatch(List<QueryParameters> queryParameters, List<ParseResult> parseResults);
+    CompletionStage<Void> executeQueryStream(
+            QueryParameters queryParameters,
+            ParseResult parseResult,
+            Function<ByteBuf, CompletionStage<Void>> onData
+    );
 
     CompletionStage<Void> sendSyncMessage();
     CompletionStage<Void> processMessage(Receivable packet);
@@ -1,5 +1,6 @@
 package com.geldata.driver.binary.protocol;
 
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import com.geldata.driver.Capabilities;
@@ -7,6 +8,7 @@ import com.geldata.driver.binary.builders.CodecBuilder;
 import com.geldata.driver.binary.protocol.common.Cardinality;
 import com.geldata.driver.binary.protocol.common.IOFormat;
 
+import java.nio.charset.StandardCharsets;
 import java.util.EnumSet;
 import java.util.Map;
 
@@ -17,6 +19,10 @@ public final class QueryParameters {
     public final Cardinality cardinality;
     public final IOFormat format;
     public final boolean implicitTypeNames;
+    private final long cacheKey;
+
+    // encoded on first use, and shared by the parse and every execute attempt of the query.
+    private volatile byte @Nullable [] queryBytes;
 
     public QueryParameters(
             String query,
@@ -25,6 +31,34 @@ public final class QueryParameters {
             Cardinality cardinality,
             IOFormat format,
             boolean implicitTypeNames
+    ) {
+        this(
+                query, arguments, capabilities, cardinality, format, implicitTypeNames,
+                CodecBuilder.getCacheKey(query, cardinality, format)
+        );
+    }
+
+    public QueryParameters(
+            String query,
+            @Nullable Map<String, @Nullable Object> arguments,
+            EnumSet<Capabilities> capabilities,
+            Cardinality cardinality,
+            IOFormat format,
+            boolean implicitTypeNames,
+            long cacheKey
+    ) {
+        this(query, arguments, capabilities, cardinality, format, implicitTypeNames, cacheKey, null);
+    }
+
+    public QueryParameters(
+            String query,
+            @Nullable Map<String, @Nullable Object> arguments,
+            EnumSet<Capabilities> capabilities,
+            Cardinality cardinality,
+            IOFormat format,
+            boolean implicitTypeNames,
+            long cacheKey,
+            byte @Nullable [] queryBytes
     ) {
         this.query = query;
         this.arguments = arguments;
@@ -32,9 +66,25 @@ public final class QueryParameters {
         this.cardinality = cardinality;
         this.format = format;
         this.implicitTypeNames = implicitTypeNames;
+        this.cacheKey = cacheKey;
+        this.queryBytes = queryBytes;
     }
 
     public long getCacheKey() {
-        return CodecBuilder.getCacheKey(query, cardinality, format);
+        return cacheKey;
+    }
+
+    /**
+     * Gets the UTF-8 encoding of the query text. The returned array is shared and must not be modified.
+     * @return The encoded query.
+     */
+    public byte @NotNull [] getQueryBytes() {
+        var bytes = queryBytes;
+
+        if(bytes == null) {
+            queryBytes = bytes = query.getBytes(StandardCharsets.UTF_8);
+        }
+
+        return bytes;
     }
 }
@@ -34,4 +34,13 @@ public abstract class Sendable implements SerializableData {
 
     protected abstract int getDataSize();
 
+    /**
+     * Gets the number of bytes of this message that are written by reference instead of being copied into the
+     * writer, see {@linkplain PacketWriter#writeArrayReference(io.netty.buffer.ByteBuf)}.
+     * @return The number of referenced bytes.
+     */
+    public int getReferencedSize() {
+        return 0;
+    }
+
 }
@@ -150,7 +150,7 @@ public class V1ProtocolProvider implements ProtocolProvider {
                                 id,
                                 metadata,
                                 getRelativeCodec.apply(arrayType.typePosition.intValue()),
-                                ArrayCodec::new,
+                                ArrayCodec::create,
                                 t -> Array.newInstance(t,0).getClass()
                         )
                 );
@@ -256,7 +256,7 @@ public class V1ProtocolProvider implements ProtocolProvider {
                                 id,
                                 metadata,
                                 getRelativeCodec.apply(setTypes.typePosition.intValue()),
-                                SetCodec::new,
+                                SetCodec::create,
                                 t -> Array.newInstance(t, 0).getClass()
                         )
                 );
@@ -273,6 +273,7 @@ public class V1ProtocolProvider implements ProtocolProvider {
         public Cardinality cardinality;
 
         public boolean stateUpdated;
+        public boolean stateMismatch;
 
         public CodecBuilder.QueryCodecs codecs;
 
@@ -302,6 +303,11 @@ public class V1ProtocolProvider implements ProtocolProvider {
             return CompletableFuture.failedFuture(e);
         }
 
+        return parseQuery(queryParameters, stateBuffer);
+    }
+
+    @Override
+    public CompletionStage<ParseResult> parseQuery(QueryParameters queryParameters, @Nullable ByteBuf stateBuffer) {
         if(queryParameters.format == IOFormat.NONE && (queryParameters.arguments == null || queryParameters.arguments.isEmpty())) {
             return CompletableFuture.completedFuture(new ParseResult(
                     CodecBuilder.NULL_CODEC,
@@ -367,7 +373,7 @@ public class V1ProtocolProvider implements ProtocolProvider {
                 getCompilationFlags(args),
                 args.format,
                 parseCardinality,
-                args.query,
+                args.getQueryBytes(),
                 client.getConfig().getImplicitLimit(),
                 client.getStateDescriptorId(),
                 stateBuffer
@@ -404,34 +410,7 @@ public class V1ProtocolProvider implements ProtocolProvider {
                         state.cardinality = commandDescriptor.cardinality;
                     }
 
-                    state.codecs = new CodecBuilder.QueryCodecs(
-                            commandDescriptor.inputTypeDescriptorId,
-                            CodecBuilder.buildCodec(
-                                    client,
-                                    commandDescriptor.inputTypeDescriptorId,
-                                    commandDescriptor.inputTypeDescriptorBuffer
-                            ),
-                            commandDescriptor.outputTypeDescriptorId,
-                            CodecBuilder.buildCodec(
-                                    client,
-                                    commandDescriptor.outputTypeDescriptorId,
-                                    commandDescriptor.outputTypeDescriptorBuffer
-                            )
-                    );
-
-                    logger.debug(
-                            "updating codec query cache key {} with I:{} O:{}",
-                            args.getCacheKey(),
-                            commandDescriptor.inputTypeDescriptorId,
-                            commandDescriptor.outputTypeDescriptorId
-                    );
-
-                    CodecBuilder.updateCachedCodecs(
-                            this,
-                            args.getCacheKey(),
-                            commandDescriptor.inputTypeDescriptorId,
-                            commandDescriptor.outputTypeDescriptorId
-                    );
+                    updateQueryCodecs(args, state, commandDescriptor);
                     break;
                 case STATE_DATA_DESCRIPTION:
                     updateStateCodec(state, result);
@@ -459,7 +438,7 @@ public class V1ProtocolProvider implements ProtocolProvider {
                 () -> state.attempts++
         ).thenApply(v ->
                 new ExecuteResult(
-                        parseResult.outCodec,
+                        state.codecs != null ? state.codecs.outputCodec : parseResult.outCodec,
                         data
                 )
         );
@@ -488,7 +467,7 @@ public class V1ProtocolProvider implements ProtocolProvider {
                     client.getConfig().getImplicitLimit(),
                     queryParameters.format,
                     queryParameters.cardinality,
-                    queryParameters.query,
+                    queryParameters.getQueryBytes(),
                     client.getStateDescriptorId(),
                     parseResult.stateData,
                     parseResult.inCodecId,
@@ -509,11 +488,30 @@ public class V1ProtocolProvider implements ProtocolProvider {
                         data.payloadBuffer.retain();
                         state.data.add(data.payloadBuffer);
                         break;
+                    case COMMAND_DATA_DESCRIPTION:
+                        // the descriptors the query was executed with are stale, the data that follows is encoded
+                        // with the ones described here.
+                        logger.debug("query was re-described by execute, updating its codecs");
+                        updateQueryCodecs(queryParameters, state, result.packet.as(CommandDataDescription.class));
+                        break;
                     case STATE_DATA_DESCRIPTION:
                         updateStateCodec(state, result);
                         break;
                     case ERROR_RESPONSE:
                         var err = result.packet.as(ErrorResponse.class);
+
+                        if(err.errorCode == ErrorCode.PARAMETER_TYPE_MISMATCH_ERROR && state.codecs != null) {
+                            // the arguments were encoded with a stale input codec, the cached codecs now hold the
+                            // ones the server described, so the query is retried with them.
+                            result.finishExceptionally(new GelException(
+                                    "Query arguments were encoded with a stale descriptor",
+                                    err.toException(queryParameters.query),
+                                    true,
+                                    false
+                            ));
+                            break;
+                        }
+
                         handleCommandError(queryParameters, state, result, err);
                         break;
                     case READY_FOR_COMMAND:
@@ -531,6 +529,253 @@ public class V1ProtocolProvider implements ProtocolProvider {
         }
     }
 
+    private static final class BatchState extends ProtocolState {
+        public final List<List<ByteBuf>> results;
+        public int index;
+
+        public BatchState(QueryParameters args, ByteBuf stateBuffer, int count) {
+            super(args, stateBuffer);
+            this.results = new ArrayList<>(count);
+
+            for(int i = 0; i != count; i++) {
+                this.results.add(new ArrayList<>());
+            }
+        }
+
+        public void reset() {
+            for (var data : results) {
+                for (var buffer : data) {
+                    buffer.release();
+                }
+
+                data.clear();
+            }
+
+            index = 0;
+            stateMismatch = false;
+            isComplete = false;
+        }
+    }
+
+    @Override
+    public CompletionStage<List<ExecuteResult>> executeBatch(
+            List<QueryParameters> queryParameters,
+            List<ParseResult> parseResults
+    ) {
+        // the state is threaded through the parses of the batch, the last one holds the most recent encoding.
+        var state = new BatchState(
+                queryParameters.get(0), parseResults.get(parseResults.size() - 1).stateData, queryParameters.size()
+        );
+
+        return runWithAttempts(
+                queryParameters.get(0),
+                p -> executeBatch0(queryParameters, parseResults, state),
+                p -> state.isComplete,
+                () -> state.attempts++
+        ).handle((v, e) -> {
+            if(e != null) {
+                state.reset();
+                throw e instanceof CompletionException ? (CompletionException)e : new CompletionException(e);
+            }
+
+            var results = new ArrayList<ExecuteResult>(parseResults.size());
+
+            for(int i = 0; i != parseResults.size(); i++) {
+                results.add(new ExecuteResult(parseResults.get(i).outCodec, state.results.get(i)));
+            }
+
+            return results;
+        });
+    }
+
+    private CompletionStage<Void> executeBatch0(
+            List<QueryParameters> queryParameters,
+            List<ParseResult> parseResults,
+            BatchState state
+    ) {
+        if(state.attempts > 2) {
+            return CompletableFuture.failedFuture(
+                    new GelException("Failed to execute batch after " + state.attempts + " attempts")
+            );
+        }
+
+        state.reset();
+
+        // all executes are written back-to-back, followed by a single sync; the server answers each execute with its
+        // data and a command complete, and the whole batch with a single ready for command.
+        var packets = new Sendable[queryParameters.size()];
+
+        try {
+            for(int i = 0; i != packets.length; i++) {
+                var args = queryParameters.get(i);
+                var parseResult = parseResults.get(i);
+
+                if(!(parseResult.inCodec instanceof ArgumentCodec)) {
+                    return CompletableFuture.failedFuture(
+                            new MissingCodecException(String.format(
+                                    "Cannot encode arguments, %s is not a valid argument codec",
+                                    parseResult.inCodec.toString())
+                            )
+                    );
+                }
+
+                packets[i] = new Execute(
+                        args.capabilities,
+                        getCompilationFlags(args),
+                        client.getConfig().getImplicitLimit(),
+                        args.format,
+                        args.cardinality,
+                        args.getQueryBytes(),
+                        client.getStateDescriptorId(),
+                        state.stateBuffer,
+                        parseResult.inCodecId,
+                        parseResult.outCodecId,
+                        ArgumentCodec.serializeToBuffer(
+                                (ArgumentCodec<?>) parseResult.inCodec,
+                                args.arguments,
+                                client.getCodecContext()
+                        )
+                );
+            }
+        } catch (OperationNotSupportedException | GelException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        var rest = Arrays.copyOfRange(packets, 1, packets.length + 1);
+        rest[rest.length - 1] = sync();
+
+        return client.getDuplexer().duplex((result) -> {
+            switch (result.packet.getMessageType()) {
+                case DATA:
+                    var data = result.packet.as(Data.class);
+                    assert data.payloadBuffer != null;
+                    // see execute0, the buffer is freed once the duplex step completes.
+                    data.payloadBuffer.retain();
+                    state.results.get(state.index).add(data.payloadBuffer);
+                    break;
+                case COMMAND_COMPLETE:
+                    state.index++;
+                    break;
+                case STATE_DATA_DESCRIPTION:
+                    updateStateCodec(state, result);
+                    break;
+                case ERROR_RESPONSE:
+                    var err = result.packet.as(ErrorResponse.class);
+
+                    if(err.errorCode == ErrorCode.STATE_MISMATCH_ERROR && state.stateUpdated) {
+                        // the rest of the batch is skipped by the server, it's retried with the new state.
+                        state.stateMismatch = true;
+                        break;
+                    }
+
+                    var index = Math.min(state.index, queryParameters.size() - 1);
+                    handleCommandError(queryParameters.get(index), state, result, err);
+                    break;
+                case READY_FOR_COMMAND:
+                    var ready = result.packet.as(ReadyForCommand.class);
+                    client.setTransactionState(ready.transactionState);
+                    state.isComplete = !state.stateMismatch;
+                    result.finishDuplexing();
+                    break;
+            }
+
+            return CompletableFuture.completedFuture(null);
+        }, packets[0], rest);
+    }
+
+    @Override
+    public CompletionStage<Void> executeQueryStream(
+            QueryParameters queryParameters,
+            ParseResult parseResult,
+            Function<ByteBuf, CompletionStage<Void>> onData
+    ) {
+        var state = new ProtocolState(queryParameters, parseResult.stateData);
+
+        return runWithAttempts(
+                queryParameters,
+                p -> executeStream0(p, parseResult, state, onData),
+                p -> state.isComplete,
+                () -> state.attempts++
+        );
+    }
+
+    private CompletionStage<Void> executeStream0(
+            QueryParameters queryParameters,
+            ParseResult parseResult,
+            ProtocolState state,
+            Function<ByteBuf, CompletionStage<Void>> onData
+    ) {
+        if(state.attempts > 2) {
+            return CompletableFuture.failedFuture(
+                    new GelException("Failed to execute query after " + state.attempts + " attempts")
+            );
+        }
+
+        if(!(parseResult.inCodec instanceof ArgumentCodec)) {
+            return CompletableFuture.failedFuture(
+                    new MissingCodecException(String.format(
+                            "Cannot encode arguments, %s is not a valid argument codec",
+                            parseResult.inCodec.toString())
+                    )
+            );
+        }
+
+        state.stateMismatch = false;
+
+        try {
+            return client.getDuplexer().duplexAndSync(new Execute(
+                    queryParameters.capabilities,
+                    getCompilationFlags(queryParameters),
+                    client.getConfig().getImplicitLimit(),
+                    queryParameters.format,
+                    queryParameters.cardinality,
+                    queryParameters.getQueryBytes(),
+                    client.getStateDescriptorId(),
+                    state.stateBuffer,
+                    parseResult.inCodecId,
+                    parseResult.outCodecId,
+                    ArgumentCodec.serializeToBuffer(
+                            (ArgumentCodec<?>) parseResult.inCodec,
+                            queryParameters.arguments,
+                            client.getCodecContext()
+                    )
+            ), (result) -> {
+                switch (result.packet.getMessageType()) {
+                    case DATA:
+                        var data = result.packet.as(Data.class);
+                        assert data.payloadBuffer != null;
+                        // the row is consumed within this step, the duplexer doesn't read the next message until
+                        // the consumer is ready for it.
+                        return onData.apply(data.payloadBuffer);
+                    case STATE_DATA_DESCRIPTION:
+                        updateStateCodec(state, result);
+                        break;
+                    case ERROR_RESPONSE:
+                        var err = result.packet.as(ErrorResponse.class);
+
+                        if(err.errorCode == ErrorCode.STATE_MISMATCH_ERROR && state.stateUpdated) {
+                            // no rows are sent before the state is accepted, so the query can be retried safely.
+                            state.stateMismatch = true;
+                            break;
+                        }
+
+                        handleCommandError(queryParameters, state, result, err);
+                        break;
+                    case READY_FOR_COMMAND:
+                        var ready = result.packet.as(ReadyForCommand.class);
+                        client.setTransactionState(ready.transactionState);
+                        state.isComplete = !state.stateMismatch;
+                        result.finishDuplexing();
+                        break;
+                }
+
+                return CompletableFuture.completedFuture(null);
+            });
+        } catch (OperationNotSupportedException | GelException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     private @NotNull EnumSet<CompilationFlags> getCompilationFlags(QueryParameters args) {
         var flags = EnumSet.of(CompilationFlags.NONE);
 
@@ -549,6 +794,41 @@ public class V1ProtocolProvider implements ProtocolProvider {
         return flags;
     }
 
+    private void updateQueryCodecs(
+            @NotNull QueryParameters args,
+            @NotNull ProtocolState state,
+            @NotNull CommandDataDescription commandDescriptor
+    ) throws GelException {
+        state.codecs = new CodecBuilder.QueryCodecs(
+                commandDescriptor.inputTypeDescriptorId,
+                CodecBuilder.buildCodec(
+                        client,
+                        commandDescriptor.inputTypeDescriptorId,
+                        commandDescriptor.inputTypeDescriptorBuffer
+                ),
+                commandDescriptor.outputTypeDescriptorId,
+                CodecBuilder.buildCodec(
+                        client,
+                        commandDescriptor.outputTypeDescriptorId,
+                        commandDescriptor.outputTypeDescriptorBuffer
+                )
+        );
+
+        logger.debug(
+                "updating codec query cache key {} with I:{} O:{}",
+                args.getCacheKey(),
+                commandDescriptor.inputTypeDescriptorId,
+                commandDescriptor.outputTypeDescriptorId
+        );
+
+        CodecBuilder.updateCachedCodecs(
+                this,
+                args.getCacheKey(),
+                commandDescriptor.inputTypeDescriptorId,
+                commandDescriptor.outputTypeDescriptorId
+        );
+    }
+
     private void handleCommandError(@NotNull QueryParameters queryParameters, @NotNull V1ProtocolProvider.ProtocolState args, Duplexer.@NotNull DuplexResult result, @NotNull ErrorResponse err) {
         logger.debug("Processing command phase error {}", err.errorCode);
 
@@ -584,16 +864,11 @@ public class V1ProtocolProvider implements ProtocolProvider {
             }
         }
 
-        client.setStateCodec(codec);
-        client.setStateDescriptorId(stateDescriptor.typeDescriptorId);
+        client.setStateCodec(stateDescriptor.typeDescriptorId, codec);
 
         state.stateUpdated = true;
 
         try {
-            if(state.stateBuffer != null) {
-                state.stateBuffer.release();
-            }
-
             state.stateBuffer = client.serializeState();
         } catch (OperationNotSupportedException | GelException e) {
             result.finishExceptionally("Failed to serialize state", e, GelException::new);
@@ -741,8 +1016,7 @@ public class V1ProtocolProvider implements ProtocolProvider {
                         codec = CodecBuilder.buildCodec(client, stateDescriptor.typeDescriptorId, reader, Map.class);
                     }
 
-                    client.setStateDescriptorId(stateDescriptor.typeDescriptorId);
-                    client.setStateCodec(codec);
+                    client.setStateCodec(stateDescriptor.typeDescriptorId, codec);
                     break;
                 case PARAMETER_STATUS:
                     parseServerSettings((ParameterStatus) packet);
@@ -24,7 +24,7 @@ public class Execute extends Sendable {
     private final long implicitLimit;
     private final IOFormat format;
     private final Cardinality cardinality;
-    private final String query;
+    private final byte[] query;
     private final UUID stateTypeDescriptorId;
     private final ByteBuf stateData;
     private final UUID inputTypeDescriptorId;
@@ -37,7 +37,7 @@ public class Execute extends Sendable {
             long implicitLimit,
             IOFormat format,
             Cardinality cardinality,
-            String query,
+            byte[] query,
             UUID stateTypeDescriptorId,
             ByteBuf stateData,
             UUID inputTypeDescriptorId,
@@ -70,12 +70,17 @@ public class Execute extends Sendable {
                 UUID_SIZE +
                 UUID_SIZE +
                 UUID_SIZE +
-                sizeOf(this.query) +
+                INT_SIZE + this.query.length +
                 sizeOf(this.stateData) +
                 sizeOf(this.parameterData);
 
     }
 
+    @Override
+    public int getReferencedSize() {
+        return PacketWriter.getReferencedSize(stateData) + PacketWriter.getReferencedSize(parameterData);
+    }
+
     @SuppressWarnings("DuplicatedCode")
     @Override
     protected void buildPacket(@NotNull PacketWriter writer) throws OperationNotSupportedException {
@@ -90,14 +95,14 @@ public class Execute extends Sendable {
         writer.write(implicitLimit);
         writer.write(format);
         writer.write(cardinality);
-        writer.write(query);
+        writer.writeArray(query);
 
         writer.write(stateTypeDescriptorId);
-        writer.writeArray(stateData);
+        writer.writeArrayReference(stateData);
 
         writer.write(inputTypeDescriptorId);
         writer.write(outputTypeDescriptorId);
 
-        writer.writeArray(parameterData);
+        writer.writeArrayReference(parameterData);
     }
 }
@@ -21,7 +21,7 @@ public class Parse extends Sendable {
     private final EnumSet<CompilationFlags> compilationFlags;
     private final IOFormat format;
     private final Cardinality cardinality;
-    private final String query;
+    private final byte[] query;
     private final long implicitLimit;
     private final UUID stateTypeDescriptorId;
     private final ByteBuf stateData;
@@ -31,7 +31,7 @@ public class Parse extends Sendable {
             EnumSet<CompilationFlags> compilationFlags,
             IOFormat format,
             Cardinality cardinality,
-            String query,
+            byte[] query,
             long implicitLimit,
             UUID stateTypeDescriptorId,
             ByteBuf stateData
@@ -56,11 +56,16 @@ public class Parse extends Sendable {
                 BinaryProtocolUtils.LONG_SIZE +
                 BinaryProtocolUtils.BYTE_SIZE +
                 BinaryProtocolUtils.BYTE_SIZE +
-                BinaryProtocolUtils.sizeOf(query) +
+                BinaryProtocolUtils.INT_SIZE + query.length +
                 BinaryProtocolUtils.UUID_SIZE +
                 BinaryProtocolUtils.sizeOf(stateData);
     }
 
+    @Override
+    public int getReferencedSize() {
+        return PacketWriter.getReferencedSize(stateData);
+    }
+
     @SuppressWarnings("DuplicatedCode")
     @Override
     protected void buildPacket(@NotNull PacketWriter writer) throws OperationNotSupportedException {
@@ -75,9 +80,9 @@ public class Parse extends Sendable {
         writer.write(implicitLimit);
         writer.write(format);
         writer.write(cardinality);
-        writer.write(query);
+        writer.writeArray(query);
 
         writer.write(stateTypeDescriptorId);
-        writer.writeArray(stateData);
+        writer.writeArrayReference(stateData);
     }
 }
@@ -100,7 +100,7 @@ public class V2ProtocolProvider extends V1ProtocolProvider implements ProtocolPr
                                 id,
                                 meta,
                                 getRelativeCodec.apply(arrayDescriptor.type.intValue()),
-                                ArrayCodec::new,
+                                ArrayCodec::create,
                                 t -> Array.newInstance(t, 0).getClass()
                         )
                 );
@@ -282,7 +282,7 @@ public class V2ProtocolProvider extends V1ProtocolProvider implements ProtocolPr
                                         id,
                                         meta,
                                         getRelativeCodec.apply(setDescriptor.type.intValue()),
-                                        SetCodec::new,
+                                        SetCodec::create,
                                         t -> Array.newInstance(t, 0).getClass()
                                 )
                 );
@@ -24,7 +24,8 @@ public abstract class BaseGelClient implements StatefulClient, GelQueryable, Aut
     private final GelClientConfig config;
     private final AutoCloseable poolHandle;
 
-    protected Session session;
+    // read once per serialized state, so queries pipelined on this client each see a whole session.
+    protected volatile Session session;
 
     public BaseGelClient(GelConnection connection, GelClientConfig config, AutoCloseable poolHandle) {
         this.connection = connection;
@@ -54,37 +55,37 @@ public abstract class BaseGelClient implements StatefulClient, GelQueryable, Aut
     }
 
     @Override
-    public @NotNull BaseGelClient withSession(@NotNull Session session) {
+    public synchronized @NotNull BaseGelClient withSession(@NotNull Session session) {
         this.session = session;
         return this;
     }
 
     @Override
-    public @NotNull BaseGelClient withModuleAliases(@NotNull Map<String, String> aliases) {
+    public synchronized @NotNull BaseGelClient withModuleAliases(@NotNull Map<String, String> aliases) {
         this.session = this.session.withModuleAliases(aliases);
         return this;
     }
 
     @Override
-    public @NotNull BaseGelClient withConfig(@NotNull Config config) {
+    public synchronized @NotNull BaseGelClient withConfig(@NotNull Config config) {
         this.session = this.session.withConfig(config);
         return this;
     }
 
     @Override
-    public @NotNull BaseGelClient withConfig(@NotNull Consumer<Config.Builder> func) {
+    public synchronized @NotNull BaseGelClient withConfig(@NotNull Consumer<Config.Builder> func) {
         this.session = this.session.withConfig(func);
         return this;
     }
 
     @Override
-    public @NotNull BaseGelClient withGlobals(@NotNull Map<String, Object> globals) {
+    public synchronized @NotNull BaseGelClient withGlobals(@NotNull Map<String, Object> globals) {
         this.session = this.session.withGlobals(globals);
         return this;
     }
 
     @Override
-    public @NotNull BaseGelClient withModule(@NotNull String module) {
+    public synchronized @NotNull BaseGelClient withModule(@NotNull String module) {
         this.session = this.session.withModule(module);
         return this;
     }
@@ -1,6 +1,7 @@
 package com.geldata.driver.clients;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.joou.UShort;
@@ -8,6 +9,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.geldata.driver.*;
+import com.geldata.driver.async.AsyncSemaphore;
 import com.geldata.driver.binary.builders.CodecBuilder;
 import com.geldata.driver.binary.builders.ObjectBuilder;
 import com.geldata.driver.binary.builders.types.TypeBuilder;
@@ -22,38 +24,64 @@ import com.geldata.driver.exceptions.ConnectionFailedException;
 import com.geldata.driver.exceptions.GelErrorException;
 import com.geldata.driver.exceptions.GelException;
 import com.geldata.driver.exceptions.ResultCardinalityMismatchException;
+import com.geldata.driver.internal.PreparedQueryImpl;
+import com.geldata.driver.internal.RowPublisher;
+import com.geldata.driver.state.Session;
 
 import javax.naming.OperationNotSupportedException;
 
 import static com.geldata.driver.util.ComposableUtil.exceptionallyCompose;
 
+import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.Semaphore;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 public abstract class GelBinaryClient extends BaseGelClient {
     private static final Logger logger = LoggerFactory.getLogger(GelBinaryClient.class);
-    @SuppressWarnings("rawtypes")
-    private @Nullable Codec<Map> stateCodec;
-    private UUID stateDescriptorId;
+    // pipelined queries read the state codec concurrently, the codec and its descriptor id are replaced together.
+    private volatile @NotNull StateCodec stateCodec;
+    private volatile @Nullable EncodedState encodedState;
     private @Nullable Long suggestedPoolConcurrency;
 
     private @NotNull ProtocolProvider protocolProvider;
-    private short connectionAttempts;
-    private final @NotNull Semaphore connectionSemaphore;
-    private final @NotNull Semaphore querySemaphore;
+    private final @NotNull AtomicInteger connectionAttempts = new AtomicInteger();
+    private final @NotNull AsyncSemaphore connectionSemaphore;
+    private final @NotNull AsyncSemaphore querySemaphore;
+    private volatile @Nullable AsyncSemaphore.Releaser connectionSemaphoreReleaser;
+
+    // pipelined queries that fail on the same connection share a single reconnect, guarded by reconnectLock.
+    private final Object reconnectLock = new Object();
+    private @Nullable CompletableFuture<Void> pendingReconnect;
+    private int pendingReconnectGeneration;
     private @NotNull CompletableFuture<Void> readyPromise;
     private final CodecContext codecContext = new CodecContext(this);
 
     public GelBinaryClient(GelConnection connection, GelClientConfig config, AutoCloseable poolHandle) {
+        this(connection, config, poolHandle, 1);
+    }
+
+    /**
+     * Constructs a new {@linkplain GelBinaryClient}.
+     * @param connection The connection parameters used to connect this client to Gel.
+     * @param config The configuration for this client.
+     * @param poolHandle The handle returning this client to its pool once closed.
+     * @param maxConcurrentQueries The maximum number of queries in flight at once; any value greater than one
+     *                             requires a duplexer that reads responses in the order their requests were sent.
+     */
+    protected GelBinaryClient(
+            GelConnection connection, GelClientConfig config, AutoCloseable poolHandle, int maxConcurrentQueries
+    ) {
         super(connection, config, poolHandle);
-        this.connectionSemaphore = new Semaphore(1);
-        this.querySemaphore = new Semaphore(1);
+        this.connectionSemaphore = new AsyncSemaphore();
+        this.querySemaphore = new AsyncSemaphore(maxConcurrentQueries);
         this.readyPromise = new CompletableFuture<>();
-        this.stateDescriptorId = CodecBuilder.INVALID_CODEC_ID;
+        this.stateCodec = new StateCodec(CodecBuilder.INVALID_CODEC_ID, null);
         this.protocolProvider = ProtocolProvider.getProvider(this);
     }
 
@@ -77,56 +105,68 @@ public abstract class GelBinaryClient extends BaseGelClient {
     }
 
     public UUID getStateDescriptorId() {
-        return this.stateDescriptorId;
+        return this.stateCodec.descriptorId;
     }
-    public void setStateDescriptorId(UUID id) {
-        this.stateDescriptorId = id;
+
+    @SuppressWarnings("rawtypes")
+    public void setStateCodec(@NotNull UUID descriptorId, @Nullable Codec<Map> codec) {
+        this.stateCodec = new StateCodec(descriptorId, codec);
     }
 
     @SuppressWarnings("rawtypes")
-    public void setStateCodec(@Nullable Codec<Map> codec) {
-        this.stateCodec = codec;
+    private static final class StateCodec {
+        final @NotNull UUID descriptorId;
+        final @Nullable Codec<Map> codec;
+
+        StateCodec(@NotNull UUID descriptorId, @Nullable Codec<Map> codec) {
+            this.descriptorId = descriptorId;
+            this.codec = codec;
+        }
     }
 
     private static class ExecutionState {
         public int attempts;
+        public int generation;
     }
 
     public final CompletionStage<ExecuteResult> executeQuery(
             @NotNull QueryParameters args
+    ) {
+        return executeQuery(args, a -> protocolProvider.parseQuery(a));
+    }
+
+    private CompletionStage<ExecuteResult> executeQuery(
+            @NotNull QueryParameters args,
+            @NotNull Function<QueryParameters, CompletionStage<ParseResult>> parser
     ) {
         logger.debug("Execute request: is connected? {}", getDuplexer().isConnected());
 
         if(!getDuplexer().isConnected()) {
             // TODO: check for recursion
             return connect()
-                    .thenCompose(v -> executeQuery(args));
+                    .thenCompose(v -> executeQuery(args, parser));
         }
 
-        final var hasReleased = new AtomicBoolean();
         final var executionState = new ExecutionState();
 
-        return CompletableFuture.runAsync(() -> {
-                    try {
-                        logger.debug("acquiring query semaphore...");
-                        this.querySemaphore.acquire();
-                        logger.debug("query semaphore acquired");
-                    } catch (InterruptedException e) {
-                        throw new RuntimeException(e);
-                    }
-                })
-                .thenCompose((v) -> executeQuery0(args,executionState))
-                .whenComplete((v,e) -> {
-                    if(!hasReleased.get()) {
-                        this.querySemaphore.release();
-                    }
+        logger.debug("acquiring query semaphore...");
+        return this.querySemaphore.acquire()
+                .thenCompose(releaser -> {
+                    logger.debug("query semaphore acquired");
+                    return executeQuery0(args, parser, executionState)
+                            .whenComplete((v,e) -> releaser.release());
                 });
     }
 
-    private CompletionStage<ExecuteResult> executeQuery0(@NotNull QueryParameters args, ExecutionState state) {
+    private CompletionStage<ExecuteResult> executeQuery0(
+            @NotNull QueryParameters args,
+            @NotNull Function<QueryParameters, CompletionStage<ParseResult>> parser,
+            ExecutionState state
+    ) {
+        state.generation = getDuplexer().getGeneration();
+
         return exceptionallyCompose(
-                protocolProvider
-                        .parseQuery(args)
+                parser.apply(args)
                         .thenCompose(parseResult -> protocolProvider.executeQuery(args, parseResult)),
                 e -> {
                     logger.debug("got exception in execute step", e);
@@ -153,15 +193,15 @@ public abstract class GelBinaryClient extends BaseGelClient {
                             state.attempts++;
                             logger.debug("Retrying with attempts now at {}", state.attempts);
 
-                            return executeQuery0(args, state);
+                            return executeQuery0(args, parser, state);
                         }
 
                         if(edbException.shouldReconnect) {
                             state.attempts++;
                             logger.debug("Reconnecting and retrying with attempts now at {}", state.attempts);
 
-                            return this.reconnect()
-                                    .thenCompose(y -> executeQuery0(args, state));
+                            return reconnect(state.generation)
+                                    .thenCompose(y -> executeQuery0(args, parser, state));
                         }
                     }
 
@@ -170,6 +210,349 @@ public abstract class GelBinaryClient extends BaseGelClient {
         );
     }
 
+    @Override
+    public CompletionStage<List<@Nullable Object>> batch(@NotNull List<BatchStatement<?>> statements) {
+        if(statements.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+
+        if(!getDuplexer().isConnected()) {
+            return connect()
+                    .thenCompose(v -> batch(statements));
+        }
+
+        var parameters = new ArrayList<QueryParameters>(statements.size());
+
+        for (var statement : statements) {
+            var ignoresResult = statement.getResultKind() == BatchStatement.ResultKind.NONE;
+
+            parameters.add(new QueryParameters(
+                    statement.getQuery(),
+                    statement.getArguments(),
+                    statement.getCapabilities(),
+                    Cardinality.MANY,
+                    ignoresResult ? IOFormat.NONE : IOFormat.BINARY,
+                    !ignoresResult && TypeBuilder.requiredImplicitTypeNames(statement.getResultType())
+            ));
+        }
+
+        // the batch isn't retried as a whole, a failure may occur after some of its statements took effect.
+        return this.querySemaphore.acquire()
+                .thenCompose(releaser -> parseBatch(parameters)
+                        .thenCompose(parseResults -> protocolProvider.executeBatch(parameters, parseResults))
+                        .whenComplete((v,e) -> releaser.release())
+                )
+                .thenApply(results -> {
+                    var decoded = new ArrayList<@Nullable Object>(results.size());
+
+                    try {
+                        for(int i = 0; i != results.size(); i++) {
+                            decoded.add(decodeBatchResult(statements.get(i), results.get(i)));
+                        }
+                    } catch (GelException | OperationNotSupportedException e) {
+                        throw new CompletionException(e);
+                    } finally {
+                        for (var result : results) {
+                            for (var buffer : result.data) {
+                                buffer.release();
+                            }
+                        }
+                    }
+
+                    return Collections.unmodifiableList(decoded);
+                });
+    }
+
+    private CompletionStage<List<ParseResult>> parseBatch(@NotNull List<QueryParameters> parameters) {
+        ByteBuf stateBuffer;
+
+        try {
+            stateBuffer = serializeState();
+        } catch (OperationNotSupportedException | GelException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletionStage<List<ParseResult>> result = CompletableFuture.completedFuture(
+                new ArrayList<>(parameters.size())
+        );
+
+        // statements with cached codecs complete synchronously, only new statements cost a round trip. the state is
+        // serialized once for the batch, each parse passes on its state in case the server sent a new descriptor.
+        for (var args : parameters) {
+            result = result.thenCompose(parseResults -> protocolProvider.parseQuery(
+                    args,
+                    parseResults.isEmpty() ? stateBuffer : parseResults.get(parseResults.size() - 1).stateData
+            ).thenApply(r -> {
+                parseResults.add(r);
+                return parseResults;
+            }));
+        }
+
+        return result;
+    }
+
+    private <T> @Nullable Object decodeBatchResult(
+            @NotNull BatchStatement<T> statement,
+            @NotNull ExecuteResult result
+    ) throws GelException, OperationNotSupportedException {
+        var cls = statement.getResultType();
+
+        if(statement.getResultKind() == BatchStatement.ResultKind.NONE) {
+            return null;
+        }
+
+        var codec = ObjectBuilder.resolveCodec(this, result.codec, cls);
+
+        return decodeResult(
+                statement.getResultKind(),
+                result,
+                buffer -> ObjectBuilder.buildVisitedResult(this, codec, buffer, cls)
+        );
+    }
+
+    @FunctionalInterface
+    private interface RowDecoder<T> {
+        @Nullable T decode(@NotNull ByteBuf buffer) throws GelException, OperationNotSupportedException;
+    }
+
+    private <T> @Nullable Object decodeResult(
+            @NotNull BatchStatement.ResultKind kind,
+            @NotNull ExecuteResult result,
+            @NotNull RowDecoder<T> decoder
+    ) throws GelException, OperationNotSupportedException {
+        switch (kind) {
+            case MANY:
+                var arr = new ArrayList<T>(result.data.size());
+
+                for (var buffer : result.data) {
+                    arr.add(decoder.decode(buffer));
+                }
+
+                return Collections.unmodifiableList(arr);
+            case AT_MOST_ONE:
+                if(result.data.size() > 1) {
+                    throw new ResultCardinalityMismatchException(Cardinality.AT_MOST_ONE, Cardinality.MANY);
+                }
+
+                return result.data.isEmpty()
+                        ? null
+                        : decoder.decode(result.data.get(0));
+            case EXACTLY_ONE:
+                if(result.data.size() != 1) {
+                    throw new ResultCardinalityMismatchException(Cardinality.ONE, Cardinality.MANY);
+                }
+
+                return decoder.decode(result.data.get(0));
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public <T> PreparedQuery<T> prepare(
+            @NotNull Class<T> cls,
+            @NotNull String query,
+            @NotNull EnumSet<Capabilities> capabilities
+    ) {
+        return new PreparedQueryImpl<>(cls, query, capabilities);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletionStage<List<@Nullable T>> query(
+            @NotNull PreparedQuery<T> query,
+            @Nullable Map<String, @Nullable Object> args
+    ) {
+        return executePrepared(query, args, BatchStatement.ResultKind.MANY).thenApply(r -> (List<@Nullable T>) r);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletionStage<@Nullable T> querySingle(
+            @NotNull PreparedQuery<T> query,
+            @Nullable Map<String, @Nullable Object> args
+    ) {
+        return executePrepared(query, args, BatchStatement.ResultKind.AT_MOST_ONE).thenApply(r -> (T) r);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> CompletionStage<@NotNull T> queryRequiredSingle(
+            @NotNull PreparedQuery<T> query,
+            @Nullable Map<String, @Nullable Object> args
+    ) {
+        return executePrepared(query, args, BatchStatement.ResultKind.EXACTLY_ONE).thenApply(r -> (T) r);
+    }
+
+    private <T> CompletionStage<@Nullable Object> executePrepared(
+            @NotNull PreparedQuery<T> query,
+            @Nullable Map<String, @Nullable Object> args,
+            @NotNull BatchStatement.ResultKind kind
+    ) {
+        if(!(query instanceof PreparedQueryImpl)) {
+            return CompletableFuture.failedFuture(
+                    new IllegalArgumentException("Unknown prepared query implementation " + query.getClass().getName())
+            );
+        }
+
+        var prepared = (PreparedQueryImpl<T>) query;
+        var cls = prepared.getResultType();
+
+        var parameters = new QueryParameters(
+                prepared.getQuery(),
+                args,
+                prepared.getCapabilities(),
+                Cardinality.MANY,
+                IOFormat.BINARY,
+                prepared.requiresImplicitTypeNames(),
+                prepared.getCacheKey(),
+                prepared.getQueryBytes()
+        );
+
+        // the last parse result the execution used, a retried execution may parse more than once.
+        var parsed = new AtomicReference<ParseResult>();
+        // the plan the last attempt executed with, if any.
+        var executedPlan = new AtomicReference<PreparedQueryImpl.Plan>();
+
+        return executeQuery(parameters, a -> {
+            var stale = executedPlan.getAndSet(null);
+
+            if(stale != null) {
+                // the attempt was rejected, possibly for arguments encoded with the plan's codecs; parse again.
+                prepared.invalidatePlan(stale);
+            }
+
+            return parsePrepared(prepared, a, executedPlan).thenApply(r -> {
+                parsed.set(r);
+                return r;
+            });
+        }).thenApply(result -> {
+            try {
+                var version = protocolProvider.getVersion();
+                var namingStrategy = getConfig().getNamingStrategy();
+                var plan = prepared.getPlan(version, namingStrategy);
+                Codec<?> codec;
+
+                // the result codec is the one the server described the data with, it differs from the plan's once
+                // the server re-describes the query on execute.
+                if(plan != null && plan.outputCodec == result.codec) {
+                    codec = plan.resultCodec;
+                } else {
+                    codec = ObjectBuilder.resolveCodec(this, result.codec, cls);
+                    var parseResult = parsed.get();
+
+                    if(parseResult != null && parseResult.outCodec == result.codec) {
+                        prepared.setPlan(new PreparedQueryImpl.Plan(version, namingStrategy, parseResult, codec));
+                    } else if(plan != null) {
+                        prepared.invalidatePlan(plan);
+                    }
+                }
+
+                return decodeResult(kind, result, buffer -> ObjectBuilder.buildVisitedResult(this, codec, buffer, cls));
+            } catch (GelException | OperationNotSupportedException e) {
+                throw new CompletionException(e);
+            } finally {
+                for (var buffer : result.data) {
+                    buffer.release();
+                }
+            }
+        });
+    }
+
+    private CompletionStage<ParseResult> parsePrepared(
+            @NotNull PreparedQueryImpl<?> prepared,
+            @NotNull QueryParameters args,
+            @NotNull AtomicReference<PreparedQueryImpl.Plan> executedPlan
+    ) {
+        var version = protocolProvider.getVersion();
+        var namingStrategy = getConfig().getNamingStrategy();
+        var plan = prepared.getPlan(version, namingStrategy);
+
+        // the plan is set once the execution's result codec is known, see executePrepared.
+        if(plan == null) {
+            return protocolProvider.parseQuery(args);
+        }
+
+        executedPlan.set(plan);
+
+        try {
+            return CompletableFuture.completedFuture(new ParseResult(
+                    plan.inputCodec,
+                    plan.outputCodec,
+                    plan.inputCodecId,
+                    plan.outputCodecId,
+                    serializeState(),
+                    args.capabilities,
+                    args.cardinality
+            ));
+        } catch (OperationNotSupportedException | GelException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public <T> Flow.Publisher<T> queryStream(
+            @NotNull Class<T> cls,
+            @NotNull String query,
+            @Nullable Map<String, @Nullable Object> args,
+            @NotNull EnumSet<Capabilities> capabilities
+    ) {
+        var parameters = new QueryParameters(
+                query,
+                args,
+                capabilities,
+                Cardinality.MANY,
+                IOFormat.BINARY,
+                TypeBuilder.requiredImplicitTypeNames(cls)
+        );
+
+        return new RowPublisher<>(sink -> streamQuery(parameters, cls, sink));
+    }
+
+    private <T> CompletionStage<Void> streamQuery(
+            @NotNull QueryParameters args,
+            @NotNull Class<T> cls,
+            @NotNull RowPublisher.Sink<T> sink
+    ) {
+        if(!getDuplexer().isConnected()) {
+            return connect()
+                    .thenCompose(v -> streamQuery(args, cls, sink));
+        }
+
+        // the stream isn't retried as a whole, rows may have already been emitted to the subscriber.
+        return this.querySemaphore.acquire()
+                .thenCompose(releaser -> protocolProvider.parseQuery(args)
+                        .thenCompose(parseResult -> {
+                            Codec<?> codec;
+
+                            try {
+                                codec = ObjectBuilder.resolveCodec(this, parseResult.outCodec, cls);
+                            } catch (GelException e) {
+                                return CompletableFuture.failedFuture(e);
+                            }
+
+                            return protocolProvider.executeQueryStream(args, parseResult, data -> {
+                                if(sink.isCancelled()) {
+                                    return CompletableFuture.completedFuture(null);
+                                }
+
+                                T value;
+
+                                try {
+                                    value = ObjectBuilder.buildVisitedResult(this, codec, data, cls);
+                                } catch (GelException | OperationNotSupportedException e) {
+                                    return CompletableFuture.failedFuture(e);
+                                }
+
+                                return value == null
+                                        ? CompletableFuture.completedFuture(null)
+                                        : sink.emit(value);
+                            });
+                        })
+                        .whenComplete((v,e) -> releaser.release())
+                );
+    }
+
     @Override
     public CompletionStage<Void> execute(
             @NotNull String query,
@@ -203,22 +586,19 @@ public abstract class GelBinaryClient extends BaseGelClient {
         )).thenCompose(result -> {
             var arr = new ArrayList<T>(result.data.size());
 
-            for(int i = 0; i != result.data.size(); i++) {
-                try {
-                    arr.add(
-                            i,
-                            ObjectBuilder.buildResult(
-                                    this,
-                                    result.codec,
-                                    result.data.get(i),
-                                    cls
-                            )
-                    );
-                } catch (GelException | OperationNotSupportedException e) {
-                    return CompletableFuture.failedFuture(e);
-                } finally {
-                    // free the buffer
-                    result.data.get(i).release();
+            try {
+                // resolve the codec tree once, each row only pays for its decode.
+                var codec = ObjectBuilder.resolveCodec(this, result.codec, cls);
+
+                for(int i = 0; i != result.data.size(); i++) {
+                    arr.add(i, ObjectBuilder.buildVisitedResult(this, codec, result.data.get(i), cls));
+                }
+            } catch (GelException | OperationNotSupportedException e) {
+                return CompletableFuture.failedFuture(e);
+            } finally {
+                // free the buffers
+                for (var buffer : result.data) {
+                    buffer.release();
                 }
             }
 
@@ -396,14 +776,57 @@ public abstract class GelBinaryClient extends BaseGelClient {
         });
     }
 
+    /**
+     * Serializes the session of this client with the state codec of the server. The encoding is cached until either
+     * the session or the state descriptor changes.
+     * @return A view of the encoded state, which callers must neither modify nor release; or {@code null} if the server
+     * hasn't sent a state descriptor.
+     */
     @Nullable
     public ByteBuf serializeState() throws OperationNotSupportedException, GelException {
-        if(this.stateCodec == null) {
+        var stateCodec = this.stateCodec;
+        var codec = stateCodec.codec;
+
+        if(codec == null) {
             return null;
         }
 
-        var data = session.serialize();
-        return Codec.serializeToBuffer(this.stateCodec, data, this.codecContext);
+        var session = this.session;
+        var descriptorId = stateCodec.descriptorId;
+        var cached = this.encodedState;
+
+        if(cached == null || cached.session != session || !cached.descriptorId.equals(descriptorId)) {
+            var buffer = Codec.serializeToBuffer(codec, session.serialize(), this.codecContext);
+
+            try {
+                // copied into a direct buffer, so Execute references the state instead of copying it each time; see
+                // PacketWriter.getReferencedSize. the memory belongs to a JDK buffer that the garbage collector frees,
+                // so replacing the cache doesn't have to release it while queries still use it.
+                var bytes = ByteBuffer.allocateDirect(buffer.readableBytes());
+                buffer.readBytes(bytes);
+                bytes.flip();
+                cached = new EncodedState(session, descriptorId, Unpooled.wrappedBuffer(bytes));
+            } finally {
+                buffer.release();
+            }
+
+            this.encodedState = cached;
+        }
+
+        // the cached buffer is never released, so views of it need no reference counting.
+        return cached.buffer.duplicate();
+    }
+
+    private static final class EncodedState {
+        final @NotNull Session session;
+        final @NotNull UUID descriptorId;
+        final @NotNull ByteBuf buffer;
+
+        EncodedState(@NotNull Session session, @NotNull UUID descriptorId, @NotNull ByteBuf buffer) {
+            this.session = session;
+            this.descriptorId = descriptorId;
+            this.buffer = buffer;
+        }
     }
 
     public boolean tryNegotiateProtocol(UShort major, UShort minor) {
@@ -428,28 +851,69 @@ public abstract class GelBinaryClient extends BaseGelClient {
         }
     }
 
+    /**
+     * Reconnects after a failure on the connection of the given generation. Queries pipelined on that connection all
+     * fail together, so they share one reconnect instead of each replacing the connection the others just opened.
+     * @param generation The generation of the connection the failure happened on.
+     * @return A {@linkplain CompletionStage} completed once the connection has been replaced.
+     */
+    private CompletionStage<Void> reconnect(int generation) {
+        synchronized (this.reconnectLock) {
+            var pending = this.pendingReconnect;
+
+            if(pending != null && !pending.isDone() && this.pendingReconnectGeneration == generation) {
+                return pending;
+            }
+
+            if(getDuplexer().getGeneration() != generation) {
+                // the connection was already replaced, retry on the new one.
+                return pending != null && !pending.isDone() ? pending : CompletableFuture.completedFuture(null);
+            }
+
+            pending = reconnect().toCompletableFuture();
+            this.pendingReconnect = pending;
+            this.pendingReconnectGeneration = generation;
+
+            return pending;
+        }
+    }
+
     @Override
     public CompletionStage<Void> connect() {
-        return CompletableFuture
-                .runAsync(() -> {
-                    try {
-                        logger.debug("Acquiring connection lock...");
-                        if(!this.connectionSemaphore.tryAcquire(
-                            getConnectionArguments().getWaitUntilAvailable().value,
-                            getConnectionArguments().getWaitUntilAvailable().unit
-                        )) {
-                            logger.debug("Failed to acquire connection lock after timeout");
-                            throw new CompletionException(new ConnectionFailedException("Connection failed to be established because of a already existing attempt"));
-                        }
-                    } catch (InterruptedException e) {
-                        throw new CompletionException(e);
+        var waitUntilAvailable = getConnectionArguments().getWaitUntilAvailable();
+        var generation = getDuplexer().getGeneration();
+
+        logger.debug("Acquiring connection lock...");
+        return this.connectionSemaphore
+                .acquire(waitUntilAvailable.value, waitUntilAvailable.unit)
+                .handle((releaser, e) -> {
+                    if(e != null) {
+                        logger.debug("Failed to acquire connection lock after timeout");
+                        throw new CompletionException(new ConnectionFailedException("Connection failed to be established because of a already existing attempt"));
                     }
+
+                    this.connectionSemaphoreReleaser = releaser;
+                    return releaser;
                 })
-                .thenCompose((v) -> this.connectInternal())
+                .thenCompose(releaser -> {
+                    // a concurrent caller opened a new connection while this one waited for the lock; running the
+                    // handshake again would read the responses of queries already pipelined on it.
+                    if(getDuplexer().getGeneration() != generation && getDuplexer().isConnected()
+                            && this.readyPromise.isDone() && !this.readyPromise.isCompletedExceptionally()) {
+                        releaser.release();
+                        return CompletableFuture.completedFuture(null);
+                    }
+
+                    return connect0(releaser);
+                });
+    }
+
+    private CompletionStage<Void> connect0(@NotNull AsyncSemaphore.Releaser releaser) {
+        return this.connectInternal()
                 .thenRunAsync(this::doClientHandshake)
                 .thenCompose((v) -> this.readyPromise)
-                .thenAccept(v -> this.connectionAttempts = 0)
-                .whenComplete((v,e) -> this.connectionSemaphore.release());
+                .thenAccept(v -> this.connectionAttempts.set(0))
+                .whenComplete((v,e) -> releaser.release());
     }
 
     private CompletionStage<Void> doClientHandshake() {
@@ -474,20 +938,26 @@ public abstract class GelBinaryClient extends BaseGelClient {
                             return CompletableFuture.failedFuture(new ConnectionFailedException(error));
                         }
 
-                        if(this.connectionAttempts < getConfig().getMaxConnectionRetries()) {
-                            this.connectionAttempts++;
+                        var attempts = this.connectionAttempts.incrementAndGet();
 
-                            logger.warn("Attempting to reconnect... {}/{}", this.connectionAttempts, getConfig().getMaxConnectionRetries(), error);
+                        if(attempts <= getConfig().getMaxConnectionRetries()) {
+                            logger.warn("Attempting to reconnect... {}/{}", attempts, getConfig().getMaxConnectionRetries(), error);
 
                             return disconnect()
                                     .thenCompose(v -> {
-                                        this.connectionSemaphore.release();
+                                        // hand the connection semaphore over to the reconnect attempt.
+                                        var releaser = this.connectionSemaphoreReleaser;
+
+                                        if(releaser != null) {
+                                            releaser.release();
+                                        }
+
                                         return connect();
                                     });
                         } else {
-                            logger.error("Failed to establish a connection after {} attempts", this.connectionAttempts, error);
-                            this.connectionAttempts = 0;
-                            return CompletableFuture.failedFuture(new ConnectionFailedException(this.connectionAttempts, error));
+                            this.connectionAttempts.set(0);
+                            logger.error("Failed to establish a connection after {} attempts", attempts - 1, error);
+                            return CompletableFuture.failedFuture(new ConnectionFailedException(attempts - 1, error));
                         }
                     }
 
@@ -526,17 +996,17 @@ public abstract class GelBinaryClient extends BaseGelClient {
                         return CompletableFuture.failedFuture(new ConnectionFailedException(err));
                     }
 
-                    if(this.connectionAttempts < getConfig().getMaxConnectionRetries()) {
-                        this.connectionAttempts++;
+                    var attempts = this.connectionAttempts.incrementAndGet();
 
-                        logger.warn("Attempting to reconnect... {}/{}", this.connectionAttempts, getConfig().getMaxConnectionRetries(), err);
+                    if(attempts <= getConfig().getMaxConnectionRetries()) {
+                        logger.warn("Attempting to reconnect... {}/{}", attempts, getConfig().getMaxConnectionRetries(), err);
 
                         return disconnect()
                                 .thenCompose(v -> retryableConnect());
                     } else {
-                        logger.error("Failed to establish a connection after {} attempts", this.connectionAttempts, err);
-                        this.connectionAttempts = 0;
-                        return CompletableFuture.failedFuture(new ConnectionFailedException(this.connectionAttempts, err));
+                        this.connectionAttempts.set(0);
+                        logger.error("Failed to establish a connection after {} attempts", attempts - 1, err);
+                        return CompletableFuture.failedFuture(new ConnectionFailedException(attempts - 1, err));
                     }
                 }
 
@@ -50,7 +50,7 @@ public class GelTcpClient extends GelBinaryClient implements TransactableClient
     private TransactionState transactionState;
 
     public GelTcpClient(GelConnection connection, GelClientConfig config, AutoCloseable poolHandle) {
-        super(connection, config, poolHandle);
+        super(connection, config, poolHandle, config.getMaxPipelinedQueries());
         this.duplexer = new ChannelDuplexer(this);
 
         this.bootstrap = new Bootstrap()
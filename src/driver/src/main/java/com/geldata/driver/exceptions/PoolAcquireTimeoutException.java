@@ -0,0 +1,16 @@
+package com.geldata.driver.exceptions;
+
+import java.time.Duration;
+
+/**
+ * Represents an exception thrown when a client couldn't be acquired from a client pool within the configured timeout.
+ */
+public class PoolAcquireTimeoutException extends GelException {
+    /**
+     * Constructs a new {@linkplain PoolAcquireTimeoutException}.
+     * @param timeout The timeout that elapsed while waiting for a client.
+     */
+    public PoolAcquireTimeoutException(Duration timeout) {
+        super("Failed to acquire a client from the pool within " + timeout.toMillis() + "ms", true, false);
+    }
+}
@@ -0,0 +1,14 @@
+package com.geldata.driver.exceptions;
+
+/**
+ * Represents an exception thrown when a client pool has no free clients and its waiter queue is full.
+ */
+public class PoolExhaustedException extends GelException {
+    /**
+     * Constructs a new {@linkplain PoolExhaustedException}.
+     * @param maxWaiters The maximum number of waiters the pool allows.
+     */
+    public PoolExhaustedException(int maxWaiters) {
+        super("The client pool is exhausted and the maximum of " + maxWaiters + " waiter(s) has been reached", true, false);
+    }
+}
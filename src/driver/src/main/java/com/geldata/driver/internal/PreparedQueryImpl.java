@@ -0,0 +1,123 @@
+package com.geldata.driver.internal;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.geldata.driver.Capabilities;
+import com.geldata.driver.PreparedQuery;
+import com.geldata.driver.binary.builders.CodecBuilder;
+import com.geldata.driver.binary.builders.types.TypeBuilder;
+import com.geldata.driver.binary.codecs.Codec;
+import com.geldata.driver.binary.protocol.ParseResult;
+import com.geldata.driver.binary.protocol.ProtocolVersion;
+import com.geldata.driver.binary.protocol.common.Cardinality;
+import com.geldata.driver.binary.protocol.common.IOFormat;
+import com.geldata.driver.namingstrategies.NamingStrategy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.UUID;
+
+public final class PreparedQueryImpl<T> implements PreparedQuery<T> {
+    private final @NotNull Class<T> cls;
+    private final @NotNull String query;
+    private final byte @NotNull [] queryBytes;
+    private final @NotNull EnumSet<Capabilities> capabilities;
+    private final boolean implicitTypeNames;
+    private final long cacheKey;
+    private volatile @Nullable Plan plan;
+
+    public PreparedQueryImpl(@NotNull Class<T> cls, @NotNull String query, @NotNull EnumSet<Capabilities> capabilities) {
+        this.cls = cls;
+        this.query = query;
+        this.queryBytes = query.getBytes(StandardCharsets.UTF_8);
+        this.capabilities = capabilities;
+        this.implicitTypeNames = TypeBuilder.requiredImplicitTypeNames(cls);
+        this.cacheKey = CodecBuilder.getCacheKey(query, Cardinality.MANY, IOFormat.BINARY);
+    }
+
+    @Override
+    public @NotNull Class<T> getResultType() {
+        return cls;
+    }
+
+    @Override
+    public @NotNull String getQuery() {
+        return query;
+    }
+
+    @Override
+    public @NotNull EnumSet<Capabilities> getCapabilities() {
+        return capabilities;
+    }
+
+    public boolean requiresImplicitTypeNames() {
+        return implicitTypeNames;
+    }
+
+    public long getCacheKey() {
+        return cacheKey;
+    }
+
+    /**
+     * Gets the UTF-8 encoding of the query text, which is encoded once and shared by every execution.
+     * @return The encoded query; must not be modified.
+     */
+    public byte @NotNull [] getQueryBytes() {
+        return queryBytes;
+    }
+
+    public @Nullable Plan getPlan(@NotNull ProtocolVersion version, @NotNull NamingStrategy namingStrategy) {
+        var plan = this.plan;
+
+        if(plan == null || !plan.version.equals(version) || plan.namingStrategy != namingStrategy) {
+            return null;
+        }
+
+        return plan;
+    }
+
+    public synchronized void setPlan(@NotNull Plan plan) {
+        // racing executions resolve equivalent plans, the last one wins.
+        this.plan = plan;
+    }
+
+    /**
+     * Drops the given plan, so the next execution parses the query again. A plan that was already replaced is kept.
+     * @param stale The plan the server rejected or re-described.
+     */
+    public synchronized void invalidatePlan(@NotNull Plan stale) {
+        if(this.plan == stale) {
+            this.plan = null;
+        }
+    }
+
+    /**
+     * Represents the resolved codecs of a prepared query. The plan is tied to the protocol version the codecs were
+     * built for and to the naming strategy the result codec was resolved with.
+     */
+    public static final class Plan {
+        public final @NotNull ProtocolVersion version;
+        public final @NotNull NamingStrategy namingStrategy;
+        public final @NotNull Codec<?> inputCodec;
+        public final @NotNull Codec<?> outputCodec;
+        public final @NotNull UUID inputCodecId;
+        public final @NotNull UUID outputCodecId;
+        public final @NotNull Codec<?> resultCodec;
+
+        public Plan(
+                @NotNull ProtocolVersion version,
+                @NotNull NamingStrategy namingStrategy,
+                @NotNull ParseResult parseResult,
+                @NotNull Codec<?> resultCodec
+        ) {
+            this.version = version;
+            this.namingStrategy = namingStrategy;
+            this.inputCodec = parseResult.inCodec;
+            this.outputCodec = parseResult.outCodec;
+            this.inputCodecId = parseResult.inCodecId;
+            this.outputCodecId = parseResult.outCodecId;
+            this.resultCodec = resultCodec;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.geldata.driver.internal;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A cold {@linkplain Flow.Publisher} of query rows. Each subscription runs the source once; the source emits rows one
+ * at a time and waits on the returned stage of each emit, which completes only once the subscriber has demand for the
+ * row.
+ * @param <T> The type of the rows.
+ */
+public final class RowPublisher<T> implements Flow.Publisher<T> {
+    /**
+     * Represents the producing side of a subscription.
+     * @param <T> The type of the rows.
+     */
+    public interface Sink<T> {
+        /**
+         * Emits a row to the subscriber. Only one emit may be outstanding at a time.
+         * @param value The row to emit.
+         * @return A {@linkplain CompletionStage} that completes once the row was handed to the subscriber, or dropped
+         * because the subscription was cancelled.
+         */
+        CompletionStage<Void> emit(@NotNull T value);
+
+        boolean isCancelled();
+    }
+
+    @FunctionalInterface
+    public interface Source<T> {
+        CompletionStage<Void> run(@NotNull Sink<T> sink);
+    }
+
+    private final @NotNull Source<T> source;
+
+    public RowPublisher(@NotNull Source<T> source) {
+        this.source = source;
+    }
+
+    /**
+     * Creates a publisher that emits the rows of an already buffered result.
+     * @param rows The stage containing the rows.
+     * @return A {@linkplain RowPublisher} emitting each row in order.
+     * @param <T> The type of the rows.
+     */
+    public static <T> @NotNull RowPublisher<T> of(@NotNull CompletionStage<List<@Nullable T>> rows) {
+        return new RowPublisher<>(sink -> rows.thenCompose(list -> {
+            CompletionStage<Void> result = CompletableFuture.completedFuture(null);
+
+            for (var row : list) {
+                // publishers can't emit null.
+                if(row != null) {
+                    result = result.thenCompose(v -> sink.emit(row));
+                }
+            }
+
+            return result;
+        }));
+    }
+
+    /**
+     * Forwards every row of a publisher into a sink, requesting the next row only once the sink accepted the previous
+     * one. If the sink fails or is cancelled, the subscription to the publisher is cancelled so its source drops the
+     * rest of the result instead of decoding it, and the returned stage completes right away.
+     * @param publisher The publisher to read from.
+     * @param sink The sink to forward rows to.
+     * @return A {@linkplain CompletionStage} that completes when the publisher completes or fails, or the sink stops.
+     * @param <T> The type of the rows.
+     */
+    public static <T> @NotNull CompletionStage<Void> forward(
+            @NotNull Flow.Publisher<T> publisher, @NotNull Sink<T> sink
+    ) {
+        var result = new CompletableFuture<Void>();
+
+        publisher.subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(T item) {
+                sink.emit(item).whenComplete((v, e) -> {
+                    if(e != null || sink.isCancelled()) {
+                        subscription.cancel();
+
+                        if(e != null) {
+                            result.completeExceptionally(e);
+                        } else {
+                            result.complete(null);
+                        }
+
+                        return;
+                    }
+
+                    subscription.request(1);
+                });
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                result.complete(null);
+            }
+        });
+
+        return result;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        var subscription = new RowSubscription<T>(subscriber);
+
+        subscriber.onSubscribe(subscription);
+
+        CompletionStage<Void> run;
+
+        try {
+            run = source.run(subscription);
+        } catch (Exception e) {
+            run = CompletableFuture.failedFuture(e);
+        }
+
+        run.whenComplete((v, e) -> subscription.terminate(e));
+    }
+
+    private static final class RowSubscription<T> implements Flow.Subscription, Sink<T> {
+        private final @NotNull Flow.Subscriber<? super T> subscriber;
+        private final @NotNull ReentrantLock lock;
+        private final @NotNull AtomicBoolean done;
+
+        private long demand;
+        private boolean cancelled;
+        private @Nullable T pendingValue;
+        private @Nullable CompletableFuture<Void> pendingEmit;
+
+        public RowSubscription(@NotNull Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+            this.lock = new ReentrantLock();
+            this.done = new AtomicBoolean();
+        }
+
+        @Override
+        public CompletionStage<Void> emit(@NotNull T value) {
+            lock.lock();
+            try {
+                if(cancelled) {
+                    return CompletableFuture.completedFuture(null);
+                }
+
+                if(demand == 0) {
+                    // park the row until the subscriber requests more, the source stops reading in the meantime.
+                    pendingValue = value;
+                    pendingEmit = new CompletableFuture<>();
+                    return pendingEmit;
+                }
+
+                if(demand != Long.MAX_VALUE) {
+                    demand--;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            return deliver(value);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            lock.lock();
+            try {
+                return cancelled;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if(n <= 0) {
+                terminate(new IllegalArgumentException("Requested a non-positive number of rows: " + n));
+                cancel();
+                return;
+            }
+
+            T value;
+            CompletableFuture<Void> emit;
+
+            lock.lock();
+            try {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+
+                if(pendingEmit == null) {
+                    return;
+                }
+
+                value = pendingValue;
+                emit = pendingEmit;
+                pendingValue = null;
+                pendingEmit = null;
+
+                if(demand != Long.MAX_VALUE) {
+                    demand--;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            deliver(value).whenComplete((v, e) -> {
+                if(e != null) {
+                    emit.completeExceptionally(e);
+                } else {
+                    emit.complete(null);
+                }
+            });
+        }
+
+        @Override
+        public void cancel() {
+            CompletableFuture<Void> emit;
+
+            lock.lock();
+            try {
+                cancelled = true;
+                emit = pendingEmit;
+                pendingValue = null;
+                pendingEmit = null;
+            } finally {
+                lock.unlock();
+            }
+
+            // release the source, the rest of the result is read and dropped.
+            if(emit != null) {
+                emit.complete(null);
+            }
+        }
+
+        private CompletionStage<Void> deliver(@NotNull T value) {
+            try {
+                subscriber.onNext(value);
+                return CompletableFuture.completedFuture(null);
+            } catch (Exception e) {
+                cancel();
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        public void terminate(@Nullable Throwable error) {
+            if(!done.compareAndSet(false, true) || isCancelled()) {
+                return;
+            }
+
+            if(error instanceof CompletionException && error.getCause() != null) {
+                error = error.getCause();
+            }
+
+            if(error != null) {
+                subscriber.onError(error);
+            } else {
+                subscriber.onComplete();
+            }
+        }
+    }
+}
@@ -5,11 +5,14 @@ import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.geldata.driver.BatchStatement;
 import com.geldata.driver.Capabilities;
+import com.geldata.driver.PreparedQuery;
 import com.geldata.driver.Transaction;
 import com.geldata.driver.TransactionSettings;
 import com.geldata.driver.TransactionState;
 import com.geldata.driver.abstractions.QueryDelegate;
+import com.geldata.driver.async.AsyncSemaphore;
 import com.geldata.driver.clients.TransactableClient;
 import com.geldata.driver.datatypes.Json;
 import com.geldata.driver.exceptions.GelException;
@@ -19,9 +22,8 @@ import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.Semaphore;
+import java.util.concurrent.Flow;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
@@ -30,12 +32,12 @@ public final class TransactionImpl implements Transaction {
     private final TransactableClient client;
     private final TransactionSettings settings;
 
-    private final @NotNull Semaphore semaphore;
+    private final @NotNull AsyncSemaphore semaphore;
 
     public TransactionImpl(TransactableClient client, TransactionSettings settings) {
         this.client = client;
         this.settings = settings;
-        this.semaphore = new Semaphore(1);
+        this.semaphore = new AsyncSemaphore();
     }
 
     public <T> CompletionStage<T> run(@NotNull Function<com.geldata.driver.Transaction, CompletionStage<T>> func) {
@@ -105,13 +107,74 @@ public final class TransactionImpl implements Transaction {
     ) {
         final AtomicInteger attempts = new AtomicInteger();
 
-        return CompletableFuture.runAsync(() -> {
-            try {
-                semaphore.acquire();
-            } catch (InterruptedException e) {
-                throw new CompletionException(e);
-            }
-        }).thenCompose((v) -> executeTransactionStep(cls, query, args, capabilities, attempts, delegate));
+        return semaphore.acquire()
+                .thenCompose(releaser -> executeTransactionStep(cls, query, args, capabilities, attempts, delegate)
+                        .whenComplete((v, e) -> releaser.release())
+                );
+    }
+
+    @Override
+    public CompletionStage<List<@Nullable Object>> batch(@NotNull List<BatchStatement<?>> statements) {
+        // unlike single queries, a batch isn't retried since part of it may have taken effect.
+        return semaphore.acquire()
+                .thenCompose(releaser -> client.batch(statements).whenComplete((v, e) -> releaser.release()));
+    }
+
+    @Override
+    public <T> PreparedQuery<T> prepare(
+            @NotNull Class<T> cls,
+            @NotNull String query,
+            @NotNull EnumSet<Capabilities> capabilities
+    ) {
+        return new PreparedQueryImpl<>(cls, query, capabilities);
+    }
+
+    @Override
+    public <T> CompletionStage<List<@Nullable T>> query(
+            @NotNull PreparedQuery<T> query,
+            @Nullable Map<String, Object> args
+    ) {
+        return executeTransaction(
+                query.getResultType(), query.getQuery(), args, query.getCapabilities(),
+                (c, q, a, cap) -> client.query(query, a)
+        );
+    }
+
+    @Override
+    public <T> CompletionStage<@Nullable T> querySingle(
+            @NotNull PreparedQuery<T> query,
+            @Nullable Map<String, Object> args
+    ) {
+        return executeTransaction(
+                query.getResultType(), query.getQuery(), args, query.getCapabilities(),
+                (c, q, a, cap) -> client.querySingle(query, a)
+        );
+    }
+
+    @Override
+    public <T> CompletionStage<@NotNull T> queryRequiredSingle(
+            @NotNull PreparedQuery<T> query,
+            @Nullable Map<String, Object> args
+    ) {
+        return executeTransaction(
+                query.getResultType(), query.getQuery(), args, query.getCapabilities(),
+                (c, q, a, cap) -> client.queryRequiredSingle(query, a)
+        );
+    }
+
+    @Override
+    public <T> Flow.Publisher<T> queryStream(
+            @NotNull Class<T> cls,
+            @NotNull String query,
+            @Nullable Map<String, Object> args,
+            @NotNull EnumSet<Capabilities> capabilities
+    ) {
+        // like batches, streams aren't retried since rows may have already been emitted.
+        return new RowPublisher<>(sink -> semaphore.acquire()
+                .thenCompose(releaser -> RowPublisher.forward(client.queryStream(cls, query, args, capabilities), sink)
+                        .whenComplete((v, e) -> releaser.release())
+                )
+        );
     }
 
     @Override
@@ -2,6 +2,7 @@ package com.geldata.driver.state;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Consumer;
@@ -48,9 +49,10 @@ public final class Session {
      */
     public Session(String module, Map<String, String> aliases, Config config, Map<String, Object> globals) {
         this.module = module;
-        this.aliases = aliases;
+        // copied so the session stays immutable, clients cache its encoding per instance.
+        this.aliases = aliases == null ? null : Collections.unmodifiableMap(new HashMap<>(aliases));
         this.config = config;
-        this.globals = globals;
+        this.globals = globals == null ? null : Collections.unmodifiableMap(new HashMap<>(globals));
     }
 
     /**
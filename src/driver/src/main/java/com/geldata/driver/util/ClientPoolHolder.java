@@ -5,75 +5,218 @@ import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.geldata.driver.AcquirePriority;
 import com.geldata.driver.clients.BaseGelClient;
+import com.geldata.driver.exceptions.PoolAcquireTimeoutException;
+import com.geldata.driver.exceptions.PoolExhaustedException;
 
-import java.util.Objects;
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
+/**
+ * Hands out permits to use a client from a client pool. When no permit is free, acquirers wait in one lane per
+ * {@linkplain AcquirePriority}, bounded by a maximum waiter count and an acquire timeout.
+ */
 public final class ClientPoolHolder {
     private static final Logger logger = LoggerFactory.getLogger(ClientPoolHolder.class);
+    private static final AcquirePriority[] PRIORITIES = AcquirePriority.values();
 
-    private long size;
-    private final @NotNull ConcurrentLinkedQueue<CompletableFuture<Void>> queue;
-
+    private final @NotNull AtomicLong size;
     private final @NotNull AtomicLong count;
+    private final @NotNull ConcurrentLinkedQueue<CompletableFuture<Void>>[] lanes;
+    private final @NotNull AtomicInteger waiters;
+    private final @NotNull AtomicInteger dispatchRequests;
+    private final int maxWaiters;
+    private final @Nullable Duration acquireTimeout;
 
     public ClientPoolHolder(int initialSize) {
-        this.size = initialSize;
-        this.queue = new ConcurrentLinkedQueue<>();
-        this.count = new AtomicLong(size);
+        this(initialSize, Integer.MAX_VALUE, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ClientPoolHolder(int initialSize, int maxWaiters, @Nullable Duration acquireTimeout) {
+        this.size = new AtomicLong(initialSize);
+        this.count = new AtomicLong(initialSize);
+        this.lanes = new ConcurrentLinkedQueue[PRIORITIES.length];
+        this.waiters = new AtomicInteger();
+        this.dispatchRequests = new AtomicInteger();
+        this.maxWaiters = maxWaiters;
+        this.acquireTimeout = acquireTimeout;
+
+        for(int i = 0; i != lanes.length; i++) {
+            lanes[i] = new ConcurrentLinkedQueue<>();
+        }
     }
 
     public long remaining() {
-        return this.size - count.get();
+        return this.size.get() - count.get();
+    }
+
+    public int waiting() {
+        return this.waiters.get();
     }
 
     public void resize(long newValue) {
-        if(newValue == this.size) {
-            return;
+        long oldValue;
+
+        do {
+            oldValue = this.size.get();
+
+            if(newValue == oldValue) {
+                return;
+            }
+        } while(!this.size.compareAndSet(oldValue, newValue));
+
+        count.addAndGet(newValue - oldValue);
+
+        if(newValue > oldValue) {
+            dispatch();
         }
+    }
 
-        count.getAndUpdate(v -> v + (newValue - size));
-        this.size = newValue;
+    /**
+     * Acquires a permit at {@linkplain AcquirePriority#NORMAL} priority.
+     * @return A {@linkplain CompletionStage} completed once a permit is acquired.
+     * @see #acquire(AcquirePriority)
+     */
+    public CompletionStage<Void> acquire() {
+        return acquire(AcquirePriority.NORMAL);
     }
 
-    public CompletionStage<PoolContract> acquireContract() {
-        var c = count.decrementAndGet();
+    /**
+     * Acquires a permit, waiting in the lane of the given priority if none is free. The returned stage fails with a
+     * {@linkplain PoolExhaustedException} if the waiter queue is full, or a {@linkplain PoolAcquireTimeoutException}
+     * if no permit could be acquired within the acquire timeout. A successfully acquired permit must be given back
+     * with {@linkplain #release()}, usually by closing a {@linkplain PoolContract}.
+     * @param priority The priority of the acquirer.
+     * @return A {@linkplain CompletionStage} completed once a permit is acquired.
+     */
+    public CompletionStage<Void> acquire(@NotNull AcquirePriority priority) {
+        // don't barge ahead of queued waiters.
+        if(!hasWaiters() && tryAcquire()) {
+            return CompletableFuture.completedFuture(null);
+        }
 
-        if(c < 0) {
-            count.compareAndSet(-1, 0);
+        if(this.waiters.incrementAndGet() > this.maxWaiters) {
+            this.waiters.decrementAndGet();
+            return CompletableFuture.failedFuture(new PoolExhaustedException(this.maxWaiters));
+        }
 
-            var promise = new CompletableFuture<Void>();
+        var lane = this.lanes[priority.ordinal()];
+        var waiter = new CompletableFuture<Void>();
 
-            queue.add(promise);
+        waiter.whenComplete((v, e) -> {
+            this.waiters.decrementAndGet();
 
-            return promise.thenApply(v -> lendContract());
-        }
-        else {
-            return CompletableFuture.completedFuture(lendContract());
+            if(e != null) {
+                lane.remove(waiter);
+            }
+        });
+
+        lane.add(waiter);
+
+        CompletableFuture<Void> result = waiter;
+
+        if(this.acquireTimeout != null) {
+            var timeout = this.acquireTimeout;
+
+            // the timer is cancelled as soon as the waiter completes, so a granted waiter doesn't stay reachable from
+            // it for the rest of the timeout.
+            result = waiter
+                    .orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS)
+                    .exceptionally(e -> {
+                        throw new CompletionException(
+                                e instanceof TimeoutException ? new PoolAcquireTimeoutException(timeout) : e
+                        );
+                    });
         }
+
+        // a permit may have been released between the check above and enqueueing the waiter.
+        dispatch();
+
+        return result;
+    }
+
+    public boolean tryAcquire() {
+        long c;
+
+        do {
+            c = count.get();
+
+            if(c <= 0) {
+                return false;
+            }
+        } while(!count.compareAndSet(c, c - 1));
+
+        return true;
     }
 
-    private @NotNull PoolContract lendContract() {
+    public void release() {
+        count.incrementAndGet();
+        dispatch();
+    }
+
+    public @NotNull PoolContract createContract() {
         return new PoolContract(this::completeContract);
     }
 
     private void completeContract(PoolContract contract) {
         logger.debug("Completing contract {}...", contract);
+        release();
+    }
+
+    private boolean hasWaiters() {
+        for (var lane : this.lanes) {
+            if(!lane.isEmpty()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private @Nullable CompletableFuture<Void> pollWaiter() {
+        for (var lane : this.lanes) {
+            var waiter = lane.poll();
 
-        if(queue.isEmpty()) {
-            logger.debug("Empty contract queue, incrementing count");
-            count.incrementAndGet();
+            if(waiter != null) {
+                return waiter;
+            }
+        }
+
+        return null;
+    }
+
+    private void dispatch() {
+        // both releasing and enqueueing end with a dispatch, so a free permit and a waiter can never miss each other.
+        // only one dispatch drains at a time: completing a waiter can release a permit from within the completion,
+        // which is picked up by the running loop instead of recursing.
+        if(dispatchRequests.getAndIncrement() != 0) {
             return;
         }
 
+        int requests = 1;
+
+        do {
+            while(hasWaiters() && tryAcquire()) {
+                var waiter = pollWaiter();
 
-        logger.debug("Polling queue and completing...");
-        Objects.requireNonNull(queue.poll()).complete(null);
+                if(waiter == null || !waiter.complete(null)) {
+                    // lost the waiter to its timeout, give the permit back.
+                    count.incrementAndGet();
+                }
+            }
+
+            requests = dispatchRequests.addAndGet(-requests);
+        } while(requests != 0);
     }
 
     public static class PoolContract implements AutoCloseable {
@@ -92,11 +235,12 @@ public final class ClientPoolHolder {
 
         @Override
         public void close() {
-            this.completer.accept(this);
-
+            // return the client before its permit, so the next waiter can pick it up instead of creating a client.
             if(client != null && onComplete != null) {
                 onComplete.accept(client);
             }
+
+            this.completer.accept(this);
         }
 
         @Override
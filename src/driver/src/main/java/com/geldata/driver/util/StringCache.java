@@ -0,0 +1,93 @@
+package com.geldata.driver.util;
+
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A bounded, direct-mapped cache of decoded strings. Short ASCII values are hashed straight from the buffer and, if an
+ * identical string was decoded before, the cached instance is returned instead of allocating a new one. Colliding
+ * values simply replace each other, so the cache never grows past its size.
+ * <p>
+ * The cache is safe to share between threads without locking: strings are immutable, so a racing reader either sees
+ * a complete entry or misses.
+ */
+public final class StringCache {
+    // longer values are unlikely to repeat, and would only evict the short ones that do.
+    private static final int MAX_LENGTH = 64;
+
+    private final String[] entries;
+    private final int mask;
+
+    public StringCache(int size) {
+        if(size <= 0) {
+            throw new IllegalArgumentException("String cache size must be greater than zero");
+        }
+
+        var capacity = Integer.highestOneBit(Math.min(size, 1 << 30));
+
+        if(capacity < size) {
+            capacity <<= 1;
+        }
+
+        this.entries = new String[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Decodes a UTF-8 string from the buffer, returning a cached instance if an identical short ASCII string was
+     * decoded before. The reader index of the buffer isn't changed.
+     * @param buffer The buffer to decode from.
+     * @param index The index of the first byte of the string.
+     * @param length The number of bytes of the string.
+     * @return The decoded string.
+     */
+    public @NotNull String get(@NotNull ByteBuf buffer, int index, int length) {
+        if(length == 0) {
+            return "";
+        }
+
+        if(length > MAX_LENGTH) {
+            return buffer.toString(index, length, StandardCharsets.UTF_8);
+        }
+
+        // matches String.hashCode() for ASCII, which lets cached strings reject mismatches with their cached hash.
+        var hash = 0;
+
+        for(int i = 0; i != length; i++) {
+            var b = buffer.getByte(index + i);
+
+            if(b < 0) {
+                return buffer.toString(index, length, StandardCharsets.UTF_8);
+            }
+
+            hash = 31 * hash + b;
+        }
+
+        var slot = (hash ^ (hash >>> 16)) & mask;
+        var cached = entries[slot];
+
+        if(cached != null && cached.hashCode() == hash && matches(cached, buffer, index, length)) {
+            return cached;
+        }
+
+        var value = buffer.toString(index, length, StandardCharsets.US_ASCII);
+        entries[slot] = value;
+        return value;
+    }
+
+    private static boolean matches(@NotNull String value, @NotNull ByteBuf buffer, int index, int length) {
+        if(value.length() != length) {
+            return false;
+        }
+
+        for(int i = 0; i != length; i++) {
+            if(value.charAt(i) != buffer.getByte(index + i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
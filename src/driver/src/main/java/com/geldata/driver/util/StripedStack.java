@@ -0,0 +1,196 @@
+package com.geldata.driver.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A lock-free LIFO collection split into a power-of-two number of stripes. Threads push to and pop from the stripe
+ * derived from their thread id, falling back to stealing from the other stripes when their own stripe is empty, so
+ * uncontended pushes and pops are a single CAS on a stripe head. A pop that finds every stripe empty while
+ * {@linkplain #removeIf(Predicate, Consumer)} has a stripe detached waits for it instead of reporting the stack empty.
+ * @param <T> The type of the elements within the stack.
+ */
+public final class StripedStack<T> {
+    private static final int MAX_STRIPES = 64;
+
+    private static final class Node<T> {
+        final T value;
+        Node<T> next;
+
+        Node(T value) {
+            this.value = value;
+        }
+    }
+
+    private final @NotNull AtomicReferenceArray<Node<T>> heads;
+    private final int mask;
+
+    // incremented when a sweep of removeIf starts and when it ends, so it's odd while a stripe may be detached.
+    private final @NotNull AtomicInteger sweeps;
+    private final @NotNull ReentrantLock sweepLock;
+
+    public StripedStack() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public StripedStack(int concurrency) {
+        int stripes = 1;
+
+        while(stripes < concurrency && stripes < MAX_STRIPES) {
+            stripes <<= 1;
+        }
+
+        this.heads = new AtomicReferenceArray<>(stripes);
+        this.mask = stripes - 1;
+        this.sweeps = new AtomicInteger();
+        this.sweepLock = new ReentrantLock();
+    }
+
+    public void push(@NotNull T value) {
+        push(stripe(), value);
+    }
+
+    public @Nullable T pop() {
+        var start = stripe();
+
+        while(true) {
+            var sweep = sweeps.get();
+
+            for(int i = 0; i <= mask; i++) {
+                var value = pop((start + i) & mask);
+
+                if(value != null) {
+                    return value;
+                }
+            }
+
+            // the stack only counts as empty if no sweep had a stripe detached while it was scanned, otherwise the
+            // caller would see an empty stack while its elements are being tested.
+            if((sweep & 1) == 0 && sweeps.get() == sweep) {
+                return null;
+            }
+
+            Thread.onSpinWait();
+        }
+    }
+
+    public boolean isEmpty() {
+        while(true) {
+            var sweep = sweeps.get();
+            var empty = true;
+
+            for(int i = 0; i <= mask && empty; i++) {
+                empty = heads.get(i) == null;
+            }
+
+            if(!empty || ((sweep & 1) == 0 && sweeps.get() == sweep)) {
+                return empty;
+            }
+
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Removes all elements matching the predicate, invoking {@code onRemoved} for each removed element once all the
+     * remaining elements are back in the stack. Concurrent sweeps are serialized.
+     * @param predicate The predicate used to select elements to remove.
+     * @param onRemoved The consumer called with each removed element.
+     * @return The number of removed elements.
+     */
+    public int removeIf(@NotNull Predicate<T> predicate, @NotNull Consumer<T> onRemoved) {
+        var removed = new ArrayList<T>();
+
+        sweepLock.lock();
+        try {
+            sweeps.incrementAndGet();
+
+            try {
+                for(int i = 0; i <= mask; i++) {
+                    // detach the whole stripe, then splice the survivors back. Survivors get fresh nodes so that a
+                    // concurrent pop holding a stale head can never succeed its CAS against a re-inserted node.
+                    var node = heads.getAndSet(i, null);
+                    Node<T> survivors = null;
+                    Node<T> tail = null;
+
+                    while(node != null) {
+                        if(predicate.test(node.value)) {
+                            removed.add(node.value);
+                        } else {
+                            var survivor = new Node<>(node.value);
+
+                            if(tail == null) {
+                                survivors = survivor;
+                            } else {
+                                tail.next = survivor;
+                            }
+
+                            tail = survivor;
+                        }
+
+                        node = node.next;
+                    }
+
+                    if(survivors != null) {
+                        splice(i, survivors, tail);
+                    }
+                }
+            } finally {
+                sweeps.incrementAndGet();
+            }
+        } finally {
+            sweepLock.unlock();
+        }
+
+        for (var value : removed) {
+            onRemoved.accept(value);
+        }
+
+        return removed.size();
+    }
+
+    private void splice(int stripe, @NotNull Node<T> first, @NotNull Node<T> last) {
+        Node<T> head;
+
+        do {
+            head = heads.get(stripe);
+            last.next = head;
+        } while(!heads.compareAndSet(stripe, head, first));
+    }
+
+    private void push(int stripe, T value) {
+        var node = new Node<>(value);
+        Node<T> head;
+
+        do {
+            head = heads.get(stripe);
+            node.next = head;
+        } while(!heads.compareAndSet(stripe, head, node));
+    }
+
+    private @Nullable T pop(int stripe) {
+        Node<T> head;
+
+        do {
+            head = heads.get(stripe);
+
+            if(head == null) {
+                return null;
+            }
+        } while(!heads.compareAndSet(stripe, head, head.next));
+
+        return head.value;
+    }
+
+    private int stripe() {
+        var id = Thread.currentThread().getId();
+        return (int)(id ^ (id >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,82 @@
+import org.junit.jupiter.api.Test;
+
+import com.geldata.driver.AcquirePriority;
+import com.geldata.driver.exceptions.PoolAcquireTimeoutException;
+import com.geldata.driver.exceptions.PoolExhaustedException;
+import com.geldata.driver.util.ClientPoolHolder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ClientPoolHolderTests {
+    @Test
+    public void testWaitersAreServedByPriority() {
+        var holder = new ClientPoolHolder(1);
+
+        assertThat(holder.acquire().toCompletableFuture()).isCompleted();
+
+        var order = new ArrayList<AcquirePriority>();
+
+        holder.acquire(AcquirePriority.LOW).thenRun(() -> order.add(AcquirePriority.LOW));
+        holder.acquire(AcquirePriority.NORMAL).thenRun(() -> order.add(AcquirePriority.NORMAL));
+        holder.acquire(AcquirePriority.HIGH).thenRun(() -> order.add(AcquirePriority.HIGH));
+
+        assertThat(holder.waiting()).isEqualTo(3);
+
+        holder.release();
+        holder.release();
+        holder.release();
+
+        assertThat(order).containsExactly(AcquirePriority.HIGH, AcquirePriority.NORMAL, AcquirePriority.LOW);
+        assertThat(holder.waiting()).isZero();
+    }
+
+    @Test
+    public void testWaiterLimitFailsFast() {
+        var holder = new ClientPoolHolder(1, 1, null);
+
+        assertThat(holder.acquire().toCompletableFuture()).isCompleted();
+        assertThat(holder.acquire().toCompletableFuture()).isNotDone();
+
+        assertThatThrownBy(() -> holder.acquire().toCompletableFuture().get())
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(PoolExhaustedException.class);
+    }
+
+    @Test
+    public void testAcquireTimesOut() {
+        var holder = new ClientPoolHolder(1, Integer.MAX_VALUE, Duration.ofMillis(50));
+
+        assertThat(holder.acquire().toCompletableFuture()).isCompleted();
+
+        assertThatThrownBy(() -> holder.acquire().toCompletableFuture().get())
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(PoolAcquireTimeoutException.class);
+
+        // the timed out waiter must not swallow the released permit.
+        holder.release();
+        assertThat(holder.acquire().toCompletableFuture()).isCompleted();
+    }
+
+    @Test
+    public void testGrantedWaiterOutlivesItsTimeout() throws Exception {
+        var holder = new ClientPoolHolder(1, Integer.MAX_VALUE, Duration.ofMillis(50));
+
+        assertThat(holder.acquire().toCompletableFuture()).isCompleted();
+
+        var waiter = holder.acquire().toCompletableFuture();
+        holder.release();
+
+        assertThat(waiter).isCompleted();
+
+        Thread.sleep(100);
+
+        assertThat(waiter).isCompleted();
+        assertThat(holder.waiting()).isZero();
+        assertThat(holder.tryAcquire()).isFalse();
+    }
+}
@@ -0,0 +1,120 @@
+import org.junit.jupiter.api.Test;
+
+import com.geldata.driver.GelClientConfig;
+import com.geldata.driver.GelConnection;
+import com.geldata.driver.GeneratedDeserializer;
+import com.geldata.driver.binary.PacketReader;
+import com.geldata.driver.binary.PacketWriter;
+import com.geldata.driver.binary.codecs.CodecContext;
+import com.geldata.driver.binary.codecs.ObjectCodec;
+import com.geldata.driver.binary.codecs.scalars.Integer32Codec;
+import com.geldata.driver.binary.codecs.scalars.TextCodec;
+import com.geldata.driver.binary.protocol.common.Cardinality;
+import com.geldata.driver.clients.GelTcpClient;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.geldata.driver.binary.codecs.ObjectCodec.propertyOf;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GeneratedDeserializerTests {
+    private static final AtomicInteger generatedCalls = new AtomicInteger();
+
+    public static class Person {
+        public String name;
+        public int age;
+    }
+
+    // looked up by name the same way as a deserializer emitted by the annotation processor.
+    public static final class Person_GelDeserializer implements GeneratedDeserializer<Person> {
+        @Override
+        public String[] getPropertyNames() {
+            return new String[] {"name", "age"};
+        }
+
+        @Override
+        public Person deserialize(Object[] v, boolean useSetters) {
+            generatedCalls.incrementAndGet();
+
+            var o = new Person();
+            if(v[0] != MISSING) {
+                o.name = GeneratedDeserializer.convert(String.class, v[0]);
+            }
+            if(v[1] != MISSING) {
+                o.age = GeneratedDeserializer.convert(int.class, v[1]);
+            }
+            return o;
+        }
+    }
+
+    @Test
+    public void testGeneratedFactoryBindsShapeElements() throws Exception {
+        var context = createContext();
+
+        // the shape has an element the type doesn't know about, between the ones it does.
+        var codec = new ObjectCodec(UUID.randomUUID(), null, null,
+                propertyOf("name", Cardinality.ONE, new TextCodec(null)),
+                propertyOf("extra", Cardinality.ONE, new Integer32Codec(null)),
+                propertyOf("age", Cardinality.ONE, new Integer32Codec(null))
+        );
+
+        var typeCodec = codec.getOrCreateTypeCodec(Person.class);
+        var calls = generatedCalls.get();
+
+        // the slots are bound once per shape, decoding a second row must reuse them.
+        for(int i = 0; i != 2; i++) {
+            var data = new PacketWriter();
+            data.write(3);
+            writeText(data, "Alice");
+            writeInt(data, 99);
+            writeInt(data, 30 + i);
+
+            var person = (Person) typeCodec.deserialize(new PacketReader(data.getBuffer()), context);
+
+            assertThat(person).isNotNull();
+            assertThat(person.name).isEqualTo("Alice");
+            assertThat(person.age).isEqualTo(30 + i);
+        }
+
+        assertThat(generatedCalls.get() - calls).isEqualTo(2);
+    }
+
+    @Test
+    public void testGeneratedFactoryMarksMissingProperties() throws Exception {
+        var context = createContext();
+
+        var codec = new ObjectCodec(UUID.randomUUID(), null, null,
+                propertyOf("name", Cardinality.AT_MOST_ONE, new TextCodec(null))
+        );
+
+        var data = new PacketWriter();
+        data.write(1);
+        data.write(0); // reserved
+        data.write(-1); // null
+
+        var person = (Person) codec.getOrCreateTypeCodec(Person.class).deserialize(new PacketReader(data.getBuffer()), context);
+
+        assertThat(person).isNotNull();
+        assertThat(person.name).isNull();
+        assertThat(person.age).isEqualTo(0);
+    }
+
+    private static CodecContext createContext() throws Exception {
+        var connection = GelConnection.builder().withHost("localhost").withPort(5656).build();
+
+        // the client never connects, it only provides the config to the codecs.
+        return new CodecContext(new GelTcpClient(connection, GelClientConfig.DEFAULT, () -> {}));
+    }
+
+    private static void writeText(PacketWriter writer, String value) throws Exception {
+        writer.write(0); // reserved
+        writer.write(value);
+    }
+
+    private static void writeInt(PacketWriter writer, int value) throws Exception {
+        writer.write(0); // reserved
+        writer.write(4);
+        writer.write(value);
+    }
+}
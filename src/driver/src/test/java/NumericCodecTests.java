@@ -0,0 +1,105 @@
+import org.junit.jupiter.api.Test;
+
+import com.geldata.driver.binary.PacketReader;
+import com.geldata.driver.binary.PacketWriter;
+import com.geldata.driver.binary.codecs.Codec;
+import com.geldata.driver.binary.codecs.scalars.BigIntCodec;
+import com.geldata.driver.binary.codecs.scalars.DecimalCodec;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NumericCodecTests {
+    private static final DecimalCodec DECIMAL_CODEC = new DecimalCodec(null);
+    private static final BigIntCodec BIGINT_CODEC = new BigIntCodec(null);
+
+    private static <T> byte[] serialize(Codec<T> codec, T value) throws Exception {
+        var writer = new PacketWriter();
+        codec.serialize(writer, value, null);
+
+        var buffer = writer.getBuffer();
+        var bytes = new byte[buffer.readableBytes()];
+        buffer.readBytes(bytes);
+        return bytes;
+    }
+
+    private static <T> T roundTrip(Codec<T> codec, T value) throws Exception {
+        var writer = new PacketWriter();
+        codec.serialize(writer, value, null);
+        return codec.deserialize(new PacketReader(writer.getBuffer()), null);
+    }
+
+    @Test
+    public void testDecimalEncoding() throws Exception {
+        // ndigits, weight, sign, dscale, digits
+        assertThat(serialize(DECIMAL_CODEC, new BigDecimal("-1234.5678"))).containsExactly(
+                0, 2, 0, 0, 0x40, 0, 0, 4,
+                0x04, (byte)0xD2, 0x16, 0x2E
+        );
+
+        assertThat(serialize(DECIMAL_CODEC, new BigDecimal("0.0005"))).containsExactly(
+                0, 1, (byte)0xFF, (byte)0xFF, 0, 0, 0, 4,
+                0, 5
+        );
+
+        assertThat(serialize(DECIMAL_CODEC, new BigDecimal("0.00"))).containsExactly(
+                0, 0, 0, 0, 0, 0, 0, 2
+        );
+    }
+
+    @Test
+    public void testDecimalRoundTrip() throws Exception {
+        var values = new String[] {
+                "0", "0.00", "1", "-1", "1234.5678", "-0.5", "0.0005", "1E+5", "10000", "100000000.0001",
+                "12345678901234567890.123456789", "-98765432109876543210987654321.00000000001", "1E+40", "3.14159E-30"
+        };
+
+        for (var value : values) {
+            var decimal = new BigDecimal(value);
+            var result = roundTrip(DECIMAL_CODEC, decimal);
+
+            assertThat(result).isEqualByComparingTo(decimal);
+            assertThat(result.scale()).isEqualTo(Math.max(decimal.scale(), 0));
+        }
+
+        var random = new Random(0);
+
+        for (int i = 0; i != 1000; i++) {
+            var decimal = new BigDecimal(new BigInteger(random.nextInt(200) + 1, random), random.nextInt(60) - 20);
+            assertThat(roundTrip(DECIMAL_CODEC, decimal)).isEqualByComparingTo(decimal);
+        }
+    }
+
+    @Test
+    public void testBigIntEncoding() throws Exception {
+        // ndigits, weight, sign, reserved, digits
+        assertThat(serialize(BIGINT_CODEC, new BigInteger("-1000000000000"))).containsExactly(
+                0, 1, 0, 3, 0x40, 0, 0, 0,
+                0, 1
+        );
+
+        assertThat(serialize(BIGINT_CODEC, BigInteger.ZERO)).containsExactly(
+                0, 0, 0, 0, 0, 0, 0, 0
+        );
+    }
+
+    @Test
+    public void testBigIntRoundTrip() throws Exception {
+        var random = new Random(0);
+
+        for (int i = 0; i != 1000; i++) {
+            var value = new BigInteger(random.nextInt(400) + 1, random);
+
+            if(random.nextBoolean()) {
+                value = value.negate();
+            }
+
+            assertThat(roundTrip(BIGINT_CODEC, value)).isEqualTo(value);
+        }
+
+        assertThat(roundTrip(BIGINT_CODEC, BigInteger.TEN.pow(100))).isEqualTo(BigInteger.TEN.pow(100));
+    }
+}
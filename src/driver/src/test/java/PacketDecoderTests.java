@@ -0,0 +1,127 @@
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import com.geldata.driver.binary.PacketDecoder;
+import com.geldata.driver.binary.protocol.Receivable;
+import com.geldata.driver.binary.protocol.ServerMessageType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PacketDecoderTests {
+    private static final class RawMessage implements Receivable {
+        final ServerMessageType type;
+        final int length;
+        final long checksum;
+
+        RawMessage(ServerMessageType type, int length, long checksum) {
+            this.type = type;
+            this.length = length;
+            this.checksum = checksum;
+        }
+
+        @Override
+        public ServerMessageType getMessageType() {
+            return type;
+        }
+    }
+
+    private static EmbeddedChannel createChannel() {
+        return new EmbeddedChannel(new PacketDecoder((type, length, data) -> {
+            long checksum = 0;
+
+            while(data.isReadable()) {
+                checksum += data.readByte();
+            }
+
+            return new RawMessage(type, length, checksum);
+        }));
+    }
+
+    private static ByteBuf createMessage(ServerMessageType type, int length) {
+        var buffer = Unpooled.buffer(PacketDecoder.HEADER_SIZE + length);
+        buffer.writeByte(type.getValue());
+        buffer.writeInt(length + 4);
+
+        for(int i = 0; i != length; i++) {
+            buffer.writeByte(i);
+        }
+
+        return buffer;
+    }
+
+    private static long checksum(int length) {
+        long checksum = 0;
+
+        for(int i = 0; i != length; i++) {
+            checksum += (byte)i;
+        }
+
+        return checksum;
+    }
+
+    private static List<RawMessage> feed(EmbeddedChannel channel, ByteBuf data, int chunkSize) {
+        while(data.isReadable()) {
+            channel.writeInbound(data.readRetainedSlice(Math.min(chunkSize, data.readableBytes())));
+        }
+
+        data.release();
+
+        var messages = new ArrayList<RawMessage>();
+        RawMessage message;
+
+        while((message = channel.readInbound()) != null) {
+            messages.add(message);
+        }
+
+        return messages;
+    }
+
+    @Test
+    public void testMessagesSplitAcrossReads() {
+        var data = Unpooled.buffer();
+
+        data.writeBytes(createMessage(ServerMessageType.READY_FOR_COMMAND, 3));
+        data.writeBytes(createMessage(ServerMessageType.DATA, 0));
+        data.writeBytes(createMessage(ServerMessageType.DATA, 1000));
+        data.writeBytes(createMessage(ServerMessageType.COMMAND_COMPLETE, 17));
+
+        // every chunk size splits the headers and bodies at different offsets.
+        for(int chunkSize = 1; chunkSize != 12; chunkSize++) {
+            var channel = createChannel();
+            var messages = feed(channel, data.retainedDuplicate(), chunkSize);
+
+            assertThat(messages).extracting(v -> v.type).containsExactly(
+                    ServerMessageType.READY_FOR_COMMAND,
+                    ServerMessageType.DATA,
+                    ServerMessageType.DATA,
+                    ServerMessageType.COMMAND_COMPLETE
+            );
+            assertThat(messages).extracting(v -> v.length).containsExactly(3, 0, 1000, 17);
+            assertThat(messages.get(2).checksum).isEqualTo(checksum(1000));
+
+            channel.finishAndReleaseAll();
+        }
+
+        data.release();
+    }
+
+    @Test
+    public void testLargeMessageAcrossManyReads() {
+        var channel = createChannel();
+        var length = 4 * 1024 * 1024;
+
+        // socket sized reads, the message is only decoded once its last read arrives.
+        var messages = feed(channel, createMessage(ServerMessageType.DATA, length), 64 * 1024);
+
+        assertThat(messages).hasSize(1);
+        assertThat(messages.get(0).length).isEqualTo(length);
+        assertThat(messages.get(0).checksum).isEqualTo(checksum(length));
+
+        channel.finishAndReleaseAll();
+    }
+}
@@ -0,0 +1,100 @@
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import com.geldata.driver.binary.PacketReader;
+import com.geldata.driver.binary.PacketWriter;
+import com.geldata.driver.binary.codecs.Codec;
+import com.geldata.driver.binary.codecs.PrimitiveArrayCodec;
+import com.geldata.driver.binary.codecs.scalars.Integer64Codec;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PacketWriterTests {
+    @Test
+    public void testPrimitiveWritesRoundTrip() throws Exception {
+        var writer = new PacketWriter();
+
+        // starts at 512 bytes, so this also covers growing the buffer.
+        for(int i = 0; i != 1000; i++) {
+            writer.write((long)i << 32);
+            writer.write(i);
+            writer.write((short)i);
+            writer.write((byte)i);
+            writer.write(i / 3d);
+            writer.write(i / 3f);
+            writer.write(i % 2 == 0);
+        }
+
+        var reader = new PacketReader(writer.getBuffer());
+
+        for(int i = 0; i != 1000; i++) {
+            assertThat(reader.readInt64()).isEqualTo((long)i << 32);
+            assertThat(reader.readInt32()).isEqualTo(i);
+            assertThat(reader.readInt16()).isEqualTo((short)i);
+            assertThat(reader.readByte()).isEqualTo((byte)i);
+            assertThat(reader.readDouble()).isEqualTo(i / 3d);
+            assertThat(reader.readFloat()).isEqualTo(i / 3f);
+            assertThat(reader.readBoolean()).isEqualTo(i % 2 == 0);
+        }
+
+        assertThat(reader.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testPrimitiveArrayEncoding() throws Exception {
+        Codec<Object> codec = PrimitiveArrayCodec.tryCreate(UUID.randomUUID(), null, long[].class, new Integer64Codec(null), false);
+        assertThat(codec).isNotNull();
+
+        var values = new long[1000];
+        var expected = Unpooled.buffer();
+
+        expected.writeInt(1); // dimensions
+        expected.writeInt(0); // reserved
+        expected.writeInt(0); // reserved
+        expected.writeInt(values.length); // upper
+        expected.writeInt(1); // lower
+
+        for(int i = 0; i != values.length; i++) {
+            values[i] = i * 31L - 500;
+
+            expected.writeInt(8);
+            expected.writeLong(values[i]);
+        }
+
+        var writer = new PacketWriter();
+        codec.serialize(writer, values, null);
+        var buffer = writer.getBuffer();
+
+        try {
+            assertThat(ByteBufUtil.getBytes(buffer)).isEqualTo(ByteBufUtil.getBytes(expected));
+
+            // the buffer grows geometrically from its initial 512 bytes rather than by each write.
+            assertThat(buffer.capacity()).isBetween(expected.readableBytes(), expected.readableBytes() * 2);
+
+            assertThat((long[]) codec.deserialize(new PacketReader(buffer.duplicate()), null)).containsExactly(values);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Test
+    public void testFixedSizeWriterDoesNotGrow() throws Exception {
+        var writer = new PacketWriter(8);
+        writer.write(42L);
+
+        assertThatThrownBy(() -> writer.write(1)).isInstanceOf(IndexOutOfBoundsException.class);
+
+        var buffer = writer.getBuffer();
+
+        try {
+            assertThat(buffer.readableBytes()).isEqualTo(8);
+            assertThat(buffer.getLong(0)).isEqualTo(42L);
+        } finally {
+            buffer.release();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import com.geldata.driver.binary.PacketReader;
+import com.geldata.driver.binary.PacketWriter;
+import com.geldata.driver.binary.codecs.Codec;
+import com.geldata.driver.binary.codecs.PrimitiveArrayCodec;
+import com.geldata.driver.binary.codecs.scalars.BoolCodec;
+import com.geldata.driver.binary.codecs.scalars.Float32Codec;
+import com.geldata.driver.binary.codecs.scalars.Float64Codec;
+import com.geldata.driver.binary.codecs.scalars.Integer16Codec;
+import com.geldata.driver.binary.codecs.scalars.Integer32Codec;
+import com.geldata.driver.binary.codecs.scalars.Integer64Codec;
+import com.geldata.driver.exceptions.GelException;
+
+import javax.naming.OperationNotSupportedException;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PrimitiveArrayCodecTests {
+    private static Codec<Object> createCodec(Class<?> cls, Codec<?> innerCodec) {
+        Codec<Object> codec = PrimitiveArrayCodec.tryCreate(UUID.randomUUID(), null, cls, innerCodec, false);
+        assertThat(codec).isNotNull();
+        return codec;
+    }
+
+    private static Object roundTrip(Codec<Object> codec, Object value) throws Exception {
+        var writer = new PacketWriter();
+        codec.serialize(writer, value, null);
+        var buffer = writer.getBuffer();
+
+        try {
+            var reader = new PacketReader(buffer);
+            var result = codec.deserialize(reader, null);
+
+            assertThat(reader.isEmpty()).isTrue();
+
+            return result;
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Test
+    public void testLongArrayRoundTrip() throws Exception {
+        var codec = createCodec(long[].class, new Integer64Codec(null));
+        var values = new long[] { Long.MIN_VALUE, -1, 0, 1, Long.MAX_VALUE };
+
+        assertThat((long[]) roundTrip(codec, values)).containsExactly(values);
+    }
+
+    @Test
+    public void testIntArrayRoundTrip() throws Exception {
+        var codec = createCodec(int[].class, new Integer32Codec(null));
+        var values = new int[] { Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE };
+
+        assertThat((int[]) roundTrip(codec, values)).containsExactly(values);
+    }
+
+    @Test
+    public void testDoubleArrayRoundTrip() throws Exception {
+        var codec = createCodec(double[].class, new Float64Codec(null));
+        var values = new double[] { -Double.MAX_VALUE, -0.5, 0, Double.MIN_VALUE, Double.NaN, Double.POSITIVE_INFINITY };
+
+        assertThat((double[]) roundTrip(codec, values)).containsExactly(values);
+    }
+
+    @Test
+    public void testFloatArrayRoundTrip() throws Exception {
+        var codec = createCodec(float[].class, new Float32Codec(null));
+        var values = new float[] { -Float.MAX_VALUE, -0.5f, 0, Float.MIN_VALUE, Float.NaN, Float.NEGATIVE_INFINITY };
+
+        assertThat((float[]) roundTrip(codec, values)).containsExactly(values);
+    }
+
+    @Test
+    public void testShortArrayRoundTrip() throws Exception {
+        var codec = createCodec(short[].class, new Integer16Codec(null));
+        var values = new short[] { Short.MIN_VALUE, -1, 0, 1, Short.MAX_VALUE };
+
+        assertThat((short[]) roundTrip(codec, values)).containsExactly(values);
+    }
+
+    @Test
+    public void testBooleanArrayRoundTrip() throws Exception {
+        var codec = createCodec(boolean[].class, new BoolCodec(null));
+        var values = new boolean[] { true, false, false, true };
+
+        assertThat((boolean[]) roundTrip(codec, values)).containsExactly(values);
+    }
+
+    @Test
+    public void testEmptyArrays() throws Exception {
+        var codec = createCodec(long[].class, new Integer64Codec(null));
+
+        // an empty array is encoded with a single dimension, null with none; both decode as an empty array.
+        assertThat((long[]) roundTrip(codec, new long[0])).isEmpty();
+        assertThat((long[]) roundTrip(codec, null)).isEmpty();
+
+        var buffer = Unpooled.buffer();
+        buffer.writeInt(0); // dimensions
+        buffer.writeInt(0); // flags
+        buffer.writeInt(0); // reserved
+
+        try {
+            assertThat(createCodec(int[].class, new Integer32Codec(null)).deserialize(new PacketReader(buffer), null))
+                    .isInstanceOf(int[].class)
+                    .isEqualTo(new int[0]);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Test
+    public void testElementLengthMismatch() {
+        var codec = createCodec(long[].class, new Integer64Codec(null));
+
+        var buffer = Unpooled.buffer();
+        buffer.writeInt(1); // dimensions
+        buffer.writeInt(0); // flags
+        buffer.writeInt(0); // reserved
+        buffer.writeInt(1); // upper
+        buffer.writeInt(1); // lower
+        buffer.writeInt(4); // element length, a long is 8 bytes
+        buffer.writeInt(42);
+
+        try {
+            assertThatThrownBy(() -> codec.deserialize(new PacketReader(buffer), null))
+                    .isInstanceOf(GelException.class)
+                    .hasMessageContaining("Expected an element of 8 bytes for a long array, but got 4");
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Test
+    public void testMismatchedElementCodec() {
+        assertThat(PrimitiveArrayCodec.tryCreate(UUID.randomUUID(), null, int[].class, new Integer64Codec(null), false))
+                .isNull();
+        assertThat(PrimitiveArrayCodec.tryCreate(UUID.randomUUID(), null, Long[].class, new Integer64Codec(null), false))
+                .isNull();
+    }
+
+    @Test
+    public void testSetsCannotBeEncoded() {
+        Codec<Object> codec = PrimitiveArrayCodec.tryCreate(UUID.randomUUID(), null, long[].class, new Integer64Codec(null), true);
+        assertThat(codec).isNotNull();
+
+        var writer = new PacketWriter();
+
+        try {
+            assertThatThrownBy(() -> codec.serialize(writer, new long[] { 1 }, null))
+                    .isInstanceOf(OperationNotSupportedException.class);
+        } finally {
+            writer.getBuffer().release();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+
+import com.geldata.driver.GelClientConfig;
+import com.geldata.driver.GelConnection;
+import com.geldata.driver.binary.PacketReader;
+import com.geldata.driver.binary.codecs.CodecContext;
+import com.geldata.driver.binary.codecs.scalars.TextCodec;
+import com.geldata.driver.clients.GelTcpClient;
+import com.geldata.driver.util.StringCache;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class StringCacheTests {
+    private static String get(StringCache cache, String value) {
+        ByteBuf buffer = Unpooled.copiedBuffer(value, StandardCharsets.UTF_8);
+
+        try {
+            var result = cache.get(buffer, 0, buffer.readableBytes());
+
+            // the cache reads the buffer without consuming it.
+            assertThat(buffer.readerIndex()).isZero();
+
+            return result;
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Test
+    public void testHitsReturnTheSameInstance() {
+        var cache = new StringCache(64);
+
+        var first = get(cache, "active");
+        var second = get(cache, "active");
+
+        assertThat(second).isEqualTo("active").isSameAs(first);
+        assertThat(get(cache, "")).isEmpty();
+    }
+
+    @Test
+    public void testReadsAtAnOffset() {
+        var cache = new StringCache(64);
+        var buffer = Unpooled.copiedBuffer("xxactivexx", StandardCharsets.US_ASCII);
+
+        try {
+            var value = cache.get(buffer, 2, 6);
+
+            assertThat(value).isEqualTo("active");
+            assertThat(get(cache, "active")).isSameAs(value);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Test
+    public void testCollisionsReplaceEntries() {
+        // a single slot, every value collides.
+        var cache = new StringCache(1);
+
+        var first = get(cache, "pending");
+        var other = get(cache, "done");
+        var replaced = get(cache, "pending");
+
+        assertThat(other).isEqualTo("done");
+        assertThat(replaced).isEqualTo("pending").isNotSameAs(first);
+        assertThat(get(cache, "pending")).isSameAs(replaced);
+    }
+
+    @Test
+    public void testNonAsciiValuesBypassTheCache() {
+        var cache = new StringCache(64);
+
+        var first = get(cache, "café");
+        var second = get(cache, "café");
+
+        assertThat(first).isEqualTo("café");
+        assertThat(second).isEqualTo("café").isNotSameAs(first);
+    }
+
+    @Test
+    public void testLongValuesBypassTheCache() {
+        var cache = new StringCache(64);
+
+        var longest = "a".repeat(64);
+        var tooLong = "a".repeat(65);
+
+        assertThat(get(cache, longest)).isSameAs(get(cache, longest));
+
+        var first = get(cache, tooLong);
+
+        assertThat(first).isEqualTo(tooLong);
+        assertThat(get(cache, tooLong)).isEqualTo(tooLong).isNotSameAs(first);
+    }
+
+    @Test
+    public void testInvalidSize() {
+        assertThatThrownBy(() -> new StringCache(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GelClientConfig.builder().withStringCacheSize(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testStringCacheSizeWiresThroughCodecContext() throws Exception {
+        assertThat(createContext(GelClientConfig.DEFAULT).getStringCache()).isNull();
+
+        var context = createContext(GelClientConfig.builder().withStringCacheSize(16).build());
+
+        assertThat(context.getStringCache()).isNotNull();
+
+        var codec = new TextCodec(null);
+        var first = decode(codec, context, "shipped");
+        var second = decode(codec, context, "shipped");
+
+        assertThat(second).isEqualTo("shipped").isSameAs(first);
+    }
+
+    private static CodecContext createContext(GelClientConfig config) throws Exception {
+        var connection = GelConnection.builder().withHost("localhost").withPort(5656).build();
+
+        // the client never connects, it only provides the config to the codec context.
+        return new CodecContext(new GelTcpClient(connection, config, () -> {}));
+    }
+
+    private static String decode(TextCodec codec, CodecContext context, String value) {
+        var buffer = Unpooled.copiedBuffer(value, StandardCharsets.UTF_8);
+
+        try {
+            return codec.deserialize(new PacketReader(buffer), context);
+        } finally {
+            buffer.release();
+        }
+    }
+}
@@ -0,0 +1,254 @@
+import org.junit.jupiter.api.Test;
+
+import com.geldata.driver.util.StripedStack;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StripedStackTests {
+    private static final int THREADS = 8;
+
+    @Test
+    public void testPushAndPop() {
+        var stack = new StripedStack<Integer>(1);
+
+        assertThat(stack.isEmpty()).isTrue();
+        assertThat(stack.pop()).isNull();
+
+        stack.push(1);
+        stack.push(2);
+
+        assertThat(stack.isEmpty()).isFalse();
+        assertThat(stack.pop()).isEqualTo(2);
+        assertThat(stack.pop()).isEqualTo(1);
+        assertThat(stack.pop()).isNull();
+        assertThat(stack.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testRemoveIf() {
+        var stack = new StripedStack<Integer>(4);
+
+        for(int i = 0; i != 100; i++) {
+            stack.push(i);
+        }
+
+        var removed = new ArrayList<Integer>();
+
+        assertThat(stack.removeIf(i -> i % 2 == 0, removed::add)).isEqualTo(50);
+        assertThat(removed).hasSize(50).allMatch(i -> i % 2 == 0);
+
+        var remaining = drain(stack);
+
+        assertThat(remaining).hasSize(50).allMatch(i -> i % 2 == 1);
+        assertThat(new HashSet<>(remaining)).hasSize(50);
+    }
+
+    @Test
+    public void testConcurrentPushAndPop() throws Exception {
+        var stack = new StripedStack<Integer>(THREADS);
+        var popped = new ConcurrentLinkedQueue<Integer>();
+        var perThread = 10_000;
+
+        runConcurrently(thread -> {
+            for(int i = 0; i != perThread; i++) {
+                stack.push(thread * perThread + i);
+
+                var value = stack.pop();
+
+                // this thread pushed before popping, so the stack can't be empty.
+                assertThat(value).isNotNull();
+                popped.add(value);
+            }
+        });
+
+        assertThat(stack.pop()).isNull();
+        assertThat(popped).hasSize(THREADS * perThread);
+        assertThat(new HashSet<>(popped)).hasSize(THREADS * perThread);
+    }
+
+    @Test
+    public void testPopWaitsForSweep() throws Exception {
+        var stack = new StripedStack<Integer>(1);
+        stack.push(1);
+        stack.push(2);
+
+        var testing = new CountDownLatch(1);
+        var resume = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // the sweep is held while its stripe is detached.
+            var sweep = executor.submit(() -> stack.removeIf(i -> {
+                testing.countDown();
+
+                try {
+                    resume.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+
+                return false;
+            }, i -> {}));
+
+            testing.await();
+
+            var pop = executor.submit(stack::pop);
+
+            Thread.sleep(100);
+
+            // an empty result here would make the pool create a client while idle ones exist.
+            assertThat(pop.isDone()).isFalse();
+
+            resume.countDown();
+
+            assertThat(sweep.get(10, TimeUnit.SECONDS)).isZero();
+            assertThat(pop.get(10, TimeUnit.SECONDS)).isNotNull();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRemoveIfWhileBorrowing() throws Exception {
+        var stack = new StripedStack<Integer>(THREADS);
+
+        // more elements than borrowers, so a borrower never finds the stack truly empty.
+        for(int i = 0; i != THREADS * 2; i++) {
+            stack.push(i);
+        }
+
+        var misses = new AtomicInteger();
+        var sweeping = new AtomicBoolean(true);
+        var executor = Executors.newSingleThreadExecutor();
+
+        try {
+            var sweeper = executor.submit(() -> {
+                while(sweeping.get()) {
+                    // keeps every element, each sweep detaches and splices back every stripe.
+                    stack.removeIf(i -> false, i -> {});
+                }
+            });
+
+            runConcurrently(thread -> {
+                for(int i = 0; i != 10_000; i++) {
+                    var value = stack.pop();
+
+                    if(value == null) {
+                        misses.incrementAndGet();
+                        continue;
+                    }
+
+                    stack.push(value);
+                }
+            });
+
+            sweeping.set(false);
+            sweeper.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(misses).hasValue(0);
+
+        var remaining = drain(stack);
+
+        assertThat(remaining).hasSize(THREADS * 2);
+        assertThat(new HashSet<>(remaining)).hasSize(THREADS * 2);
+    }
+
+    @Test
+    public void testRemoveIfWhilePushing() throws Exception {
+        var stack = new StripedStack<Integer>(THREADS);
+        var removed = new ConcurrentLinkedQueue<Integer>();
+        var sweeping = new AtomicBoolean(true);
+        var executor = Executors.newSingleThreadExecutor();
+        var perThread = 10_000;
+
+        try {
+            var sweeper = executor.submit(() -> {
+                while(sweeping.get()) {
+                    stack.removeIf(i -> i % 3 == 0, removed::add);
+                }
+            });
+
+            runConcurrently(thread -> {
+                for(int i = 0; i != perThread; i++) {
+                    stack.push(thread * perThread + i);
+                }
+            });
+
+            sweeping.set(false);
+            sweeper.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        stack.removeIf(i -> i % 3 == 0, removed::add);
+
+        var remaining = drain(stack);
+
+        // every element is either removed exactly once or still in the stack.
+        assertThat(removed).allMatch(i -> i % 3 == 0);
+        assertThat(remaining).noneMatch(i -> i % 3 == 0);
+
+        var all = new HashSet<>(removed);
+        all.addAll(remaining);
+
+        assertThat(removed.size() + remaining.size()).isEqualTo(THREADS * perThread);
+        assertThat(all).hasSize(THREADS * perThread);
+    }
+
+    @FunctionalInterface
+    private interface Worker {
+        void run(int thread) throws Exception;
+    }
+
+    private static void runConcurrently(Worker worker) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        var start = new CountDownLatch(1);
+        var futures = new ArrayList<Future<?>>();
+
+        try {
+            for(int i = 0; i != THREADS; i++) {
+                var thread = i;
+
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    worker.run(thread);
+                    return null;
+                }));
+            }
+
+            start.countDown();
+
+            for (var future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<Integer> drain(StripedStack<Integer> stack) {
+        var values = new ArrayList<Integer>();
+        Integer value;
+
+        while((value = stack.pop()) != null) {
+            values.add(value);
+        }
+
+        return values;
+    }
+}
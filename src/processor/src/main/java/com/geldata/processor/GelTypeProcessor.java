@@ -0,0 +1,377 @@
+package com.geldata.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Generates a {@code com.geldata.driver.GeneratedDeserializer} for each class annotated with {@code @GelType}, or
+ * with a constructor annotated with {@code @GelDeserializer}. The
+ * generated deserializer is named {@code <Type>_GelDeserializer} and resides in the same package as the type; the
+ * driver picks it up at runtime and constructs the type without reflection.
+ * <p>
+ * Types that can't be constructed from generated code, for example ones with private fields that have no setter, are
+ * skipped and keep using the reflection-based deserializer.
+ */
+@SupportedAnnotationTypes({GelTypeProcessor.GEL_TYPE, GelTypeProcessor.GEL_DESERIALIZER})
+public final class GelTypeProcessor extends AbstractProcessor {
+    static final String GEL_TYPE = "com.geldata.driver.annotations.GelType";
+    static final String GEL_DESERIALIZER = "com.geldata.driver.annotations.GelDeserializer";
+    private static final String GEL_IGNORE = "com.geldata.driver.annotations.GelIgnore";
+    private static final String GEL_NAME = "com.geldata.driver.annotations.GelName";
+    private static final String OBJECT_ENUMERATOR = "com.geldata.driver.ObjectEnumerator";
+    private static final String GENERATED_DESERIALIZER = "com.geldata.driver.GeneratedDeserializer";
+    private static final String SUFFIX = "_GelDeserializer";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        var elements = processingEnv.getElementUtils();
+        var gelType = elements.getTypeElement(GEL_TYPE);
+        var gelDeserializer = elements.getTypeElement(GEL_DESERIALIZER);
+
+        if(gelType == null) {
+            return false;
+        }
+
+        var types = ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(gelType));
+
+        // types that only mark a deserializer constructor are generated too, but aren't candidate subtypes.
+        var targets = new LinkedHashSet<TypeElement>(types);
+
+        if(gelDeserializer != null) {
+            for (var ctor : ElementFilter.constructorsIn(roundEnv.getElementsAnnotatedWith(gelDeserializer))) {
+                targets.add((TypeElement) ctor.getEnclosingElement());
+            }
+        }
+
+        for (var type : targets) {
+            if(!isAccessible(type)) {
+                continue;
+            }
+
+            try {
+                generate(type, findSubtypes(type, types));
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(
+                        Diagnostic.Kind.ERROR, "Failed to generate the deserializer: " + e.getMessage(), type
+                );
+            }
+        }
+
+        return false;
+    }
+
+    private void generate(TypeElement type, List<TypeElement> subtypes) throws IOException {
+        var isAbstract = type.getKind() == ElementKind.INTERFACE || type.getModifiers().contains(Modifier.ABSTRACT);
+        List<String> names;
+        List<String> body;
+
+        if(isAbstract) {
+            names = List.of();
+            body = List.of(
+                    "throw new com.geldata.driver.exceptions.GelException(\"Cannot construct the abstract type " +
+                    type.getQualifiedName() + "\");"
+            );
+        } else {
+            names = new ArrayList<>();
+            body = new ArrayList<>();
+
+            if(!writeBody(type, names, body)) {
+                // nothing to generate, the driver uses reflection for this type.
+                return;
+            }
+        }
+
+        var elements = processingEnv.getElementUtils();
+        var packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        var binaryName = elements.getBinaryName(type).toString();
+        var simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + SUFFIX;
+        var typeName = type.getQualifiedName().toString();
+
+        var file = processingEnv.getFiler().createSourceFile(
+                packageName.isEmpty() ? simpleName : packageName + "." + simpleName, type
+        );
+
+        try (Writer writer = file.openWriter()) {
+            if(!packageName.isEmpty()) {
+                writer.write("package " + packageName + ";\n\n");
+            }
+
+            writer.write("@javax.annotation.processing.Generated(\"" + GelTypeProcessor.class.getName() + "\")\n");
+            writer.write("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+            writer.write("public final class " + simpleName + " implements " + GENERATED_DESERIALIZER + "<" + typeName + "> {\n");
+
+            writer.write("    private static final String[] PROPERTY_NAMES = {");
+            writer.write(String.join(", ", names.stream().map(GelTypeProcessor::quote).toArray(String[]::new)));
+            writer.write("};\n");
+
+            writer.write("    private static final Class<?>[] SUBTYPES = {");
+            writer.write(String.join(", ", subtypes.stream().map(v -> v.getQualifiedName() + ".class").toArray(String[]::new)));
+            writer.write("};\n\n");
+
+            writer.write("    @Override\n");
+            writer.write("    public String[] getPropertyNames() {\n");
+            writer.write("        return PROPERTY_NAMES.clone();\n");
+            writer.write("    }\n\n");
+
+            writer.write("    @Override\n");
+            writer.write("    public Class<?>[] getSubtypes() {\n");
+            writer.write("        return SUBTYPES.clone();\n");
+            writer.write("    }\n\n");
+
+            writer.write("    @Override\n");
+            writer.write("    public " + typeName + " deserialize(Object[] v, boolean useSetters) throws com.geldata.driver.exceptions.GelException {\n");
+
+            for (var line : body) {
+                writer.write("        " + line + "\n");
+            }
+
+            writer.write("    }\n");
+            writer.write("}\n");
+        }
+    }
+
+    private boolean writeBody(TypeElement type, List<String> names, List<String> body) {
+        var typeName = type.getQualifiedName().toString();
+        var constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+
+        // constructor deserializers receive every property as a parameter.
+        for (var ctor : constructors) {
+            if(!hasAnnotation(ctor, GEL_DESERIALIZER)) {
+                continue;
+            }
+
+            var params = ctor.getParameters();
+
+            if(ctor.getModifiers().contains(Modifier.PRIVATE) ||
+                    (params.size() == 1 && typeName(params.get(0).asType()).equals(OBJECT_ENUMERATOR))) {
+                return false;
+            }
+
+            var args = new ArrayList<String>(params.size());
+
+            for (int i = 0; i != params.size(); i++) {
+                var param = params.get(i);
+                names.add(getNameOrAnnotated(param, param.getSimpleName().toString()));
+                args.add(convert(param.asType(), "v[" + i + "]"));
+            }
+
+            body.add("return new " + typeName + "(" + String.join(", ", args) + ");");
+            return true;
+        }
+
+        var hasEmptyCtor = constructors.stream()
+                .anyMatch(v -> v.getParameters().isEmpty() && !v.getModifiers().contains(Modifier.PRIVATE));
+
+        if(!hasEmptyCtor) {
+            return false;
+        }
+
+        var setters = getSetterMethods(type);
+
+        body.add(typeName + " o = new " + typeName + "();");
+
+        for (var field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if(field.getModifiers().contains(Modifier.STATIC) || hasAnnotation(field, GEL_IGNORE)) {
+                continue;
+            }
+
+            var name = field.getSimpleName().toString();
+            var value = "v[" + names.size() + "]";
+
+            // same lookup as the reflection-based deserializer: 'set' prefix for java & kotlin, '_$eq' for scala.
+            var setter = setters.get(Character.toUpperCase(name.charAt(0)) + name.substring(1));
+            if(setter == null) {
+                setter = setters.get(name);
+            }
+
+            var canAssign = !field.getModifiers().contains(Modifier.PRIVATE) && !field.getModifiers().contains(Modifier.FINAL);
+            var assign = "o." + name + " = " + convert(field.asType(), value) + ";";
+            String set = null;
+
+            if(setter != null) {
+                set = "o." + setter.getSimpleName() + "(" + convert(setter.getParameters().get(0).asType(), value) + ");";
+            }
+
+            if(!canAssign && set == null) {
+                return false;
+            }
+
+            names.add(getNameOrAnnotated(field, name));
+            body.add("if(" + value + " != " + GENERATED_DESERIALIZER + ".MISSING) {");
+
+            if(set != null && canAssign) {
+                body.add("    if(useSetters) " + set + " else " + assign);
+            } else {
+                body.add("    " + (canAssign ? assign : set));
+            }
+
+            body.add("}");
+        }
+
+        body.add("return o;");
+        return true;
+    }
+
+    private Map<String, ExecutableElement> getSetterMethods(TypeElement type) {
+        var setters = new HashMap<String, ExecutableElement>();
+        var current = type;
+
+        while(current != null) {
+            for (var method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                var name = method.getSimpleName().toString();
+
+                if(method.getParameters().size() != 1 ||
+                        method.getModifiers().contains(Modifier.PRIVATE) ||
+                        method.getModifiers().contains(Modifier.STATIC)) {
+                    continue;
+                }
+
+                if(name.startsWith("set")) {
+                    setters.putIfAbsent(name.substring(3), method);
+                } else if(name.endsWith("_$eq")) {
+                    setters.putIfAbsent(name.substring(0, name.length() - 4), method);
+                }
+            }
+
+            // only bases that are gel types contribute setters.
+            var superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED
+                    ? (TypeElement) ((DeclaredType) superclass).asElement()
+                    : null;
+
+            if(current != null && !hasAnnotation(current, GEL_TYPE)) {
+                current = null;
+            }
+        }
+
+        return setters;
+    }
+
+    private List<TypeElement> findSubtypes(TypeElement type, Set<TypeElement> candidates) {
+        var typeUtils = processingEnv.getTypeUtils();
+        var erased = typeUtils.erasure(type.asType());
+        var subtypes = new ArrayList<TypeElement>();
+
+        for (var candidate : candidates) {
+            if(candidate.equals(type) || !isAccessible(candidate) || hasAnnotation(candidate, GEL_IGNORE)) {
+                continue;
+            }
+
+            if(typeUtils.isSubtype(typeUtils.erasure(candidate.asType()), erased)) {
+                subtypes.add(candidate);
+            }
+        }
+
+        return subtypes;
+    }
+
+    private String convert(TypeMirror type, String value) {
+        return GENERATED_DESERIALIZER + ".convert(" + typeName(type) + ".class, " + value + ")";
+    }
+
+    /**
+     * Gets the source name of the erasure of a type, usable in a class literal. {@code TypeMirror.toString()} isn't
+     * used since it keeps type-use annotations, which aren't allowed in class literals.
+     */
+    private String typeName(TypeMirror type) {
+        var erased = processingEnv.getTypeUtils().erasure(type);
+
+        if(erased.getKind().isPrimitive()) {
+            return erased.getKind().name().toLowerCase(Locale.ROOT);
+        }
+
+        switch (erased.getKind()) {
+            case ARRAY:
+                return typeName(((ArrayType) erased).getComponentType()) + "[]";
+            case DECLARED:
+                return ((TypeElement) ((DeclaredType) erased).asElement()).getQualifiedName().toString();
+            default:
+                return "java.lang.Object";
+        }
+    }
+
+    private static boolean isAccessible(TypeElement type) {
+        Element current = type;
+
+        // generated code lives next to the type, it can reach anything that isn't private or needs an outer instance.
+        while(current instanceof TypeElement) {
+            if(current.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+
+            var enclosing = current.getEnclosingElement();
+
+            if(enclosing instanceof TypeElement && !current.getModifiers().contains(Modifier.STATIC)
+                    && current.getKind() == ElementKind.CLASS) {
+                return false;
+            }
+
+            current = enclosing;
+        }
+
+        return current instanceof PackageElement;
+    }
+
+    private static String getNameOrAnnotated(Element element, String name) {
+        for (var mirror : element.getAnnotationMirrors()) {
+            if(!isAnnotation(mirror, GEL_NAME)) {
+                continue;
+            }
+
+            for (var entry : mirror.getElementValues().entrySet()) {
+                if(entry.getKey().getSimpleName().contentEquals("value")) {
+                    return (String) entry.getValue().getValue();
+                }
+            }
+        }
+
+        return name;
+    }
+
+    private static boolean hasAnnotation(Element element, String annotation) {
+        for (var mirror : element.getAnnotationMirrors()) {
+            if(isAnnotation(mirror, annotation)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean isAnnotation(AnnotationMirror mirror, String annotation) {
+        return ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation);
+    }
+
+    private static String quote(String value) {
+        var builder = new StringBuilder("\"");
+
+        for (var c : value.toCharArray()) {
+            if(c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if(c < 0x20 || c > 0x7e) {
+                builder.append(String.format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+
+        return builder.append('"').toString();
+    }
+}
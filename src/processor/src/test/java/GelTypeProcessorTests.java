@@ -0,0 +1,214 @@
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.geldata.driver.GeneratedDeserializer;
+import com.geldata.processor.GelTypeProcessor;
+
+import javax.tools.*;
+import java.io.File;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GelTypeProcessorTests {
+    private static final String PERSON = String.join("\n",
+            "package fixtures;",
+            "",
+            "import com.geldata.driver.annotations.*;",
+            "import org.jetbrains.annotations.Nullable;",
+            "import java.util.List;",
+            "",
+            "@GelType",
+            "public class Person {",
+            "    public @Nullable String name;",
+            "    @GelName(\"years\")",
+            "    public int age;",
+            "    public List<@Nullable String> tags;",
+            "    public long @Nullable [] scores;",
+            "    @GelIgnore",
+            "    public String ignored;",
+            "    private String email;",
+            "    public boolean setterCalled;",
+            "",
+            "    public String getEmail() { return email; }",
+            "    public void setEmail(String email) { this.email = email; this.setterCalled = true; }",
+            "",
+            "    @GelType",
+            "    public static class Nested {",
+            "        public @Nullable Long id;",
+            "    }",
+            "}"
+    );
+
+    private static final String ANIMALS = String.join("\n",
+            "package fixtures;",
+            "",
+            "import com.geldata.driver.annotations.*;",
+            "",
+            "@GelType",
+            "public abstract class Animal {",
+            "    public String name;",
+            "}",
+            "",
+            "@GelType",
+            "class Dog extends Animal {",
+            "    public int goodness;",
+            "}"
+    );
+
+    private static final String POINT = String.join("\n",
+            "package fixtures;",
+            "",
+            "import com.geldata.driver.annotations.*;",
+            "",
+            "public class Point {",
+            "    public final int x;",
+            "    public final int y;",
+            "",
+            "    @GelDeserializer",
+            "    public Point(@GelName(\"x_pos\") int x, @GelName(\"y_pos\") int y) {",
+            "        this.x = x;",
+            "        this.y = y;",
+            "    }",
+            "}"
+    );
+
+    private static final class Source extends SimpleJavaFileObject {
+        private final String content;
+
+        Source(String name, String content) {
+            super(URI.create("string:///" + name.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.content = content;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return content;
+        }
+    }
+
+    @Test
+    public void testTypeUseAnnotationsAndSetters(@TempDir Path output) throws Exception {
+        try (var loader = compile(output, new Source("fixtures.Person", PERSON))) {
+            var generated = load(loader, "fixtures.Person");
+
+            assertThat(generated.getPropertyNames())
+                    .containsExactly("name", "years", "tags", "scores", "email", "setterCalled");
+
+            var instance = generated.deserialize(new Object[] {
+                    "Bob", 42, List.of("a"), new long[] {1, 2}, "bob@example.com", GeneratedDeserializer.MISSING
+            }, true);
+
+            var type = instance.getClass();
+            assertThat(type.getField("name").get(instance)).isEqualTo("Bob");
+            assertThat(type.getField("age").get(instance)).isEqualTo(42);
+            assertThat(type.getField("tags").get(instance)).isEqualTo(List.of("a"));
+            assertThat((long[]) type.getField("scores").get(instance)).containsExactly(1, 2);
+            assertThat(type.getMethod("getEmail").invoke(instance)).isEqualTo("bob@example.com");
+            assertThat(type.getField("setterCalled").get(instance)).isEqualTo(true);
+
+            // missing primitives get their default value.
+            var empty = generated.deserialize(new Object[] {
+                    GeneratedDeserializer.MISSING, null, GeneratedDeserializer.MISSING,
+                    GeneratedDeserializer.MISSING, GeneratedDeserializer.MISSING, GeneratedDeserializer.MISSING
+            }, true);
+
+            assertThat(type.getField("name").get(empty)).isNull();
+            assertThat(type.getField("age").get(empty)).isEqualTo(0);
+        }
+    }
+
+    @Test
+    public void testNestedTypes(@TempDir Path output) throws Exception {
+        try (var loader = compile(output, new Source("fixtures.Person", PERSON))) {
+            var generated = load(loader, "fixtures.Person$Nested");
+
+            assertThat(generated.getPropertyNames()).containsExactly("id");
+
+            var instance = generated.deserialize(new Object[] { 7L }, false);
+            assertThat(instance.getClass().getField("id").get(instance)).isEqualTo(7L);
+        }
+    }
+
+    @Test
+    public void testAbstractTypesAndSubtypes(@TempDir Path output) throws Exception {
+        try (var loader = compile(output, new Source("fixtures.Animal", ANIMALS))) {
+            var animal = load(loader, "fixtures.Animal");
+            var dog = load(loader, "fixtures.Dog");
+
+            assertThat(animal.getPropertyNames()).isEmpty();
+            assertThat(animal.getSubtypes()).containsExactly(loader.loadClass("fixtures.Dog"));
+            assertThat(dog.getSubtypes()).isEmpty();
+
+            // inherited fields are bound by the parent type's deserializer, only declared ones are generated.
+            assertThat(dog.getPropertyNames()).containsExactly("goodness");
+        }
+    }
+
+    @Test
+    public void testDeserializerConstructorWithoutGelType(@TempDir Path output) throws Exception {
+        try (var loader = compile(output, new Source("fixtures.Point", POINT))) {
+            var generated = load(loader, "fixtures.Point");
+
+            assertThat(generated.getPropertyNames()).containsExactly("x_pos", "y_pos");
+
+            var instance = generated.deserialize(new Object[] { 3, 4 }, false);
+            assertThat(instance.getClass().getField("x").get(instance)).isEqualTo(3);
+            assertThat(instance.getClass().getField("y").get(instance)).isEqualTo(4);
+        }
+    }
+
+    private static GeneratedDeserializer<?> load(ClassLoader loader, String type) throws Exception {
+        return (GeneratedDeserializer<?>) loader.loadClass(type + "_GelDeserializer")
+                .getDeclaredConstructor()
+                .newInstance();
+    }
+
+    private static URLClassLoader compile(Path output, JavaFileObject... sources) throws Exception {
+        var compiler = ToolProvider.getSystemJavaCompiler();
+        var diagnostics = new DiagnosticCollector<JavaFileObject>();
+
+        try (var files = compiler.getStandardFileManager(diagnostics, Locale.ROOT, null)) {
+            var options = List.of(
+                    "-classpath", classpath(),
+                    "-d", output.toString(),
+                    "-s", output.toString()
+            );
+
+            var task = compiler.getTask(null, files, diagnostics, options, null, List.of(sources));
+            task.setProcessors(List.of(new GelTypeProcessor()));
+
+            var success = task.call();
+
+            var errors = diagnostics.getDiagnostics().stream()
+                    .filter(v -> v.getKind() == Diagnostic.Kind.ERROR)
+                    .map(v -> v.getMessage(Locale.ROOT))
+                    .collect(Collectors.toList());
+
+            assertThat(errors).isEmpty();
+            assertThat(success).isTrue();
+        }
+
+        return new URLClassLoader(new URL[] { output.toUri().toURL() }, GelTypeProcessorTests.class.getClassLoader());
+    }
+
+    private static String classpath() throws URISyntaxException {
+        // the fixtures only need the driver's annotations and the jetbrains annotations.
+        var entries = new ArrayList<String>();
+
+        for (var type : List.of(GeneratedDeserializer.class, Nullable.class)) {
+            entries.add(new File(type.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath());
+        }
+
+        return String.join(File.pathSeparator, entries);
+    }
+}